@@ -0,0 +1,229 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>A pool of byte arrays, used to avoid repeatedly allocating large,
+ * short-lived buffers during parsing and serialization.</p>
+ *
+ * <p>Arrays are handed out in power-of-two size classes between
+ * {@link #MINIMUM_SIZE} and {@link #MAXIMUM_SIZE} bytes. Requests for larger
+ * arrays are satisfied by plain allocation, and such arrays are not
+ * retained when released. The pool is divided into stripes selected by the
+ * calling thread, and each stripe holds a small, fixed number of arrays per
+ * size class in lock-free slots. The total size of the arrays retained by
+ * the pool never exceeds the configured maximum; arrays released when the
+ * pool is full are left to the garbage collector.</p>
+ *
+ * <p>Arrays obtained from the pool are not cleared, and may contain data
+ * from earlier users. An array must not be used after it has been
+ * released, and releasing the same array twice without acquiring it in
+ * between is undefined behaviour: the pool rejects an array that it is
+ * currently holding, but cannot detect every such misuse.</p>
+ *
+ * <p>Instances of this class are safe to use from multiple threads.</p>
+ */
+
+public final class BufferPool
+{
+  /**
+   * The smallest size class.
+   */
+
+  public static final int MINIMUM_SIZE = 4096;
+
+  /**
+   * The largest size class.
+   */
+
+  public static final int MAXIMUM_SIZE = 4 * 1024 * 1024;
+
+  private static final int MINIMUM_SHIFT =
+    Integer.numberOfTrailingZeros(MINIMUM_SIZE);
+  private static final int CLASSES =
+    Integer.numberOfTrailingZeros(MAXIMUM_SIZE) - MINIMUM_SHIFT + 1;
+  private static final int SLOTS_PER_CLASS = 4;
+
+  private static final BufferPool SHARED =
+    new BufferPool(64L * 1024L * 1024L);
+
+  private final long maximumRetained;
+  private final AtomicLong retained;
+  private final AtomicReferenceArray<byte[]>[] stripes;
+  private final int stripeMask;
+
+  /**
+   * Create a pool.
+   *
+   * @param inMaximumRetained The maximum number of bytes the pool will retain
+   */
+
+  @SuppressWarnings("unchecked")
+  public BufferPool(
+    final long inMaximumRetained)
+  {
+    if (inMaximumRetained < 0L) {
+      throw new IllegalArgumentException(
+        "Maximum retained size %d must be non-negative"
+          .formatted(Long.valueOf(inMaximumRetained))
+      );
+    }
+
+    this.maximumRetained = inMaximumRetained;
+    this.retained = new AtomicLong();
+
+    final var processors = Runtime.getRuntime().availableProcessors();
+    final var stripeCount =
+      Integer.highestOneBit(Math.max(1, processors - 1) << 1);
+
+    this.stripeMask = stripeCount - 1;
+    this.stripes = new AtomicReferenceArray[stripeCount];
+    for (int index = 0; index < stripeCount; ++index) {
+      this.stripes[index] =
+        new AtomicReferenceArray<>(CLASSES * SLOTS_PER_CLASS);
+    }
+  }
+
+  /**
+   * @return The pool shared by the convenience methods of this package,
+   * which retains at most 64MiB
+   */
+
+  public static BufferPool shared()
+  {
+    return SHARED;
+  }
+
+  private static int sizeClass(
+    final int size)
+  {
+    final var rounded = Math.max(size, MINIMUM_SIZE);
+    final var shift = 32 - Integer.numberOfLeadingZeros(rounded - 1);
+    return shift - MINIMUM_SHIFT;
+  }
+
+  private AtomicReferenceArray<byte[]> stripe()
+  {
+    final var id = Thread.currentThread().getId();
+    final var mixed = (int) (id ^ (id >>> 16)) * 0x9e3779b9;
+    return this.stripes[(mixed >>> 16) & this.stripeMask];
+  }
+
+  /**
+   * Obtain an array of at least the given size.
+   *
+   * @param minimumSize The minimum size
+   *
+   * @return An array with a length of at least {@code minimumSize}
+   */
+
+  public byte[] acquire(
+    final int minimumSize)
+  {
+    if (minimumSize < 0) {
+      throw new IllegalArgumentException(
+        "Size %d must be non-negative"
+          .formatted(Integer.valueOf(minimumSize))
+      );
+    }
+    if (minimumSize > MAXIMUM_SIZE) {
+      return new byte[minimumSize];
+    }
+
+    final var sizeClass = sizeClass(minimumSize);
+    final var stripe = this.stripe();
+    final var base = sizeClass * SLOTS_PER_CLASS;
+    for (int slot = 0; slot < SLOTS_PER_CLASS; ++slot) {
+      final var array = stripe.getAndSet(base + slot, null);
+      if (array != null) {
+        this.retained.addAndGet(-array.length);
+        return array;
+      }
+    }
+    return new byte[1 << (sizeClass + MINIMUM_SHIFT)];
+  }
+
+  /**
+   * Return an array to the pool. Arrays that were not obtained from a pool
+   * are accepted if their length is exactly one of the pool's size classes,
+   * and are otherwise ignored. Releasing the same array twice is undefined
+   * behaviour.
+   *
+   * @param array The array
+   *
+   * @throws IllegalArgumentException If the array is already held by the pool
+   */
+
+  public void release(
+    final byte[] array)
+  {
+    final var length = array.length;
+    if (length < MINIMUM_SIZE
+        || length > MAXIMUM_SIZE
+        || Integer.bitCount(length) != 1) {
+      return;
+    }
+
+    final var base = sizeClass(length) * SLOTS_PER_CLASS;
+    if (this.holds(array, base)) {
+      throw new IllegalArgumentException(
+        "Array of size %d has already been released to this pool"
+          .formatted(Integer.valueOf(length))
+      );
+    }
+
+    final var total = this.retained.addAndGet(length);
+    if (total > this.maximumRetained) {
+      this.retained.addAndGet(-length);
+      return;
+    }
+
+    final var stripe = this.stripe();
+    for (int slot = 0; slot < SLOTS_PER_CLASS; ++slot) {
+      if (stripe.compareAndSet(base + slot, null, array)) {
+        return;
+      }
+    }
+    this.retained.addAndGet(-length);
+  }
+
+  private boolean holds(
+    final byte[] array,
+    final int base)
+  {
+    for (final var stripe : this.stripes) {
+      for (int slot = 0; slot < SLOTS_PER_CLASS; ++slot) {
+        if (stripe.get(base + slot) == array) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return The total size of the arrays currently retained by the pool
+   */
+
+  public long retainedBytes()
+  {
+    return this.retained.get();
+  }
+}
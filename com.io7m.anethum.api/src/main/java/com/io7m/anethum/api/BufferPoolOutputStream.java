@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * A buffered output stream that obtains its buffer from a {@link BufferPool},
+ * and returns the buffer to the pool when closed. Closing the stream flushes
+ * it and closes the underlying stream.
+ */
+
+public final class BufferPoolOutputStream extends FilterOutputStream
+{
+  private final BufferPool pool;
+  private byte[] buffer;
+  private int count;
+
+  /**
+   * Create a buffered output stream.
+   *
+   * @param inPool   The buffer pool
+   * @param inOutput The underlying output stream
+   * @param size     The minimum buffer size
+   */
+
+  public BufferPoolOutputStream(
+    final BufferPool inPool,
+    final OutputStream inOutput,
+    final int size)
+  {
+    super(Objects.requireNonNull(inOutput, "output"));
+    this.pool = Objects.requireNonNull(inPool, "pool");
+    this.buffer = inPool.acquire(size);
+  }
+
+  /**
+   * Create a buffered output stream with a buffer of at least
+   * {@link BufferPool#MINIMUM_SIZE} bytes.
+   *
+   * @param inPool   The buffer pool
+   * @param inOutput The underlying output stream
+   */
+
+  public BufferPoolOutputStream(
+    final BufferPool inPool,
+    final OutputStream inOutput)
+  {
+    this(inPool, inOutput, BufferPool.MINIMUM_SIZE);
+  }
+
+  private void checkOpen()
+    throws IOException
+  {
+    if (this.buffer == null) {
+      throw new IOException("Stream is closed.");
+    }
+  }
+
+  private void flushBuffer()
+    throws IOException
+  {
+    if (this.count > 0) {
+      this.out.write(this.buffer, 0, this.count);
+      this.count = 0;
+    }
+  }
+
+  @Override
+  public void write(
+    final int b)
+    throws IOException
+  {
+    this.checkOpen();
+    if (this.count == this.buffer.length) {
+      this.flushBuffer();
+    }
+    this.buffer[this.count] = (byte) b;
+    ++this.count;
+  }
+
+  @Override
+  public void write(
+    final byte[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, data.length);
+    this.checkOpen();
+
+    if (length >= this.buffer.length) {
+      this.flushBuffer();
+      this.out.write(data, offset, length);
+      return;
+    }
+    if (length > this.buffer.length - this.count) {
+      this.flushBuffer();
+    }
+    System.arraycopy(data, offset, this.buffer, this.count, length);
+    this.count += length;
+  }
+
+  @Override
+  public void flush()
+    throws IOException
+  {
+    this.checkOpen();
+    this.flushBuffer();
+    this.out.flush();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    final var current = this.buffer;
+    if (current == null) {
+      return;
+    }
+
+    try {
+      this.flushBuffer();
+    } finally {
+      this.buffer = null;
+      try {
+        this.pool.release(current);
+      } finally {
+        this.out.close();
+      }
+    }
+  }
+}
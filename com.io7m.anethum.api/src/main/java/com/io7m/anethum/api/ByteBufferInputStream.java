@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * An input stream that reads the remaining bytes of a byte buffer.
+ */
+
+final class ByteBufferInputStream extends InputStream
+{
+  private final ByteBuffer buffer;
+
+  ByteBufferInputStream(
+    final ByteBuffer inBuffer)
+  {
+    this.buffer = Objects.requireNonNull(inBuffer, "buffer");
+  }
+
+  @Override
+  public int read()
+  {
+    if (!this.buffer.hasRemaining()) {
+      return -1;
+    }
+    return this.buffer.get() & 0xff;
+  }
+
+  @Override
+  public int read(
+    final byte[] data,
+    final int offset,
+    final int length)
+  {
+    Objects.checkFromIndexSize(offset, length, data.length);
+    if (length == 0) {
+      return 0;
+    }
+    if (!this.buffer.hasRemaining()) {
+      return -1;
+    }
+
+    final var count = Math.min(length, this.buffer.remaining());
+    this.buffer.get(data, offset, count);
+    return count;
+  }
+
+  @Override
+  public long skip(
+    final long count)
+  {
+    final var skipped = (int) Math.max(
+      0L,
+      Math.min(count, this.buffer.remaining())
+    );
+    this.buffer.position(this.buffer.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public int available()
+  {
+    return this.buffer.remaining();
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * <p>An input stream that computes a digest of all bytes read through it.</p>
+ *
+ * <p>The algorithm is either {@link #CRC32C}, or any algorithm name accepted
+ * by {@link MessageDigest#getInstance(String)}. Bytes are digested in the
+ * same bulk reads that deliver them to the reader, so the digest costs no
+ * additional pass over the data. Bytes skipped with {@link #skip(long)} are
+ * read and digested, and so the digest always covers the complete prefix of
+ * the stream that has been consumed.</p>
+ *
+ * <p>Closing the stream drains and digests any bytes that have not yet been
+ * read before closing the underlying stream, and so the digest covers the
+ * complete stream even if the reader stops early and closes it.</p>
+ */
+
+public final class DigestingInputStream extends FilterInputStream
+{
+  /**
+   * The name of the CRC32C checksum algorithm. The resulting digest is the
+   * four-byte, big-endian checksum value.
+   */
+
+  public static final String CRC32C = "CRC32C";
+
+  private static final int SKIP_BUFFER_SIZE = 8192;
+
+  private final String algorithm;
+  private final MessageDigest digest;
+  private final Checksum checksum;
+  private boolean closed;
+  private boolean incomplete;
+
+  /**
+   * Create a digesting stream.
+   *
+   * @param inStream    The underlying stream
+   * @param inAlgorithm The digest algorithm
+   *
+   * @throws IllegalArgumentException If the algorithm is not supported
+   */
+
+  public DigestingInputStream(
+    final InputStream inStream,
+    final String inAlgorithm)
+  {
+    super(Objects.requireNonNull(inStream, "stream"));
+
+    this.algorithm =
+      Objects.requireNonNull(inAlgorithm, "algorithm");
+
+    if (CRC32C.equals(inAlgorithm)) {
+      this.checksum = new CRC32C();
+      this.digest = null;
+    } else {
+      this.checksum = null;
+      try {
+        this.digest = MessageDigest.getInstance(inAlgorithm);
+      } catch (final NoSuchAlgorithmException e) {
+        throw new IllegalArgumentException(
+          "Unsupported digest algorithm: %s".formatted(inAlgorithm), e);
+      }
+    }
+  }
+
+  /**
+   * @return The digest algorithm
+   */
+
+  public String algorithm()
+  {
+    return this.algorithm;
+  }
+
+  private void update(
+    final byte[] data,
+    final int offset,
+    final int length)
+  {
+    if (this.checksum != null) {
+      this.checksum.update(data, offset, length);
+    } else {
+      this.digest.update(data, offset, length);
+    }
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var b = this.in.read();
+    if (b >= 0) {
+      if (this.checksum != null) {
+        this.checksum.update(b);
+      } else {
+        this.digest.update((byte) b);
+      }
+    }
+    return b;
+  }
+
+  @Override
+  public int read(
+    final byte[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    final var count = this.in.read(data, offset, length);
+    if (count > 0) {
+      this.update(data, offset, count);
+    }
+    return count;
+  }
+
+  @Override
+  public long skip(
+    final long count)
+    throws IOException
+  {
+    if (count <= 0L) {
+      return 0L;
+    }
+
+    final var buffer = new byte[(int) Math.min(SKIP_BUFFER_SIZE, count)];
+    long remaining = count;
+    while (remaining > 0L) {
+      final var r =
+        this.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+      if (r < 0) {
+        break;
+      }
+      remaining -= r;
+    }
+    return count - remaining;
+  }
+
+  /**
+   * Read and digest the remainder of the stream. This method does nothing if
+   * the stream has been closed, as closing the stream has already drained it.
+   *
+   * @throws IOException On I/O errors, or if the stream was closed without
+   *                     having been drained completely
+   */
+
+  public void drain()
+    throws IOException
+  {
+    if (this.closed) {
+      if (this.incomplete) {
+        throw new IOException(
+          "The stream was closed before it could be read completely.");
+      }
+      return;
+    }
+
+    final var buffer = new byte[SKIP_BUFFER_SIZE];
+    while (this.read(buffer, 0, buffer.length) >= 0) {
+      // Nothing to do.
+    }
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (this.closed) {
+      return;
+    }
+
+    try {
+      this.drain();
+    } catch (final IOException | RuntimeException e) {
+      this.incomplete = true;
+      throw e;
+    } finally {
+      this.closed = true;
+      super.close();
+    }
+  }
+
+  @Override
+  public boolean markSupported()
+  {
+    return false;
+  }
+
+  @Override
+  public void mark(
+    final int limit)
+  {
+
+  }
+
+  @Override
+  public void reset()
+    throws IOException
+  {
+    throw new IOException("mark/reset is not supported.");
+  }
+
+  /**
+   * Complete the digest of all bytes read so far. The digest is reset
+   * afterwards.
+   *
+   * @return The digest value
+   */
+
+  public byte[] digest()
+  {
+    if (this.checksum != null) {
+      final var value = this.checksum.getValue();
+      this.checksum.reset();
+      return new byte[]{
+        (byte) (value >>> 24),
+        (byte) (value >>> 16),
+        (byte) (value >>> 8),
+        (byte) value,
+      };
+    }
+    return this.digest.digest();
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>The result of parsing a text document in a manner that permits later
+ * incremental re-parsing.</p>
+ *
+ * <p>A result is produced even if parsing fails, in which case the value is
+ * empty and the statuses describe the errors. The text is retained either
+ * way, so that a document that is temporarily invalid during editing can
+ * continue to be re-parsed as further edits arrive.</p>
+ *
+ * @param value    The parsed value, if parsing succeeded
+ * @param text     The text that was parsed
+ * @param statuses The statuses produced during parsing
+ * @param <T>      The type of parsed values
+ *
+ * @see IncrementalParserFactoryType
+ */
+
+public record IncrementalParseResult<T>(
+  Optional<T> value,
+  String text,
+  List<ParseStatus> statuses)
+{
+  /**
+   * The result of parsing a text document.
+   *
+   * @param value    The parsed value, if parsing succeeded
+   * @param text     The text that was parsed
+   * @param statuses The statuses produced during parsing
+   */
+
+  public IncrementalParseResult
+  {
+    Objects.requireNonNull(value, "value");
+    Objects.requireNonNull(text, "text");
+    statuses = List.copyOf(Objects.requireNonNull(statuses, "statuses"));
+  }
+
+  /**
+   * Create the result of a successful parse.
+   *
+   * @param value    The parsed value
+   * @param text     The text that was parsed
+   * @param statuses The statuses produced during parsing
+   * @param <T>      The type of parsed values
+   *
+   * @return A result
+   */
+
+  public static <T> IncrementalParseResult<T> succeeded(
+    final T value,
+    final String text,
+    final List<ParseStatus> statuses)
+  {
+    return new IncrementalParseResult<>(
+      Optional.of(value),
+      text,
+      statuses
+    );
+  }
+
+  /**
+   * Create the result of a failed parse.
+   *
+   * @param text     The text that was parsed
+   * @param statuses The statuses produced during parsing
+   * @param <T>      The type of parsed values
+   *
+   * @return A result
+   */
+
+  public static <T> IncrementalParseResult<T> failed(
+    final String text,
+    final List<ParseStatus> statuses)
+  {
+    return new IncrementalParseResult<>(
+      Optional.empty(),
+      text,
+      statuses
+    );
+  }
+
+  /**
+   * @return {@code true} if parsing failed
+   */
+
+  public boolean isFailed()
+  {
+    return this.value.isEmpty();
+  }
+}
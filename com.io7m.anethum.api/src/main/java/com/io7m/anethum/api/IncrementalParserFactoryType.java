@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>The type of factories for parsers of text formats that can re-parse a
+ * document after it has been edited.</p>
+ *
+ * <p>Providers that can re-parse only the regions of a document affected by
+ * a list of edits should override
+ * {@link #reparseWithContext(Object, URI, IncrementalParseResult, List)},
+ * reusing the parts of the previous value that are unaffected, and carrying
+ * over statuses for unaffected regions using
+ * {@link TextEdits#carryOverStatuses(CharSequence, List, List)}. The default
+ * implementation applies the edits and parses the entire document again.</p>
+ *
+ * <p>Parse failures do not end an editing session: a document that fails to
+ * parse produces a failed {@link IncrementalParseResult} that retains the
+ * text and the error statuses, and that can itself be re-parsed once later
+ * edits correct the errors.</p>
+ *
+ * @param <C> The type of contextual values passed to parsers
+ * @param <T> The type of parsed values
+ * @param <P> The type of parsers
+ */
+
+public interface IncrementalParserFactoryType<C, T, P extends ParserType<T>>
+  extends TextParserFactoryType<C, T, P>
+{
+  /**
+   * Parse the given text, retaining the text and statuses for use in later
+   * re-parses. If parsing fails, a failed result is returned containing the
+   * statuses delivered during parsing, along with any further statuses
+   * carried by the resulting {@link ParsingException}.
+   *
+   * @param context The parser-specific context value, if required
+   * @param source  The source
+   * @param text    The text
+   *
+   * @return The parse result
+   */
+
+  default IncrementalParseResult<T> parseIncrementalWithContext(
+    final C context,
+    final URI source,
+    final CharSequence text)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(text, "text");
+
+    final var statuses = new ArrayList<ParseStatus>();
+    final var textString = text.toString();
+    try {
+      final var value =
+        this.parseTextWithContext(context, source, textString, statuses::add);
+      return IncrementalParseResult.succeeded(value, textString, statuses);
+    } catch (final ParsingException e) {
+      for (final var status : e.statusValues()) {
+        if (status instanceof ParseStatus && !statuses.contains(status)) {
+          statuses.add((ParseStatus) status);
+        }
+      }
+      return IncrementalParseResult.failed(textString, statuses);
+    }
+  }
+
+  /**
+   * Re-parse a document after applying the given edits to the text of a
+   * previous result. The previous result may be a failed result.
+   *
+   * @param context  The parser-specific context value, if required
+   * @param source   The source
+   * @param previous The previous result
+   * @param edits    The edits, applied in order
+   *
+   * @return The parse result for the edited text
+   *
+   * @see TextEdits#apply(CharSequence, List)
+   */
+
+  default IncrementalParseResult<T> reparseWithContext(
+    final C context,
+    final URI source,
+    final IncrementalParseResult<T> previous,
+    final List<TextEdit> edits)
+  {
+    Objects.requireNonNull(previous, "previous");
+    Objects.requireNonNull(edits, "edits");
+
+    if (edits.isEmpty()) {
+      return previous;
+    }
+
+    return this.parseIncrementalWithContext(
+      context,
+      source,
+      TextEdits.apply(previous.text(), edits)
+    );
+  }
+}
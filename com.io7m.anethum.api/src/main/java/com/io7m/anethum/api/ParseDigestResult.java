@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * A parsed value along with a digest of the complete input from which it was
+ * parsed.
+ *
+ * @param value     The parsed value
+ * @param algorithm The digest algorithm
+ * @param digest    The digest value
+ * @param <T>       The type of parsed values
+ *
+ * @see DigestingInputStream
+ */
+
+public record ParseDigestResult<T>(
+  T value,
+  String algorithm,
+  byte[] digest)
+{
+  /**
+   * A parsed value along with a digest of the complete input from which it
+   * was parsed.
+   *
+   * @param value     The parsed value
+   * @param algorithm The digest algorithm
+   * @param digest    The digest value
+   */
+
+  public ParseDigestResult
+  {
+    Objects.requireNonNull(value, "value");
+    Objects.requireNonNull(algorithm, "algorithm");
+    digest = Objects.requireNonNull(digest, "digest").clone();
+  }
+
+  /**
+   * @return A copy of the digest value
+   */
+
+  @Override
+  public byte[] digest()
+  {
+    return this.digest.clone();
+  }
+
+  /**
+   * @return The digest value as a lowercase hexadecimal string
+   */
+
+  public String digestHex()
+  {
+    return HexFormat.of().formatHex(this.digest);
+  }
+
+  @Override
+  public boolean equals(
+    final Object other)
+  {
+    if (this == other) {
+      return true;
+    }
+    if (other == null || !Objects.equals(this.getClass(), other.getClass())) {
+      return false;
+    }
+    final var that = (ParseDigestResult<?>) other;
+    return Objects.equals(this.value, that.value)
+           && this.algorithm.equals(that.algorithm)
+           && Arrays.equals(this.digest, that.digest);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(
+      this.value,
+      this.algorithm,
+      Integer.valueOf(Arrays.hashCode(this.digest))
+    );
+  }
+
+  @Override
+  public String toString()
+  {
+    return "ParseDigestResult[value=%s, algorithm=%s, digest=%s]"
+      .formatted(this.value, this.algorithm, this.digestHex());
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>A projection of a parsed value onto a smaller type, such as the header
+ * of a document.</p>
+ *
+ * <p>Providers publish projections that they support as constants, and
+ * recognize them in
+ * {@link ParserFactoryType#createParserForProjectionWithContext}
+ * in order to return parsers that stop reading once the projected value has
+ * been obtained. Providers produce the projected value with
+ * {@link #cast(Object)}, so no unchecked casts are required. For
+ * projections that a provider does not recognize, the complete value is
+ * parsed and {@code fromValue} is applied to it.</p>
+ *
+ * @param name      The projection name
+ * @param type      The type of projected values
+ * @param fromValue A function that extracts the projected value from a
+ *                  complete value
+ * @param <T>       The type of parsed values
+ * @param <H>       The type of projected values
+ */
+
+public record ParseProjection<T, H>(
+  String name,
+  Class<H> type,
+  Function<? super T, ? extends H> fromValue)
+{
+  /**
+   * A projection of a parsed value onto a smaller type.
+   *
+   * @param name      The projection name
+   * @param type      The type of projected values
+   * @param fromValue A function that extracts the projected value from a
+   *                  complete value
+   */
+
+  public ParseProjection
+  {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(type, "type");
+    Objects.requireNonNull(fromValue, "fromValue");
+  }
+
+  /**
+   * Convert a value produced by a provider's projecting parser to the type
+   * of projected values.
+   *
+   * @param value The value
+   *
+   * @return The value
+   *
+   * @throws ClassCastException If the value is not of the projected type
+   */
+
+  public H cast(
+    final Object value)
+  {
+    return this.type.cast(value);
+  }
+
+  /**
+   * Extract the projected value from a complete value.
+   *
+   * @param value The complete value
+   *
+   * @return The projected value
+   */
+
+  public H project(
+    final T value)
+  {
+    return this.fromValue.apply(value);
+  }
+}
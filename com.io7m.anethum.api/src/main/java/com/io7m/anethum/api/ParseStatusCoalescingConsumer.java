@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * <p>A status consumer that coalesces repeated status values.</p>
+ *
+ * <p>Status values are grouped by error code (and, optionally, by message).
+ * The first {@code maximumOccurrences} values in each group are passed
+ * directly to the delegate consumer, complete with their lexical positions.
+ * Subsequent values in the group are counted but not passed on. When the
+ * consumer is closed, a single summary status is published to the delegate
+ * for each group in which values were suppressed.</p>
+ *
+ * <p>Instances of this class are not thread-safe.</p>
+ */
+
+public final class ParseStatusCoalescingConsumer
+  implements Consumer<ParseStatus>, AutoCloseable
+{
+  private final Consumer<ParseStatus> delegate;
+  private final int maximumOccurrences;
+  private final boolean groupByMessage;
+  private final LinkedHashMap<Key, Group> groups;
+  private boolean closed;
+
+  /**
+   * A status consumer that coalesces repeated status values.
+   *
+   * @param inDelegate           The consumer that will receive status values
+   * @param inMaximumOccurrences The maximum number of values in a group that
+   *                             will be passed on directly
+   * @param inGroupByMessage     {@code true} if the message should be
+   *                             considered along with the error code when
+   *                             grouping values
+   */
+
+  public ParseStatusCoalescingConsumer(
+    final Consumer<ParseStatus> inDelegate,
+    final int inMaximumOccurrences,
+    final boolean inGroupByMessage)
+  {
+    this.delegate =
+      Objects.requireNonNull(inDelegate, "delegate");
+
+    if (inMaximumOccurrences < 0) {
+      throw new IllegalArgumentException(
+        "Maximum occurrences %d must be non-negative"
+          .formatted(Integer.valueOf(inMaximumOccurrences))
+      );
+    }
+
+    this.maximumOccurrences = inMaximumOccurrences;
+    this.groupByMessage = inGroupByMessage;
+    this.groups = new LinkedHashMap<>();
+  }
+
+  /**
+   * A status consumer that coalesces repeated status values, grouping
+   * values by error code alone.
+   *
+   * @param inDelegate           The consumer that will receive status values
+   * @param inMaximumOccurrences The maximum number of values in a group that
+   *                             will be passed on directly
+   */
+
+  public ParseStatusCoalescingConsumer(
+    final Consumer<ParseStatus> inDelegate,
+    final int inMaximumOccurrences)
+  {
+    this(inDelegate, inMaximumOccurrences, false);
+  }
+
+  @Override
+  public void accept(
+    final ParseStatus status)
+  {
+    Objects.requireNonNull(status, "status");
+
+    if (this.closed) {
+      throw new IllegalStateException("Consumer is closed.");
+    }
+
+    final var key =
+      new Key(
+        status.errorCode(),
+        this.groupByMessage ? status.message() : ""
+      );
+
+    var group = this.groups.get(key);
+    if (group == null) {
+      group = new Group(status);
+      this.groups.put(key, group);
+    }
+
+    ++group.occurrences;
+    if (status.severity().ordinal() < group.severity.ordinal()) {
+      group.severity = status.severity();
+    }
+
+    if (group.occurrences <= this.maximumOccurrences) {
+      this.delegate.accept(status);
+    }
+  }
+
+  /**
+   * @return The number of status values that have been suppressed so far
+   */
+
+  public long suppressedCount()
+  {
+    long total = 0L;
+    for (final var group : this.groups.values()) {
+      total += group.suppressed(this.maximumOccurrences);
+    }
+    return total;
+  }
+
+  /**
+   * Publish a summary status for each group in which values were suppressed.
+   * The summary status carries the error code, message, and lexical
+   * position of the first value in the group, the most severe severity
+   * seen in the group, and the attributes {@code Occurrences} and
+   * {@code Suppressed}. Closing the consumer more than once has no effect.
+   */
+
+  @Override
+  public void close()
+  {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+
+    for (final var group : this.groups.values()) {
+      final var suppressed = group.suppressed(this.maximumOccurrences);
+      if (suppressed > 0L) {
+        this.delegate.accept(
+          ParseStatus.builder(group.first.errorCode(), group.first.message())
+            .withSeverity(group.severity)
+            .withLexical(group.first.lexical())
+            .withAttribute(
+              "Occurrences", Long.toUnsignedString(group.occurrences))
+            .withAttribute(
+              "Suppressed", Long.toUnsignedString(suppressed))
+            .build()
+        );
+      }
+    }
+    this.groups.clear();
+  }
+
+  private record Key(
+    String errorCode,
+    String message)
+  {
+
+  }
+
+  private static final class Group
+  {
+    private final ParseStatus first;
+    private ParseSeverity severity;
+    private long occurrences;
+
+    Group(
+      final ParseStatus inFirst)
+    {
+      this.first = inFirst;
+      this.severity = inFirst.severity();
+    }
+
+    long suppressed(
+      final int maximum)
+    {
+      return Math.max(0L, this.occurrences - maximum);
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_ERROR;
+import static com.io7m.anethum.api.ParseSeverity.PARSE_INFO;
+import static com.io7m.anethum.api.ParseSeverity.PARSE_WARNING;
+
+/**
+ * <p>A status consumer that retains a bounded number of status values for
+ * each severity, and can produce a {@link ParsingException} from the retained
+ * values.</p>
+ *
+ * <p>Status values that arrive after the limit for their severity has been
+ * reached are counted but not retained. Retained values are kept in arrival
+ * order.</p>
+ *
+ * <p>Instances of this class are not thread-safe.</p>
+ */
+
+public final class ParseStatusCollector implements Consumer<ParseStatus>
+{
+  private static final ParseSeverity[] SEVERITIES =
+    ParseSeverity.values();
+
+  private final int[] maximums;
+  private final long[] received;
+  private List<ParseStatusType> statuses;
+  private boolean shared;
+
+  /**
+   * A status collector.
+   *
+   * @param maximumErrors   The maximum number of errors retained
+   * @param maximumWarnings The maximum number of warnings retained
+   * @param maximumInfos    The maximum number of information values retained
+   */
+
+  public ParseStatusCollector(
+    final int maximumErrors,
+    final int maximumWarnings,
+    final int maximumInfos)
+  {
+    this.maximums = new int[SEVERITIES.length];
+    this.maximums[PARSE_ERROR.ordinal()] =
+      checkMaximum(maximumErrors);
+    this.maximums[PARSE_WARNING.ordinal()] =
+      checkMaximum(maximumWarnings);
+    this.maximums[PARSE_INFO.ordinal()] =
+      checkMaximum(maximumInfos);
+    this.received = new long[SEVERITIES.length];
+    this.statuses = new ArrayList<>();
+  }
+
+  /**
+   * A status collector.
+   *
+   * @param maximumPerSeverity The maximum number of values retained for each
+   *                           severity
+   */
+
+  public ParseStatusCollector(
+    final int maximumPerSeverity)
+  {
+    this(maximumPerSeverity, maximumPerSeverity, maximumPerSeverity);
+  }
+
+  private static ParseSeverity mostSevere(
+    final long omittedErrors,
+    final long omittedWarnings)
+  {
+    if (omittedErrors > 0L) {
+      return PARSE_ERROR;
+    }
+    if (omittedWarnings > 0L) {
+      return PARSE_WARNING;
+    }
+    return PARSE_INFO;
+  }
+
+  private static int checkMaximum(
+    final int maximum)
+  {
+    if (maximum < 0) {
+      throw new IllegalArgumentException(
+        "Maximum %d must be non-negative"
+          .formatted(Integer.valueOf(maximum))
+      );
+    }
+    return maximum;
+  }
+
+  @Override
+  public void accept(
+    final ParseStatus status)
+  {
+    Objects.requireNonNull(status, "status");
+
+    final var index = status.severity().ordinal();
+    final var count = ++this.received[index];
+    if (count <= this.maximums[index]) {
+      if (this.shared) {
+        this.statuses = new ArrayList<>(this.statuses);
+        this.shared = false;
+      }
+      this.statuses.add(status);
+    }
+  }
+
+  /**
+   * @return A read-only view of the retained status values
+   */
+
+  public List<ParseStatusType> statuses()
+  {
+    return Collections.unmodifiableList(this.statuses);
+  }
+
+  /**
+   * @param severity The severity
+   *
+   * @return The total number of values received with the given severity
+   */
+
+  public long receivedCount(
+    final ParseSeverity severity)
+  {
+    return this.received[severity.ordinal()];
+  }
+
+  /**
+   * @param severity The severity
+   *
+   * @return The number of values with the given severity that were received
+   * but not retained
+   */
+
+  public long overflowCount(
+    final ParseSeverity severity)
+  {
+    final var index = severity.ordinal();
+    return Math.max(0L, this.received[index] - this.maximums[index]);
+  }
+
+  /**
+   * @return {@code true} if any errors have been received
+   */
+
+  public boolean hasErrors()
+  {
+    return this.received[PARSE_ERROR.ordinal()] > 0L;
+  }
+
+  /**
+   * <p>Produce an exception containing the retained status values.</p>
+   *
+   * <p>If any values were not retained, a final status value is appended to
+   * the list held by the exception, carrying the number of omitted values of
+   * each severity in the attributes {@code OmittedErrors},
+   * {@code OmittedWarnings}, and {@code OmittedInfos}. Otherwise, the
+   * retained values are handed to the exception without being copied.</p>
+   *
+   * @param message The exception message
+   *
+   * @return A parsing exception
+   */
+
+  public ParsingException toException(
+    final String message)
+  {
+    Objects.requireNonNull(message, "message");
+
+    final var omittedErrors =
+      this.overflowCount(PARSE_ERROR);
+    final var omittedWarnings =
+      this.overflowCount(PARSE_WARNING);
+    final var omittedInfos =
+      this.overflowCount(PARSE_INFO);
+
+    if (omittedErrors + omittedWarnings + omittedInfos == 0L) {
+      this.shared = true;
+      return ParsingException.ofImmutable(
+        message,
+        Collections.unmodifiableList(this.statuses)
+      );
+    }
+
+    final var withSummary =
+      new ArrayList<ParseStatusType>(this.statuses.size() + 1);
+    withSummary.addAll(this.statuses);
+    withSummary.add(
+      ParseStatus.builder(
+          "status-omitted",
+          "Some status values were omitted.")
+        .withSeverity(mostSevere(omittedErrors, omittedWarnings))
+        .withAttribute("OmittedErrors", Long.toString(omittedErrors))
+        .withAttribute("OmittedWarnings", Long.toString(omittedWarnings))
+        .withAttribute("OmittedInfos", Long.toString(omittedInfos))
+        .build()
+    );
+
+    return ParsingException.ofImmutable(
+      message,
+      Collections.unmodifiableList(withSummary)
+    );
+  }
+}
@@ -22,6 +22,8 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /**
@@ -189,6 +191,85 @@ public interface ParserFactoryType<C, T, P extends ParserType<T>>
     return this.parseFileWithContext(null, file, statusConsumer);
   }
 
+  /**
+   * Create a new parser for the given file. The file is read ahead on a
+   * task submitted to {@code prefetchExecutor} using a
+   * {@link PrefetchingInputStream}, so that reading the file overlaps with
+   * parsing. The executor must run tasks asynchronously. If the executor
+   * rejects the task, the file is closed and the
+   * {@link java.util.concurrent.RejectedExecutionException} is propagated.
+   *
+   * @param file             The file
+   * @param context          The parser-specific context value, if required
+   * @param statusConsumer   A consumer of status events
+   * @param prefetchExecutor The executor on which the file will be read
+   *
+   * @return A new parser
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default P createParserForFileWithContext(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final Executor prefetchExecutor)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(prefetchExecutor, "prefetchExecutor");
+
+    final var stream =
+      new PrefetchingInputStream(Files.newInputStream(file), prefetchExecutor);
+
+    try {
+      return this.createParserWithContext(
+        context,
+        file.toUri(),
+        stream,
+        statusConsumer
+      );
+    } catch (final RuntimeException e) {
+      stream.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Execute a parser for the given file, reading the file ahead on a task
+   * submitted to {@code prefetchExecutor}.
+   *
+   * @param file             The file
+   * @param context          The parser-specific context value, if required
+   * @param statusConsumer   A consumer of status events
+   * @param prefetchExecutor The executor on which the file will be read
+   *
+   * @return A new parser
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   *
+   * @see #createParserForFileWithContext(Object, Path, Consumer, Executor)
+   */
+
+  default T parseFileWithContext(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final Executor prefetchExecutor)
+    throws IOException, ParsingException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(prefetchExecutor, "prefetchExecutor");
+
+    try (var parser = this.createParserForFileWithContext(
+      context, file, statusConsumer, prefetchExecutor)) {
+      return parser.execute();
+    }
+  }
+
   /**
    * Execute a parser for the given file.
    *
@@ -290,4 +371,442 @@ public interface ParserFactoryType<C, T, P extends ParserType<T>>
 
     return this.createParser(source, stream, statusConsumer).execute();
   }
+
+  /**
+   * Execute a parser for the given stream, computing a digest of the stream
+   * as it is parsed. Any bytes remaining in the stream after the parser
+   * completes are read and included in the digest, so the digest always
+   * covers the complete stream. As with
+   * {@link #parse(URI, InputStream, Consumer)}, neither the parser nor the
+   * stream is closed by this method. If the parser itself closes the stream
+   * before reaching the end, the remainder is read and digested as the
+   * stream is closed.
+   *
+   * @param context        The parser-specific context value, if required
+   * @param source         The source
+   * @param stream         The stream
+   * @param statusConsumer A consumer of status events
+   * @param algorithm      The digest algorithm
+   *
+   * @return The parsed value and digest
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   *
+   * @see DigestingInputStream
+   */
+
+  default ParseDigestResult<T> parseDigestedWithContext(
+    final C context,
+    final URI source,
+    final InputStream stream,
+    final Consumer<ParseStatus> statusConsumer,
+    final String algorithm)
+    throws IOException, ParsingException
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(algorithm, "algorithm");
+
+    final var digesting = new DigestingInputStream(stream, algorithm);
+    final var value =
+      this.createParserWithContext(context, source, digesting, statusConsumer)
+        .execute();
+
+    digesting.drain();
+    return new ParseDigestResult<>(value, algorithm, digesting.digest());
+  }
+
+  /**
+   * Execute a parser for the given file, computing a digest of the file
+   * as it is parsed.
+   *
+   * @param context        The parser-specific context value, if required
+   * @param file           The file
+   * @param statusConsumer A consumer of status events
+   * @param algorithm      The digest algorithm
+   *
+   * @return The parsed value and digest
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   *
+   * @see #parseDigestedWithContext(Object, URI, InputStream, Consumer, String)
+   */
+
+  default ParseDigestResult<T> parseFileDigestedWithContext(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final String algorithm)
+    throws IOException, ParsingException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(algorithm, "algorithm");
+
+    try (var stream = Files.newInputStream(file)) {
+      return this.parseDigestedWithContext(
+        context,
+        file.toUri(),
+        stream,
+        statusConsumer,
+        algorithm
+      );
+    }
+  }
+
+  /**
+   * Execute a parser for the given file, computing a digest of the file
+   * as it is parsed.
+   *
+   * @param file           The file
+   * @param statusConsumer A consumer of status events
+   * @param algorithm      The digest algorithm
+   *
+   * @return The parsed value and digest
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   *
+   * @see #parseDigestedWithContext(Object, URI, InputStream, Consumer, String)
+   */
+
+  default ParseDigestResult<T> parseFileDigested(
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final String algorithm)
+    throws IOException, ParsingException
+  {
+    return this.parseFileDigestedWithContext(
+      null,
+      file,
+      statusConsumer,
+      algorithm
+    );
+  }
+
+  /**
+   * <p>Create a new parser that produces a projection of the value that would
+   * be parsed from the given stream.</p>
+   *
+   * <p>Providers override this method to recognize the projections that they
+   * support, returning parsers that stop reading, and close the stream, once
+   * the projected value is known. The default implementation parses the
+   * complete value and applies {@link ParseProjection#project(Object)} to
+   * it.</p>
+   *
+   * @param context        The parser-specific context value, if required
+   * @param source         The source
+   * @param stream         The stream
+   * @param statusConsumer A consumer of status events
+   * @param projection     The projection
+   * @param <H>            The type of projected values
+   *
+   * @return A new parser
+   */
+
+  default <H> ParserType<H> createParserForProjectionWithContext(
+    final C context,
+    final URI source,
+    final InputStream stream,
+    final Consumer<ParseStatus> statusConsumer,
+    final ParseProjection<T, H> projection)
+  {
+    Objects.requireNonNull(projection, "projection");
+
+    final var parser =
+      this.createParserWithContext(context, source, stream, statusConsumer);
+
+    return new ParserType<>()
+    {
+      @Override
+      public H execute()
+        throws ParsingException
+      {
+        return projection.project(parser.execute());
+      }
+
+      @Override
+      public void close()
+        throws IOException
+      {
+        parser.close();
+      }
+    };
+  }
+
+  /**
+   * Execute a projecting parser for the given file.
+   *
+   * @param context        The parser-specific context value, if required
+   * @param file           The file
+   * @param statusConsumer A consumer of status events
+   * @param projection     The projection
+   * @param <H>            The type of projected values
+   *
+   * @return The projected value
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   *
+   * @see #createParserForProjectionWithContext(Object, URI, InputStream, Consumer, ParseProjection)
+   */
+
+  default <H> H parseFileProjectionWithContext(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final ParseProjection<T, H> projection)
+    throws IOException, ParsingException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(projection, "projection");
+
+    try (var stream = Files.newInputStream(file);
+         var parser = this.createParserForProjectionWithContext(
+           context,
+           file.toUri(),
+           stream,
+           statusConsumer,
+           projection)) {
+      return parser.execute();
+    }
+  }
+
+  /**
+   * Execute a projecting parser for the given file.
+   *
+   * @param file           The file
+   * @param statusConsumer A consumer of status events
+   * @param projection     The projection
+   * @param <H>            The type of projected values
+   *
+   * @return The projected value
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   *
+   * @see #createParserForProjectionWithContext(Object, URI, InputStream, Consumer, ParseProjection)
+   */
+
+  default <H> H parseFileProjection(
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final ParseProjection<T, H> projection)
+    throws IOException, ParsingException
+  {
+    return this.parseFileProjectionWithContext(
+      null,
+      file,
+      statusConsumer,
+      projection
+    );
+  }
+
+  /**
+   * <p>Execute a parser for the given stream, reporting progress to the given
+   * listener as the stream is consumed.</p>
+   *
+   * <p>The stream is wrapped in a {@link ProgressInputStream}; the methods
+   * that do not take a listener do not wrap the stream at all and so pay
+   * nothing for progress reporting.</p>
+   *
+   * @param context        The parser-specific context value, if required
+   * @param source         The source
+   * @param stream         The input stream
+   * @param total          The total size of the stream, if known
+   * @param statusConsumer A consumer of status events
+   * @param listener       The progress listener
+   *
+   * @return The parsed value
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   */
+
+  default T parseWithContextAndProgress(
+    final C context,
+    final URI source,
+    final InputStream stream,
+    final OptionalLong total,
+    final Consumer<ParseStatus> statusConsumer,
+    final ProgressListenerType listener)
+    throws IOException, ParsingException
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(total, "total");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(listener, "listener");
+
+    try (var parser = this.createParserWithContext(
+      context,
+      source,
+      new ProgressInputStream(stream, source, total, listener),
+      statusConsumer)) {
+      return parser.execute();
+    }
+  }
+
+  /**
+   * Create a new parser for the given file that reports progress to the
+   * given listener as the file is read. The size of the file is used as the
+   * total. The default implementation opens the file as a stream, wraps it
+   * in a {@link ProgressInputStream}, and calls
+   * {@link #createParserWithContext(Object, URI, InputStream, Consumer)};
+   * providers that override
+   * {@link #createParserForFileWithContext(Object, Path, Consumer)} should
+   * override this method too.
+   *
+   * @param context        The parser-specific context value, if required
+   * @param file           The file
+   * @param statusConsumer A consumer of status events
+   * @param listener       The progress listener
+   *
+   * @return A new parser
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default P createParserForFileWithContextAndProgress(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final ProgressListenerType listener)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(listener, "listener");
+
+    final var total = OptionalLong.of(Files.size(file));
+    final var stream = Files.newInputStream(file);
+    try {
+      return this.createParserWithContext(
+        context,
+        file.toUri(),
+        new ProgressInputStream(stream, file.toUri(), total, listener),
+        statusConsumer
+      );
+    } catch (final RuntimeException e) {
+      stream.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Execute a parser for the given file, reporting progress to the given
+   * listener as the file is read. The size of the file is used as the total.
+   *
+   * @param context        The parser-specific context value, if required
+   * @param file           The file
+   * @param statusConsumer A consumer of status events
+   * @param listener       The progress listener
+   *
+   * @return The parsed value
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   *
+   * @see #createParserForFileWithContextAndProgress(Object, Path, Consumer, ProgressListenerType)
+   */
+
+  default T parseFileWithContextAndProgress(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final ProgressListenerType listener)
+    throws IOException, ParsingException
+  {
+    try (var parser = this.createParserForFileWithContextAndProgress(
+      context, file, statusConsumer, listener)) {
+      return parser.execute();
+    }
+  }
+
+  /**
+   * Create a new parser that reports the phases of its work to the given
+   * timer. The default implementation ignores the timer and calls
+   * {@link #createParserWithContext(Object, URI, InputStream, Consumer)};
+   * providers that can distinguish their phases should override this method.
+   *
+   * @param context        The parser-specific context value, if required
+   * @param source         The source
+   * @param stream         The input stream
+   * @param statusConsumer A consumer of status events
+   * @param timer          The phase timer
+   *
+   * @return A new parser
+   */
+
+  default P createParserWithContextAndTimer(
+    final C context,
+    final URI source,
+    final InputStream stream,
+    final Consumer<ParseStatus> statusConsumer,
+    final PhaseTimerType timer)
+  {
+    Objects.requireNonNull(timer, "timer");
+    return this.createParserWithContext(
+      context,
+      source,
+      stream,
+      statusConsumer
+    );
+  }
+
+  /**
+   * <p>Execute a parser for the given file, recording the phases reported by
+   * the parser into a {@link PhaseProfile}.</p>
+   *
+   * <p>Whether parsing succeeds or fails, the profile is delivered to the
+   * status consumer as a final {@link ParseSeverity#PARSE_INFO} status, and
+   * then to the profile consumer (for logging or export as metrics). If
+   * parsing fails, exceptions raised by either consumer are added to the
+   * parsing failure as suppressed exceptions.</p>
+   *
+   * @param context         The parser-specific context value, if required
+   * @param file            The file
+   * @param statusConsumer  A consumer of status events
+   * @param profileConsumer A consumer of the resulting profile
+   *
+   * @return The parsed value
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   *
+   * @see #createParserWithContextAndTimer(Object, URI, InputStream, Consumer, PhaseTimerType)
+   */
+
+  default T parseFileProfiledWithContext(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final Consumer<PhaseProfile> profileConsumer)
+    throws IOException, ParsingException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(profileConsumer, "profileConsumer");
+
+    final var profiler = PhaseProfiler.create(file.toUri());
+    Throwable failure = null;
+    try (var stream = Files.newInputStream(file);
+         var parser = this.createParserWithContextAndTimer(
+           context,
+           file.toUri(),
+           stream,
+           statusConsumer,
+           profiler)) {
+      return parser.execute();
+    } catch (final Throwable e) {
+      failure = e;
+      throw e;
+    } finally {
+      profiler.deliver(statusConsumer, profileConsumer, failure);
+    }
+  }
 }
@@ -37,11 +37,52 @@ public final class ParsingException extends Exception
   public ParsingException(
     final String message,
     final List<ParseStatusType> inErrors)
+  {
+    this(message, inErrors, true);
+  }
+
+  /**
+   * Construct an exception.
+   *
+   * @param message  The main message
+   * @param inErrors The parse errors
+   * @param cause    The underlying cause
+   */
+
+  public ParsingException(
+    final String message,
+    final List<ParseStatusType> inErrors,
+    final Throwable cause)
+  {
+    this(message, inErrors, true);
+    this.initCause(Objects.requireNonNull(cause, "cause"));
+  }
+
+  private ParsingException(
+    final String message,
+    final List<ParseStatusType> inErrors,
+    final boolean copy)
   {
     super(Objects.requireNonNull(message, "message"));
-    this.statusValues = List.copyOf(
-      Objects.requireNonNull(inErrors, "errors")
-    );
+    Objects.requireNonNull(inErrors, "errors");
+    this.statusValues = copy ? List.copyOf(inErrors) : inErrors;
+  }
+
+  /**
+   * Construct an exception using a list that is already known to be
+   * immutable and free of {@code null} elements, without copying it.
+   *
+   * @param message  The main message
+   * @param inErrors The parse errors
+   *
+   * @return An exception
+   */
+
+  static ParsingException ofImmutable(
+    final String message,
+    final List<ParseStatusType> inErrors)
+  {
+    return new ParsingException(message, inErrors, false);
   }
 
   /**
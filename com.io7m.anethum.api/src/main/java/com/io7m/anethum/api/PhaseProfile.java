@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import com.io7m.jlexing.core.LexicalPosition;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_INFO;
+
+/**
+ * The per-phase timings of a single parse or serialization.
+ *
+ * @param source The source or target
+ * @param total  The wall-clock time of the whole operation
+ * @param phases The phases, in the order in which each was first entered
+ */
+
+public record PhaseProfile(
+  URI source,
+  Duration total,
+  List<PhaseTiming> phases)
+{
+  /**
+   * The error code used for profile statuses.
+   */
+
+  public static final String STATUS_CODE = "phase-profile";
+
+  /**
+   * The per-phase timings of a single parse or serialization.
+   *
+   * @param source The source or target
+   * @param total  The wall-clock time of the whole operation
+   * @param phases The phases, in the order in which each was first entered
+   */
+
+  public PhaseProfile
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(total, "total");
+    phases = List.copyOf(phases);
+  }
+
+  /**
+   * @return The total time of each phase, by name, suitable for export as
+   * metrics
+   */
+
+  public Map<String, Duration> toMetrics()
+  {
+    final var results = new LinkedHashMap<String, Duration>();
+    for (final var phase : this.phases) {
+      results.put(phase.name(), phase.total());
+    }
+    return Collections.unmodifiableMap(results);
+  }
+
+  /**
+   * Express the profile as a {@link ParseSeverity#PARSE_INFO} status. Each
+   * phase is an attribute whose value is the total time in milliseconds and
+   * the number of times the phase was entered.
+   *
+   * @return A status describing the profile
+   */
+
+  public ParseStatus toStatus()
+  {
+    final var builder =
+      ParseStatus.builder(STATUS_CODE, "Phase timings for %s: %s ms".formatted(
+        this.source,
+        formatMillis(this.total)))
+        .withSeverity(PARSE_INFO)
+        .withLexical(LexicalPosition.of(0, 0, Optional.of(this.source)));
+
+    for (final var phase : this.phases) {
+      builder.withAttribute(
+        phase.name(),
+        "%s ms (%d)".formatted(
+          formatMillis(phase.total()),
+          Long.valueOf(phase.count()))
+      );
+    }
+    return builder.build();
+  }
+
+  private static String formatMillis(
+    final Duration time)
+  {
+    return "%.3f".formatted(Double.valueOf(time.toNanos() / 1.0e6));
+  }
+}
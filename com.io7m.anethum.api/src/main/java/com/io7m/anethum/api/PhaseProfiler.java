@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * <p>A phase timer that aggregates the reported phases into a
+ * {@link PhaseProfile}.</p>
+ *
+ * <p>Profilers are thread-safe, so phases may be reported from the worker
+ * threads of parallel parsers. The total time of a profile runs from the
+ * creation of the profiler to the call to {@link #profile()}.</p>
+ */
+
+public final class PhaseProfiler implements PhaseTimerType
+{
+  private final URI source;
+  private final long started;
+  private final LinkedHashMap<String, long[]> phases;
+
+  private PhaseProfiler(
+    final URI inSource)
+  {
+    this.source = Objects.requireNonNull(inSource, "source");
+    this.started = System.nanoTime();
+    this.phases = new LinkedHashMap<>();
+  }
+
+  /**
+   * Create a profiler.
+   *
+   * @param source The source or target being profiled
+   *
+   * @return A profiler
+   */
+
+  public static PhaseProfiler create(
+    final URI source)
+  {
+    return new PhaseProfiler(source);
+  }
+
+  @Override
+  public PhaseType begin(
+    final String name)
+  {
+    Objects.requireNonNull(name, "name");
+
+    synchronized (this.phases) {
+      this.phases.computeIfAbsent(name, k -> new long[2]);
+    }
+    return new Phase(name, System.nanoTime());
+  }
+
+  /**
+   * @return A snapshot of the phases that have ended so far
+   */
+
+  public PhaseProfile profile()
+  {
+    final var now = System.nanoTime();
+    final var results = new ArrayList<PhaseTiming>();
+    synchronized (this.phases) {
+      for (final var entry : this.phases.entrySet()) {
+        final var values = entry.getValue();
+        results.add(new PhaseTiming(
+          entry.getKey(),
+          values[0],
+          Duration.ofNanos(values[1])
+        ));
+      }
+    }
+    return new PhaseProfile(
+      this.source,
+      Duration.ofNanos(now - this.started),
+      results
+    );
+  }
+
+  /**
+   * Deliver the profile of a completed operation to the given consumers.
+   * If the operation failed, exceptions raised by the consumers are added
+   * to the failure as suppressed exceptions rather than replacing it.
+   *
+   * @param statusConsumer  The status consumer, if the profile should be
+   *                        delivered as a status
+   * @param profileConsumer The profile consumer
+   * @param failure         The exception raised by the operation, if any
+   */
+
+  void deliver(
+    final Consumer<ParseStatus> statusConsumer,
+    final Consumer<PhaseProfile> profileConsumer,
+    final Throwable failure)
+  {
+    final var profile = this.profile();
+
+    RuntimeException error = null;
+    if (statusConsumer != null) {
+      try {
+        statusConsumer.accept(profile.toStatus());
+      } catch (final RuntimeException e) {
+        error = e;
+      }
+    }
+
+    try {
+      profileConsumer.accept(profile);
+    } catch (final RuntimeException e) {
+      if (error == null) {
+        error = e;
+      } else {
+        error.addSuppressed(e);
+      }
+    }
+
+    if (error != null) {
+      if (failure == null) {
+        throw error;
+      }
+      failure.addSuppressed(error);
+    }
+  }
+
+  private void end(
+    final String name,
+    final long time)
+  {
+    synchronized (this.phases) {
+      final var values = this.phases.get(name);
+      values[0] += 1L;
+      values[1] += time;
+    }
+  }
+
+  private final class Phase implements PhaseType
+  {
+    private final String name;
+    private final long phaseStarted;
+    private boolean closed;
+
+    Phase(
+      final String inName,
+      final long inStarted)
+    {
+      this.name = inName;
+      this.phaseStarted = inStarted;
+    }
+
+    @Override
+    public void close()
+    {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+      PhaseProfiler.this.end(this.name, System.nanoTime() - this.phaseStarted);
+    }
+  }
+}
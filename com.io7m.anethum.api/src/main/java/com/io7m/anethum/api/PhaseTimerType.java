@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.util.Objects;
+
+/**
+ * <p>A timer into which parsers and serializers report the phases of their
+ * work (such as lexing, validation, or model construction).</p>
+ *
+ * <p>A phase is started with {@link #begin(String)} and ends when the
+ * returned value is closed, so phases are typically timed with
+ * try-with-resources. Phases with the same name are aggregated.</p>
+ *
+ * @see PhaseProfiler
+ */
+
+public interface PhaseTimerType
+{
+  /**
+   * Begin a phase.
+   *
+   * @param name The phase name
+   *
+   * @return The running phase
+   */
+
+  PhaseType begin(String name);
+
+  /**
+   * @return A timer that records nothing
+   */
+
+  static PhaseTimerType disabled()
+  {
+    return name -> {
+      Objects.requireNonNull(name, "name");
+      return PhaseType.NONE;
+    };
+  }
+
+  /**
+   * A running phase.
+   */
+
+  interface PhaseType extends AutoCloseable
+  {
+    /**
+     * A phase that does nothing when closed.
+     */
+
+    PhaseType NONE = () -> {
+
+    };
+
+    /**
+     * End the phase. Closing a phase more than once has no further effect.
+     */
+
+    @Override
+    void close();
+  }
+}
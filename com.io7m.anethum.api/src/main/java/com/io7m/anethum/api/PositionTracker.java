@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import com.io7m.jlexing.core.LexicalPosition;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The line and column tracking shared by {@link PositionTrackingReader} and
+ * {@link PositionTrackingInputStream}. In addition to the position of the
+ * next element to be read, a cursor is kept within the most recently read
+ * block so that successive calls to {@code positionAt} with increasing
+ * indices only scan the elements between them.
+ */
+
+final class PositionTracker
+{
+  private final Optional<URI> source;
+  private long consumed;
+  private int line;
+  private int column;
+  private int blockLine;
+  private int blockColumn;
+  private Object block;
+  private int blockOffset;
+  private int cursorIndex;
+  private int cursorLine;
+  private int cursorColumn;
+
+  PositionTracker(
+    final Optional<URI> inSource)
+  {
+    this.source = Objects.requireNonNull(inSource, "source");
+    this.line = 1;
+    this.blockLine = 1;
+    this.cursorLine = 1;
+  }
+
+  long consumed()
+  {
+    return this.consumed;
+  }
+
+  int line()
+  {
+    return this.line;
+  }
+
+  int column()
+  {
+    return this.column;
+  }
+
+  LexicalPosition<URI> position()
+  {
+    return LexicalPosition.of(this.line, this.column, this.source);
+  }
+
+  private void begin(
+    final Object data,
+    final int offset,
+    final int length)
+  {
+    this.blockLine = this.line;
+    this.blockColumn = this.column;
+    this.block = data;
+    this.blockOffset = offset;
+    this.cursorIndex = 0;
+    this.cursorLine = this.line;
+    this.cursorColumn = this.column;
+    this.consumed += length;
+  }
+
+  private void end(
+    final int breaks,
+    final int lastBreak,
+    final int end,
+    final int length)
+  {
+    if (breaks == 0) {
+      this.column += length;
+    } else {
+      this.line += breaks;
+      this.column = end - lastBreak - 1;
+    }
+  }
+
+  void advance(
+    final int c)
+  {
+    this.begin(null, 0, 1);
+    if (c == '\n') {
+      this.line += 1;
+      this.column = 0;
+    } else {
+      this.column += 1;
+    }
+  }
+
+  void advance(
+    final char[] data,
+    final int offset,
+    final int length)
+  {
+    this.begin(data, offset, length);
+
+    final var end = offset + length;
+    int breaks = 0;
+    int lastBreak = -1;
+    for (int index = offset; index < end; ++index) {
+      if (data[index] == '\n') {
+        ++breaks;
+        lastBreak = index;
+      }
+    }
+    this.end(breaks, lastBreak, end, length);
+  }
+
+  void advance(
+    final byte[] data,
+    final int offset,
+    final int length)
+  {
+    this.begin(data, offset, length);
+
+    final var end = offset + length;
+    int breaks = 0;
+    int lastBreak = -1;
+    for (int index = offset; index < end; ++index) {
+      if (data[index] == '\n') {
+        ++breaks;
+        lastBreak = index;
+      }
+    }
+    this.end(breaks, lastBreak, end, length);
+  }
+
+  private void seek(
+    final Object data,
+    final int offset,
+    final int index)
+  {
+    if (data != this.block
+        || offset != this.blockOffset
+        || index < this.cursorIndex) {
+      this.block = data;
+      this.blockOffset = offset;
+      this.cursorIndex = 0;
+      this.cursorLine = this.blockLine;
+      this.cursorColumn = this.blockColumn;
+    }
+  }
+
+  private void step(
+    final boolean lineBreak)
+  {
+    if (lineBreak) {
+      this.cursorLine += 1;
+      this.cursorColumn = 0;
+    } else {
+      this.cursorColumn += 1;
+    }
+  }
+
+  LexicalPosition<URI> positionAt(
+    final char[] data,
+    final int offset,
+    final int index)
+  {
+    Objects.checkFromIndexSize(offset, index, data.length);
+
+    this.seek(data, offset, index);
+    for (int at = this.cursorIndex; at < index; ++at) {
+      this.step(data[offset + at] == '\n');
+    }
+    this.cursorIndex = index;
+    return LexicalPosition.of(this.cursorLine, this.cursorColumn, this.source);
+  }
+
+  LexicalPosition<URI> positionAt(
+    final byte[] data,
+    final int offset,
+    final int index)
+  {
+    Objects.checkFromIndexSize(offset, index, data.length);
+
+    this.seek(data, offset, index);
+    for (int at = this.cursorIndex; at < index; ++at) {
+      this.step(data[offset + at] == '\n');
+    }
+    this.cursorIndex = index;
+    return LexicalPosition.of(this.cursorLine, this.cursorColumn, this.source);
+  }
+}
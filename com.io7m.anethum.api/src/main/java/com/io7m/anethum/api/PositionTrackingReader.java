@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import com.io7m.jlexing.core.LexicalPosition;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>A reader that tracks the line and column of the next character to be
+ * read.</p>
+ *
+ * <p>Lines are terminated by {@code '\n'}; a preceding {@code '\r'} counts
+ * as an ordinary character. Lines are numbered from 1 and columns from 0,
+ * with columns counted in chars. Positions are updated once per bulk read
+ * rather than once per character, and so consumers should read in blocks
+ * and compute in-block positions with {@link #positionAt(char[], int, int)}
+ * when required.</p>
+ *
+ * @see PositionTrackingInputStream
+ */
+
+public final class PositionTrackingReader extends FilterReader
+{
+  private final PositionTracker tracker;
+
+  /**
+   * Create a position-tracking reader.
+   *
+   * @param inReader The underlying reader
+   * @param inSource The source
+   */
+
+  public PositionTrackingReader(
+    final Reader inReader,
+    final URI inSource)
+  {
+    this(inReader, Optional.of(Objects.requireNonNull(inSource, "source")));
+  }
+
+  /**
+   * Create a position-tracking reader for a reader with no known source.
+   *
+   * @param inReader The underlying reader
+   */
+
+  public PositionTrackingReader(
+    final Reader inReader)
+  {
+    this(inReader, Optional.empty());
+  }
+
+  private PositionTrackingReader(
+    final Reader inReader,
+    final Optional<URI> inSource)
+  {
+    super(Objects.requireNonNull(inReader, "reader"));
+    this.tracker = new PositionTracker(inSource);
+  }
+
+  /**
+   * @return The number of chars read so far
+   */
+
+  public long offset()
+  {
+    return this.tracker.consumed();
+  }
+
+  /**
+   * @return The line of the next char to be read
+   */
+
+  public int line()
+  {
+    return this.tracker.line();
+  }
+
+  /**
+   * @return The column of the next char to be read
+   */
+
+  public int column()
+  {
+    return this.tracker.column();
+  }
+
+  /**
+   * @return The position of the next char to be read
+   */
+
+  public LexicalPosition<URI> position()
+  {
+    return this.tracker.position();
+  }
+
+  /**
+   * Determine the position of the char at {@code data[offset + index]}, where
+   * {@code data[offset .. offset + n)} is the block most recently returned
+   * by {@link #read(char[], int, int)}. Successive calls with increasing
+   * indices into the same block scan only the elements between them.
+   *
+   * @param data   The block
+   * @param offset The offset of the block within {@code data}
+   * @param index  The index of the char within the block
+   *
+   * @return The position of the given char
+   */
+
+  public LexicalPosition<URI> positionAt(
+    final char[] data,
+    final int offset,
+    final int index)
+  {
+    return this.tracker.positionAt(data, offset, index);
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var c = this.in.read();
+    if (c >= 0) {
+      this.tracker.advance(c);
+    }
+    return c;
+  }
+
+  @Override
+  public int read(
+    final char[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    final var count = this.in.read(data, offset, length);
+    if (count > 0) {
+      this.tracker.advance(data, offset, count);
+    }
+    return count;
+  }
+
+  @Override
+  public long skip(
+    final long count)
+    throws IOException
+  {
+    final var buffer = new char[(int) Math.min(8192L, Math.max(count, 1L))];
+    long remaining = count;
+    while (remaining > 0L) {
+      final var r =
+        this.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+      if (r < 0) {
+        break;
+      }
+      remaining -= r;
+    }
+    return count - remaining;
+  }
+
+  @Override
+  public boolean markSupported()
+  {
+    return false;
+  }
+
+  @Override
+  public void mark(
+    final int limit)
+    throws IOException
+  {
+    throw new IOException("mark/reset is not supported.");
+  }
+
+  @Override
+  public void reset()
+    throws IOException
+  {
+    throw new IOException("mark/reset is not supported.");
+  }
+}
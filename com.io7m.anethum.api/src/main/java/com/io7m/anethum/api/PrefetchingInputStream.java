@@ -0,0 +1,352 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>An input stream that reads ahead from an underlying stream on a
+ * background task.</p>
+ *
+ * <p>A fixed number of buffers, drawn from {@link BufferPool#shared()}, are
+ * filled by a task running on a caller-supplied executor, and are consumed
+ * in order by readers of this stream. The consumer can therefore process one
+ * buffer while the next is being read. I/O errors raised by the underlying
+ * stream are rethrown to the reader at the point in the stream at which they
+ * occurred.</p>
+ *
+ * <p>Closing this stream closes the underlying stream, stops the background
+ * task, and returns the buffers to the pool. Instances of this class are
+ * intended to be read by a single thread.</p>
+ *
+ * <p>The executor must run the background task asynchronously. An executor
+ * that runs tasks on the submitting thread (such as a "caller runs"
+ * rejection policy) will block the constructor as soon as every buffer has
+ * been filled, because nothing can consume the buffers until the
+ * constructor returns.</p>
+ */
+
+public final class PrefetchingInputStream extends InputStream
+{
+  /**
+   * The default size of each buffer.
+   */
+
+  public static final int DEFAULT_BUFFER_SIZE = 65536;
+
+  /**
+   * The default number of buffers.
+   */
+
+  public static final int DEFAULT_BUFFER_COUNT = 2;
+
+  private static final int STATE_PENDING = 0;
+  private static final int STATE_RUNNING = 1;
+  private static final int STATE_DONE = 2;
+
+  private static final byte[] WAKE = new byte[0];
+  private static final Chunk END = new Chunk(new byte[0], -1, null);
+
+  private final InputStream source;
+  private final int bufferSize;
+  private final ArrayBlockingQueue<byte[]> free;
+  private final ArrayBlockingQueue<Chunk> filled;
+  private final AtomicInteger state;
+  private final CountDownLatch finished;
+  private volatile boolean closed;
+  private Chunk current;
+  private int position;
+
+  /**
+   * Create a prefetching stream.
+   *
+   * @param inSource      The underlying stream
+   * @param executor      The executor on which reads will be performed
+   * @param inBufferSize  The size of each buffer
+   * @param inBufferCount The number of buffers
+   *
+   * @throws RejectedExecutionException If the executor rejects the background
+   *                                    task; the underlying stream is closed
+   */
+
+  public PrefetchingInputStream(
+    final InputStream inSource,
+    final Executor executor,
+    final int inBufferSize,
+    final int inBufferCount)
+  {
+    this.source = Objects.requireNonNull(inSource, "source");
+    Objects.requireNonNull(executor, "executor");
+
+    if (inBufferSize <= 0) {
+      throw new IllegalArgumentException(
+        "Buffer size %d must be positive"
+          .formatted(Integer.valueOf(inBufferSize))
+      );
+    }
+    if (inBufferCount <= 0) {
+      throw new IllegalArgumentException(
+        "Buffer count %d must be positive"
+          .formatted(Integer.valueOf(inBufferCount))
+      );
+    }
+
+    this.bufferSize = inBufferSize;
+    this.free = new ArrayBlockingQueue<>(inBufferCount + 1);
+    this.filled = new ArrayBlockingQueue<>(inBufferCount + 1);
+    this.state = new AtomicInteger(STATE_PENDING);
+    this.finished = new CountDownLatch(1);
+
+    final var pool = BufferPool.shared();
+    for (int index = 0; index < inBufferCount; ++index) {
+      this.free.add(pool.acquire(inBufferSize));
+    }
+
+    try {
+      executor.execute(this::fill);
+    } catch (final RejectedExecutionException e) {
+      this.closed = true;
+      this.stopFilling();
+      try {
+        this.source.close();
+      } catch (final IOException ex) {
+        e.addSuppressed(ex);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Create a prefetching stream with {@link #DEFAULT_BUFFER_COUNT} buffers of
+   * {@link #DEFAULT_BUFFER_SIZE} bytes.
+   *
+   * @param inSource The underlying stream
+   * @param executor The executor on which reads will be performed
+   *
+   * @throws RejectedExecutionException If the executor rejects the background
+   *                                    task; the underlying stream is closed
+   */
+
+  public PrefetchingInputStream(
+    final InputStream inSource,
+    final Executor executor)
+  {
+    this(inSource, executor, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+  }
+
+  private void fill()
+  {
+    if (!this.state.compareAndSet(STATE_PENDING, STATE_RUNNING)) {
+      return;
+    }
+
+    try {
+      while (!this.closed) {
+        final var buffer = this.free.take();
+        if (buffer == WAKE || this.closed) {
+          break;
+        }
+
+        final var length =
+          this.source.read(buffer, 0, Math.min(buffer.length, this.bufferSize));
+        if (length < 0) {
+          this.free.add(buffer);
+          this.filled.put(END);
+          break;
+        }
+        this.filled.put(new Chunk(buffer, length, null));
+      }
+    } catch (final IOException e) {
+      this.filled.offer(new Chunk(new byte[0], -1, e));
+    } catch (final RuntimeException e) {
+      this.filled.offer(new Chunk(
+        new byte[0],
+        -1,
+        new IOException("Prefetching failed: " + e.getMessage(), e)
+      ));
+    } catch (final InterruptedException e) {
+      this.filled.offer(new Chunk(
+        new byte[0],
+        -1,
+        new InterruptedIOException("Prefetching was interrupted.")
+      ));
+      Thread.currentThread().interrupt();
+    } finally {
+      this.state.set(STATE_DONE);
+      this.finished.countDown();
+    }
+  }
+
+  private Chunk chunk()
+    throws IOException
+  {
+    if (this.closed) {
+      throw new IOException("Stream is closed.");
+    }
+
+    while (true) {
+      final var existing = this.current;
+      if (existing != null) {
+        if (existing.error != null) {
+          throw new IOException(existing.error.getMessage(), existing.error);
+        }
+        if (existing.length < 0 || this.position < existing.length) {
+          return existing;
+        }
+        this.free.add(existing.data);
+        this.current = null;
+      }
+
+      final Chunk next;
+      try {
+        next = this.filled.take();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted waiting for data.");
+      }
+
+      this.current = next;
+      this.position = 0;
+    }
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var chunk = this.chunk();
+    if (chunk.length < 0) {
+      return -1;
+    }
+    final var b = chunk.data[this.position] & 0xff;
+    ++this.position;
+    return b;
+  }
+
+  @Override
+  public int read(
+    final byte[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, data.length);
+    if (length == 0) {
+      return 0;
+    }
+
+    final var chunk = this.chunk();
+    if (chunk.length < 0) {
+      return -1;
+    }
+    final var count = Math.min(length, chunk.length - this.position);
+    System.arraycopy(chunk.data, this.position, data, offset, count);
+    this.position += count;
+    return count;
+  }
+
+  @Override
+  public int available()
+  {
+    final var chunk = this.current;
+    if (chunk == null || chunk.length < 0) {
+      return 0;
+    }
+    return chunk.length - this.position;
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+
+    try {
+      this.source.close();
+    } finally {
+      this.stopFilling();
+    }
+  }
+
+  private void stopFilling()
+  {
+    if (this.state.compareAndSet(STATE_PENDING, STATE_DONE)) {
+      this.releaseBuffers(List.of());
+      return;
+    }
+
+    this.free.offer(WAKE);
+    final var pending = new ArrayList<Chunk>();
+    this.filled.drainTo(pending);
+
+    try {
+      this.finished.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    this.filled.drainTo(pending);
+    this.releaseBuffers(pending);
+  }
+
+  private void releaseBuffers(
+    final List<Chunk> pending)
+  {
+    final var pool = BufferPool.shared();
+    final var existing = this.current;
+    if (existing != null && existing.error == null && existing != END) {
+      pool.release(existing.data);
+    }
+    this.current = null;
+
+    for (final var chunk : pending) {
+      if (chunk.error == null && chunk != END) {
+        pool.release(chunk.data);
+      }
+    }
+
+    final var buffers = new ArrayList<byte[]>();
+    this.free.drainTo(buffers);
+    for (final var buffer : buffers) {
+      if (buffer != WAKE) {
+        pool.release(buffer);
+      }
+    }
+  }
+
+  private record Chunk(
+    byte[] data,
+    int length,
+    IOException error)
+  {
+
+  }
+}
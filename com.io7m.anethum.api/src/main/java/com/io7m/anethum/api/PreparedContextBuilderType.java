@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.IOException;
+
+/**
+ * A function that builds and validates a parser context value.
+ *
+ * @param <K> The type of keys
+ * @param <C> The type of context values
+ *
+ * @see PreparedContextCache
+ */
+
+@FunctionalInterface
+public interface PreparedContextBuilderType<K, C>
+{
+  /**
+   * Build the context value for the given key.
+   *
+   * @param key The key
+   *
+   * @return The context value
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException If the context value is built from documents
+   *                          that cannot be parsed
+   */
+
+  C build(K key)
+    throws IOException, ParsingException;
+}
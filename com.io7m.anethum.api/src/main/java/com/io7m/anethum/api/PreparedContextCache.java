@@ -0,0 +1,223 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * <p>A cache of prepared parser context values.</p>
+ *
+ * <p>Context values such as compiled schemas or resolved catalogs can be
+ * expensive to build. This cache builds the context value for each key at
+ * most once, using a {@link PreparedContextBuilderType}, and shares it
+ * between all threads that subsequently ask for the same key. If several
+ * threads ask for a key that is not yet present, one thread builds the value
+ * and the others wait for it. Values that fail to build are not cached. A
+ * builder must not ask the cache for the key that it is building; doing so
+ * raises {@link IllegalStateException} rather than deadlocking.</p>
+ *
+ * <p>The cache holds at most a fixed number of values, evicting the least
+ * recently used value when full. Context values are shared between threads,
+ * and so must be safe for concurrent use by parsers.</p>
+ *
+ * @param <K> The type of keys
+ * @param <C> The type of context values
+ */
+
+public final class PreparedContextCache<K, C>
+{
+  private final PreparedContextBuilderType<K, C> builder;
+  private final int maximumSize;
+  private final LinkedHashMap<K, Entry<C>> entries;
+
+  /**
+   * Create a cache.
+   *
+   * @param inMaximumSize The maximum number of values held
+   * @param inBuilder     The function used to build values
+   */
+
+  public PreparedContextCache(
+    final int inMaximumSize,
+    final PreparedContextBuilderType<K, C> inBuilder)
+  {
+    if (inMaximumSize <= 0) {
+      throw new IllegalArgumentException(
+        "Maximum size %d must be positive"
+          .formatted(Integer.valueOf(inMaximumSize))
+      );
+    }
+
+    this.maximumSize = inMaximumSize;
+    this.builder = Objects.requireNonNull(inBuilder, "builder");
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Retrieve the context value for the given key, building it if
+   * necessary.
+   *
+   * @param key The key
+   *
+   * @return The context value
+   *
+   * @throws IOException           On I/O errors
+   * @throws ParsingException       If the context value is built from
+   *                                documents that cannot be parsed
+   * @throws IllegalStateException If called by the builder of the value for
+   *                                the same key
+   */
+
+  public C get(
+    final K key)
+    throws IOException, ParsingException
+  {
+    Objects.requireNonNull(key, "key");
+
+    final Entry<C> entry;
+    final boolean owner;
+    synchronized (this.entries) {
+      final var existing = this.entries.get(key);
+      if (existing != null) {
+        if (existing.builder == Thread.currentThread()) {
+          throw new IllegalStateException(
+            "Recursive request for the context value being built for key %s"
+              .formatted(key)
+          );
+        }
+        entry = existing;
+        owner = false;
+      } else {
+        entry = new Entry<>(Thread.currentThread());
+        owner = true;
+        this.entries.put(key, entry);
+        this.evict();
+      }
+    }
+
+    if (owner) {
+      this.build(key, entry);
+    }
+    return await(entry.future);
+  }
+
+  private void build(
+    final K key,
+    final Entry<C> entry)
+  {
+    try {
+      entry.future.complete(
+        Objects.requireNonNull(this.builder.build(key), "context")
+      );
+    } catch (final Throwable e) {
+      synchronized (this.entries) {
+        this.entries.remove(key, entry);
+      }
+      entry.future.completeExceptionally(e);
+    } finally {
+      entry.builder = null;
+    }
+  }
+
+  private static <C> C await(
+    final CompletableFuture<C> future)
+    throws IOException, ParsingException
+  {
+    try {
+      return future.join();
+    } catch (final CompletionException e) {
+      final var cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof ParsingException) {
+        throw (ParsingException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  private void evict()
+  {
+    final var iterator = this.entries.entrySet().iterator();
+    while (this.entries.size() > this.maximumSize && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Discard the context value for the given key, if any.
+   *
+   * @param key The key
+   */
+
+  public void invalidate(
+    final K key)
+  {
+    Objects.requireNonNull(key, "key");
+    synchronized (this.entries) {
+      this.entries.remove(key);
+    }
+  }
+
+  /**
+   * Discard all context values.
+   */
+
+  public void invalidateAll()
+  {
+    synchronized (this.entries) {
+      this.entries.clear();
+    }
+  }
+
+  /**
+   * @return The number of context values held, including values that are
+   * being built
+   */
+
+  public int size()
+  {
+    synchronized (this.entries) {
+      return this.entries.size();
+    }
+  }
+
+  private static final class Entry<C>
+  {
+    private final CompletableFuture<C> future;
+    private volatile Thread builder;
+
+    Entry(
+      final Thread inBuilder)
+    {
+      this.future = new CompletableFuture<>();
+      this.builder = inBuilder;
+    }
+  }
+}
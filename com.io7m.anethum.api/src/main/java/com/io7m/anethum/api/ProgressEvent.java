@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+
+/**
+ * A report of the progress of a parse or serialization.
+ *
+ * @param source         The source or target
+ * @param bytesDone      The number of bytes read or written so far
+ * @param bytesTotal     The total number of bytes, if known
+ * @param bytesPerSecond The average rate since the operation started
+ * @param finished       {@code true} if this is the final report for the
+ *                       operation
+ *
+ * @see ProgressListenerType
+ */
+
+public record ProgressEvent(
+  URI source,
+  long bytesDone,
+  OptionalLong bytesTotal,
+  double bytesPerSecond,
+  boolean finished)
+{
+  /**
+   * A report of the progress of a parse or serialization.
+   *
+   * @param source         The source or target
+   * @param bytesDone      The number of bytes read or written so far
+   * @param bytesTotal     The total number of bytes, if known
+   * @param bytesPerSecond The average rate since the operation started
+   * @param finished       {@code true} if this is the final report for the
+   *                       operation
+   */
+
+  public ProgressEvent
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(bytesTotal, "bytesTotal");
+  }
+
+  /**
+   * @return The fraction of the total completed, in the range {@code [0, 1]},
+   * if the total is known
+   */
+
+  public OptionalDouble fraction()
+  {
+    if (this.bytesTotal.isEmpty()) {
+      return OptionalDouble.empty();
+    }
+    final var total = this.bytesTotal.getAsLong();
+    if (total <= 0L) {
+      return OptionalDouble.of(1.0);
+    }
+    return OptionalDouble.of(
+      Math.min(1.0, (double) this.bytesDone / (double) total)
+    );
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.OptionalLong;
+
+/**
+ * <p>An input stream that counts the bytes read through it and reports
+ * progress to a listener.</p>
+ *
+ * <p>Reports are throttled to at most one per interval, and a final report
+ * is published when the end of the stream is reached or the stream is
+ * closed, whichever happens first.</p>
+ */
+
+public final class ProgressInputStream extends FilterInputStream
+{
+  private final ProgressTracker tracker;
+
+  /**
+   * Create a progress-reporting stream.
+   *
+   * @param inStream      The underlying stream
+   * @param source        The source
+   * @param total         The total number of bytes, if known
+   * @param listener      The listener
+   * @param intervalNanos The minimum interval between reports
+   */
+
+  public ProgressInputStream(
+    final InputStream inStream,
+    final URI source,
+    final OptionalLong total,
+    final ProgressListenerType listener,
+    final long intervalNanos)
+  {
+    super(inStream);
+    this.tracker = new ProgressTracker(source, total, listener, intervalNanos);
+  }
+
+  /**
+   * Create a progress-reporting stream that reports at most ten times per
+   * second.
+   *
+   * @param inStream The underlying stream
+   * @param source   The source
+   * @param total    The total number of bytes, if known
+   * @param listener The listener
+   */
+
+  public ProgressInputStream(
+    final InputStream inStream,
+    final URI source,
+    final OptionalLong total,
+    final ProgressListenerType listener)
+  {
+    this(
+      inStream,
+      source,
+      total,
+      listener,
+      ProgressTracker.DEFAULT_INTERVAL_NANOS
+    );
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var b = this.in.read();
+    if (b >= 0) {
+      this.tracker.add(1L);
+    } else {
+      this.tracker.finish();
+    }
+    return b;
+  }
+
+  @Override
+  public int read(
+    final byte[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    final var count = this.in.read(data, offset, length);
+    if (count > 0) {
+      this.tracker.add(count);
+    } else if (count < 0) {
+      this.tracker.finish();
+    }
+    return count;
+  }
+
+  @Override
+  public long skip(
+    final long count)
+    throws IOException
+  {
+    final var skipped = this.in.skip(count);
+    this.tracker.add(skipped);
+    return skipped;
+  }
+
+  @Override
+  public boolean markSupported()
+  {
+    return false;
+  }
+
+  @Override
+  public void mark(
+    final int limit)
+  {
+
+  }
+
+  @Override
+  public void reset()
+    throws IOException
+  {
+    throw new IOException("mark/reset is not supported.");
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    try {
+      super.close();
+    } finally {
+      this.tracker.finish();
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.OptionalLong;
+
+/**
+ * <p>An output stream that counts the bytes written through it and reports
+ * progress to a listener.</p>
+ *
+ * <p>Reports are throttled to at most one per interval, and a final report
+ * is published when the stream is closed.</p>
+ */
+
+public final class ProgressOutputStream extends FilterOutputStream
+{
+  private final ProgressTracker tracker;
+
+  /**
+   * Create a progress-reporting stream.
+   *
+   * @param inStream      The underlying stream
+   * @param target        The target
+   * @param listener      The listener
+   * @param intervalNanos The minimum interval between reports
+   */
+
+  public ProgressOutputStream(
+    final OutputStream inStream,
+    final URI target,
+    final ProgressListenerType listener,
+    final long intervalNanos)
+  {
+    super(inStream);
+    this.tracker =
+      new ProgressTracker(target, OptionalLong.empty(), listener, intervalNanos);
+  }
+
+  /**
+   * Create a progress-reporting stream that reports at most ten times per
+   * second.
+   *
+   * @param inStream The underlying stream
+   * @param target   The target
+   * @param listener The listener
+   */
+
+  public ProgressOutputStream(
+    final OutputStream inStream,
+    final URI target,
+    final ProgressListenerType listener)
+  {
+    this(inStream, target, listener, ProgressTracker.DEFAULT_INTERVAL_NANOS);
+  }
+
+  @Override
+  public void write(
+    final int b)
+    throws IOException
+  {
+    this.out.write(b);
+    this.tracker.add(1L);
+  }
+
+  @Override
+  public void write(
+    final byte[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    this.out.write(data, offset, length);
+    this.tracker.add(length);
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    try {
+      super.close();
+    } finally {
+      this.tracker.finish();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * The shared counting and throttling logic of the progress streams. The
+ * clock is only consulted once at least {@link #CHECK_BYTES} bytes have been
+ * counted since it was last consulted.
+ */
+
+final class ProgressTracker
+{
+  static final long DEFAULT_INTERVAL_NANOS = 100_000_000L;
+  static final long CHECK_BYTES = 8192L;
+
+  private final URI source;
+  private final OptionalLong total;
+  private final ProgressListenerType listener;
+  private final long intervalNanos;
+  private final long started;
+  private long done;
+  private long checked;
+  private long published;
+  private boolean finished;
+
+  ProgressTracker(
+    final URI inSource,
+    final OptionalLong inTotal,
+    final ProgressListenerType inListener,
+    final long inIntervalNanos)
+  {
+    this.source = Objects.requireNonNull(inSource, "source");
+    this.total = Objects.requireNonNull(inTotal, "total");
+    this.listener = Objects.requireNonNull(inListener, "listener");
+    this.intervalNanos = inIntervalNanos;
+    this.started = System.nanoTime();
+    this.published = this.started;
+  }
+
+  void add(
+    final long count)
+  {
+    this.done += count;
+    if (this.done - this.checked < CHECK_BYTES) {
+      return;
+    }
+
+    this.checked = this.done;
+    final var now = System.nanoTime();
+    if (now - this.published >= this.intervalNanos) {
+      this.published = now;
+      this.publish(now, false);
+    }
+  }
+
+  void finish()
+  {
+    if (this.finished) {
+      return;
+    }
+    this.finished = true;
+    this.publish(System.nanoTime(), true);
+  }
+
+  private void publish(
+    final long now,
+    final boolean last)
+  {
+    final var seconds = Math.max(1L, now - this.started) / 1.0e9;
+    this.listener.onProgress(
+      new ProgressEvent(
+        this.source,
+        this.done,
+        this.total,
+        this.done / seconds,
+        last
+      )
+    );
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A collector of the outcomes of the files in a batch, used to build a
+ * {@link SerializationBatchResult}.</p>
+ *
+ * <p>Outcomes may be recorded from any thread. Failures raised by
+ * {@link java.util.concurrent.CompletableFuture} stages are recorded as the
+ * underlying exception rather than the {@link CompletionException} that
+ * wraps it.</p>
+ */
+
+final class SerializationBatchCollector
+{
+  private final Set<Path> succeeded;
+  private final ConcurrentHashMap<Path, Exception> failed;
+
+  private SerializationBatchCollector(
+    final int expectedSize)
+  {
+    this.succeeded = ConcurrentHashMap.newKeySet(expectedSize);
+    this.failed = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Create a collector.
+   *
+   * @param expectedSize The expected number of files
+   *
+   * @return A collector
+   */
+
+  static SerializationBatchCollector create(
+    final int expectedSize)
+  {
+    return new SerializationBatchCollector(Math.max(0, expectedSize));
+  }
+
+  /**
+   * Record the outcome of a file.
+   *
+   * @param file      The file
+   * @param exception The failure, or {@code null} if the file succeeded
+   */
+
+  void complete(
+    final Path file,
+    final Throwable exception)
+  {
+    if (exception == null) {
+      this.succeeded(file);
+    } else {
+      this.failed(file, exception);
+    }
+  }
+
+  /**
+   * Record that a file succeeded.
+   *
+   * @param file The file
+   */
+
+  void succeeded(
+    final Path file)
+  {
+    this.succeeded.add(Objects.requireNonNull(file, "file"));
+  }
+
+  /**
+   * Record that a file failed.
+   *
+   * @param file      The file
+   * @param exception The failure
+   */
+
+  void failed(
+    final Path file,
+    final Throwable exception)
+  {
+    this.failed.put(
+      Objects.requireNonNull(file, "file"),
+      unwrap(Objects.requireNonNull(exception, "exception"))
+    );
+  }
+
+  /**
+   * @return The outcomes recorded so far
+   */
+
+  SerializationBatchResult result()
+  {
+    return new SerializationBatchResult(this.succeeded, this.failed);
+  }
+
+  private static Exception unwrap(
+    final Throwable exception)
+  {
+    var current = exception;
+    while (current instanceof CompletionException && current.getCause() != null) {
+      current = current.getCause();
+    }
+    if (current instanceof Exception) {
+      return (Exception) current;
+    }
+    return new CompletionException(current);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The result of serializing a batch of values to files, or of transcoding a
+ * batch of files.
+ *
+ * @param succeeded The files that were written successfully
+ * @param failed    The files that could not be written, and the reason for
+ *                  each failure
+ *
+ * @see SerializerFactoryType#serializeFilesWithContext(Object, Map, java.util.concurrent.Executor, int)
+ */
+
+public record SerializationBatchResult(
+  Set<Path> succeeded,
+  Map<Path, Exception> failed)
+{
+  /**
+   * The result of serializing a batch of values to files.
+   *
+   * @param succeeded The files that were written successfully
+   * @param failed    The files that could not be written, and the reason for
+   *                  each failure
+   */
+
+  public SerializationBatchResult
+  {
+    succeeded = Set.copyOf(Objects.requireNonNull(succeeded, "succeeded"));
+    failed = Map.copyOf(Objects.requireNonNull(failed, "failed"));
+  }
+
+  /**
+   * Build a result from the futures that write each file, waiting for any
+   * that have not yet completed. A file succeeded if its future completed
+   * normally. The failure recorded for a file that failed is the exception
+   * that caused it, rather than any {@link CompletionException} that wraps
+   * it.
+   *
+   * @param futures The future for each file
+   *
+   * @return The result
+   */
+
+  public static SerializationBatchResult ofFutures(
+    final Map<Path, ? extends CompletableFuture<?>> futures)
+  {
+    Objects.requireNonNull(futures, "futures");
+
+    final var collector = SerializationBatchCollector.create(futures.size());
+    for (final var entry : futures.entrySet()) {
+      final var file = entry.getKey();
+      entry.getValue()
+        .handle((ignored, exception) -> {
+          collector.complete(file, exception);
+          return null;
+        })
+        .join();
+    }
+    return collector.result();
+  }
+
+  /**
+   * @return {@code true} if every file was written successfully
+   */
+
+  public boolean isSuccessful()
+  {
+    return this.failed.isEmpty();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * Functions to help serializers write to channels without copying.
+ *
+ * @see SerializerFactoryType#createSerializerForChannelWithContext(Object, java.net.URI, WritableByteChannel)
+ */
+
+public final class SerializerChannels
+{
+  private SerializerChannels()
+  {
+
+  }
+
+  /**
+   * Write all remaining bytes of the given buffers to the given channel. If
+   * the channel is a {@link GatheringByteChannel}, the buffers are written
+   * with gathering writes.
+   *
+   * @param channel The channel
+   * @param buffers The buffers
+   *
+   * @return The number of bytes written
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static long writeFully(
+    final WritableByteChannel channel,
+    final ByteBuffer... buffers)
+    throws IOException
+  {
+    Objects.requireNonNull(channel, "channel");
+    Objects.requireNonNull(buffers, "buffers");
+
+    long total = 0L;
+    if (channel instanceof GatheringByteChannel) {
+      final var gathering = (GatheringByteChannel) channel;
+      int first = 0;
+      while (first < buffers.length) {
+        total += gathering.write(buffers, first, buffers.length - first);
+        while (first < buffers.length && !buffers[first].hasRemaining()) {
+          ++first;
+        }
+      }
+      return total;
+    }
+
+    for (final var buffer : buffers) {
+      while (buffer.hasRemaining()) {
+        total += channel.write(buffer);
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Copy a region of the given file to the given channel. The operating
+   * system is permitted to perform the copy without passing the data
+   * through user space.
+   *
+   * @param source   The source file
+   * @param position The starting position within the source file
+   * @param count    The number of bytes to copy
+   * @param channel  The output channel
+   *
+   * @return The number of bytes copied
+   *
+   * @throws IOException On I/O errors, or if the source file ends before
+   *                     {@code count} bytes have been copied
+   */
+
+  public static long transferFully(
+    final FileChannel source,
+    final long position,
+    final long count,
+    final WritableByteChannel channel)
+    throws IOException
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(channel, "channel");
+
+    long done = 0L;
+    while (done < count) {
+      final var transferred =
+        source.transferTo(position + done, count - done, channel);
+      if (transferred <= 0L) {
+        if (position + done >= source.size()) {
+          throw new IOException(
+            "Source ended after %d of %d bytes"
+              .formatted(Long.valueOf(done), Long.valueOf(count))
+          );
+        }
+        continue;
+      }
+      done += transferred;
+    }
+    return done;
+  }
+}
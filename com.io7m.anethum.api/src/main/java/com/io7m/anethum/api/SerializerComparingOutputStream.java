@@ -0,0 +1,364 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.DosFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>An output stream that compares the bytes written to it against the
+ * existing content of a file.</p>
+ *
+ * <p>While the written bytes match the existing content, nothing is
+ * written or retained. At the first difference, a temporary file is created
+ * beside the target file, the matching prefix is copied into it, and all
+ * further output is written there. When {@link #finish()} is called, the
+ * temporary file is moved over the target file with
+ * {@link java.nio.file.StandardCopyOption#ATOMIC_MOVE}; if the comparison
+ * is abandoned with {@link #abort()}, the temporary file is deleted and the
+ * target file is left untouched. Memory use is therefore bounded regardless
+ * of the size of the output, and an unchanged file is never opened for
+ * writing.</p>
+ *
+ * <p>If the target file is a symbolic link, the file it refers to is
+ * compared and replaced, and the link itself is preserved. The permissions
+ * of an existing target file (and its owner and group, where the process is
+ * permitted to set them) are copied to the temporary file before it
+ * replaces the target.</p>
+ */
+
+final class SerializerComparingOutputStream extends OutputStream
+{
+  private final Path file;
+  private final byte[] compare;
+  private final byte[] pending;
+  private int pendingCount;
+  private boolean replacing;
+  private InputStream existing;
+  private Path temporary;
+  private OutputStream diverged;
+  private long matched;
+  private boolean closed;
+  private boolean released;
+
+  SerializerComparingOutputStream(
+    final Path inFile)
+    throws IOException
+  {
+    final var absolute =
+      Objects.requireNonNull(inFile, "file").toAbsolutePath();
+
+    this.file = Files.exists(absolute) ? absolute.toRealPath() : absolute;
+    this.compare = BufferPool.shared().acquire(BufferPool.MINIMUM_SIZE * 4);
+    this.pending = BufferPool.shared().acquire(BufferPool.MINIMUM_SIZE);
+
+    try {
+      if (Files.isRegularFile(this.file)) {
+        this.replacing = true;
+        this.existing = Files.newInputStream(this.file);
+      } else {
+        this.diverge();
+      }
+    } catch (final IOException | RuntimeException e) {
+      this.releaseBuffers();
+      throw e;
+    }
+  }
+
+  @Override
+  public void write(
+    final int b)
+    throws IOException
+  {
+    this.checkNotClosed();
+
+    if (this.pendingCount == this.pending.length) {
+      this.flushPending();
+    }
+    this.pending[this.pendingCount] = (byte) b;
+    this.pendingCount += 1;
+  }
+
+  private void flushPending()
+    throws IOException
+  {
+    if (this.pendingCount > 0) {
+      final var count = this.pendingCount;
+      this.pendingCount = 0;
+      this.writeBytes(this.pending, 0, count);
+    }
+  }
+
+  @Override
+  public void write(
+    final byte[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, data.length);
+    this.checkNotClosed();
+    this.flushPending();
+    this.writeBytes(data, offset, length);
+  }
+
+  private void writeBytes(
+    final byte[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    int position = offset;
+    int remaining = length;
+    while (remaining > 0 && this.diverged == null) {
+      final var chunk = Math.min(remaining, this.compare.length);
+      final var read = this.existing.readNBytes(this.compare, 0, chunk);
+      final var mismatch =
+        Arrays.mismatch(
+          this.compare, 0, read,
+          data, position, position + chunk
+        );
+
+      if (mismatch == -1) {
+        this.matched += chunk;
+        position += chunk;
+        remaining -= chunk;
+      } else {
+        this.matched += mismatch;
+        position += mismatch;
+        remaining -= mismatch;
+        this.diverge();
+      }
+    }
+
+    if (remaining > 0) {
+      this.diverged.write(data, position, remaining);
+    }
+  }
+
+  private void checkNotClosed()
+    throws IOException
+  {
+    if (this.closed) {
+      throw new IOException("Stream is closed.");
+    }
+  }
+
+  private void diverge()
+    throws IOException
+  {
+    if (this.existing != null) {
+      this.existing.close();
+      this.existing = null;
+    }
+
+    /*
+     * Files.createTempFile() would create the file with owner-only
+     * permissions, which would then be carried over to the target file.
+     * A plain file creation is subject to the usual default permissions.
+     */
+
+    this.temporary = Files.createFile(
+      this.file.resolveSibling(
+        "%s.%s.tmp".formatted(this.file.getFileName(), UUID.randomUUID())
+      )
+    );
+
+    final var channel = FileChannel.open(this.temporary, WRITE);
+    try {
+      if (this.matched > 0L) {
+        try (var source = FileChannel.open(this.file, READ)) {
+          long position = 0L;
+          while (position < this.matched) {
+            position += source.transferTo(
+              position, this.matched - position, channel);
+          }
+        }
+      }
+      channel.position(this.matched);
+    } catch (final IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+
+    this.diverged =
+      new BufferPoolOutputStream(
+        BufferPool.shared(),
+        Channels.newOutputStream(channel)
+      );
+  }
+
+  @Override
+  public void flush()
+    throws IOException
+  {
+    if (!this.closed) {
+      this.flushPending();
+    }
+    if (this.diverged != null) {
+      this.diverged.flush();
+    }
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (!this.closed) {
+      this.flushPending();
+      this.closed = true;
+    }
+  }
+
+  /**
+   * Complete the comparison, replacing the file with the output if the
+   * output differed from its content. If this method fails, {@link #abort()}
+   * must still be called to discard the temporary file.
+   *
+   * @return {@code true} if the file was written
+   *
+   * @throws IOException On I/O errors
+   */
+
+  boolean finish()
+    throws IOException
+  {
+    try {
+      if (!this.closed) {
+        this.flushPending();
+        this.closed = true;
+      }
+
+      if (this.diverged == null) {
+        final var longer = this.existing.read() != -1;
+        if (!longer) {
+          this.existing.close();
+          this.existing = null;
+          return false;
+        }
+        this.diverge();
+      }
+
+      final var output = this.diverged;
+      this.diverged = null;
+      output.close();
+
+      if (this.replacing) {
+        this.copyAttributes();
+      }
+      Files.move(this.temporary, this.file, ATOMIC_MOVE, REPLACE_EXISTING);
+      this.temporary = null;
+      return true;
+    } finally {
+      this.releaseBuffers();
+    }
+  }
+
+  /**
+   * Abandon the comparison. Any temporary file is deleted, and the target
+   * file is left as it was. Calling this method after {@link #finish()} is
+   * permitted, and discards anything left behind by a failed finish.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  void abort()
+    throws IOException
+  {
+    this.closed = true;
+
+    try {
+      if (this.existing != null) {
+        this.existing.close();
+        this.existing = null;
+      }
+      if (this.diverged != null) {
+        final var output = this.diverged;
+        this.diverged = null;
+        output.close();
+      }
+    } finally {
+      try {
+        if (this.temporary != null) {
+          Files.deleteIfExists(this.temporary);
+          this.temporary = null;
+        }
+      } finally {
+        this.releaseBuffers();
+      }
+    }
+  }
+
+  private void copyAttributes()
+    throws IOException
+  {
+    final var posixSource =
+      Files.getFileAttributeView(this.file, PosixFileAttributeView.class);
+    if (posixSource != null) {
+      final var attributes = posixSource.readAttributes();
+      final var posixTarget =
+        Files.getFileAttributeView(
+          this.temporary, PosixFileAttributeView.class);
+
+      try {
+        posixTarget.setOwner(attributes.owner());
+        posixTarget.setGroup(attributes.group());
+      } catch (final IOException e) {
+        // Only privileged processes may give files away.
+      }
+      posixTarget.setPermissions(attributes.permissions());
+      return;
+    }
+
+    final var dosSource =
+      Files.getFileAttributeView(this.file, DosFileAttributeView.class);
+    if (dosSource != null) {
+      final var attributes = dosSource.readAttributes();
+      final var dosTarget =
+        Files.getFileAttributeView(this.temporary, DosFileAttributeView.class);
+
+      dosTarget.setArchive(attributes.isArchive());
+      dosTarget.setHidden(attributes.isHidden());
+      dosTarget.setSystem(attributes.isSystem());
+      dosTarget.setReadOnly(attributes.isReadOnly());
+    }
+  }
+
+  private void releaseBuffers()
+  {
+    if (!this.released) {
+      this.released = true;
+      BufferPool.shared().release(this.compare);
+      BufferPool.shared().release(this.pending);
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Functions implementing the concurrent convenience methods of
+ * {@link SerializerFactoryType}.
+ */
+
+final class SerializerFactoryConcurrency
+{
+  private SerializerFactoryConcurrency()
+  {
+
+  }
+
+  interface SerializationTaskType
+  {
+    void run()
+      throws IOException, SerializationException;
+  }
+
+  static CompletableFuture<Void> runAsync(
+    final SerializationTaskType task,
+    final Executor executor)
+  {
+    Objects.requireNonNull(executor, "executor");
+
+    return CompletableFuture.runAsync(() -> {
+      try {
+        task.run();
+      } catch (final IOException | SerializationException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
+  static <C, T, S extends SerializerType<T>> SerializationBatchResult serializeFiles(
+    final SerializerFactoryType<C, T, S> factory,
+    final C context,
+    final Map<Path, ? extends T> files,
+    final Executor executor,
+    final int parallelism)
+    throws InterruptedException
+  {
+    Objects.requireNonNull(files, "files");
+    Objects.requireNonNull(executor, "executor");
+
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException(
+        "Parallelism %d must be positive"
+          .formatted(Integer.valueOf(parallelism))
+      );
+    }
+
+    final var results =
+      SerializationBatchCollector.create(files.size());
+    final var permits =
+      new Semaphore(parallelism);
+
+    for (final var entry : files.entrySet()) {
+      final var file =
+        Objects.requireNonNull(entry.getKey(), "file");
+      final var value =
+        Objects.requireNonNull(entry.getValue(), "value");
+
+      permits.acquire();
+      try {
+        factory.serializeFileWithContextAsync(context, file, value, executor)
+          .whenComplete((ignored, exception) -> {
+            results.complete(file, exception);
+            permits.release();
+          });
+      } catch (final RejectedExecutionException e) {
+        results.failed(file, e);
+        permits.release();
+      }
+    }
+
+    permits.acquire(parallelism);
+    permits.release(parallelism);
+    return results.result();
+  }
+
+  static SerializationBatchResult writeFiles(
+    final ByteBuffer data,
+    final Collection<Path> files,
+    final Executor executor)
+  {
+    Objects.requireNonNull(data, "data");
+    Objects.requireNonNull(files, "files");
+    Objects.requireNonNull(executor, "executor");
+
+    final var results =
+      SerializationBatchCollector.create(files.size());
+    final var futures =
+      new ArrayList<CompletableFuture<Void>>(files.size());
+
+    for (final var file : files) {
+      Objects.requireNonNull(file, "file");
+
+      final var buffer = data.duplicate();
+      try {
+        futures.add(
+          runAsync(() -> writeFile(file, buffer), executor)
+            .whenComplete((ignored, exception) -> {
+              results.complete(file, exception);
+            })
+        );
+      } catch (final RejectedExecutionException e) {
+        results.failed(file, e);
+      }
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+      .handle((ignored, exception) -> null)
+      .join();
+
+    return results.result();
+  }
+
+  private static void writeFile(
+    final Path file,
+    final ByteBuffer buffer)
+    throws IOException
+  {
+    try (var channel =
+           FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE)) {
+      SerializerChannels.writeFully(channel, buffer);
+    }
+  }
+}
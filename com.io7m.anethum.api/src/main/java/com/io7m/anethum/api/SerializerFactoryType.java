@@ -19,9 +19,21 @@ package com.io7m.anethum.api;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
  * A factory of serializers. Only the {@link #createSerializerWithContext(Object, URI, OutputStream)}
@@ -76,7 +88,84 @@ public interface SerializerFactoryType<C, T, S extends SerializerType<T>>
   }
 
   /**
-   * Create a new serializer for the given file.
+   * <p>Create a new serializer that writes to the given channel.</p>
+   *
+   * <p>Providers that produce output as a set of prepared buffers can
+   * override this method to write those buffers to the channel directly
+   * (using gathering writes if the channel is a
+   * {@link java.nio.channels.GatheringByteChannel}, and
+   * {@link FileChannel#transferFrom(java.nio.channels.ReadableByteChannel, long, long)}
+   * or {@link FileChannel#transferTo(long, long, WritableByteChannel)} for
+   * embedded file content). See {@link SerializerChannels} for helpers.
+   * The default implementation adapts the channel to an output stream and
+   * calls {@link #createSerializerWithContext(Object, URI, OutputStream)}.
+   * Closing the returned serializer closes the channel.</p>
+   *
+   * @param context The serializer-specific context value, if required
+   * @param target  The output target
+   * @param channel The output channel
+   *
+   * @return A new serializer
+   *
+   * @see #createSerializerForChannelBufferedWithContext(Object, URI, WritableByteChannel)
+   */
+
+  default S createSerializerForChannelWithContext(
+    final C context,
+    final URI target,
+    final WritableByteChannel channel)
+  {
+    Objects.requireNonNull(target, "target");
+    Objects.requireNonNull(channel, "channel");
+
+    return this.createSerializerWithContext(
+      context,
+      target,
+      Channels.newOutputStream(channel)
+    );
+  }
+
+  /**
+   * <p>Create a new serializer that writes to the given channel through a
+   * buffer drawn from {@link BufferPool#shared()}. This is useful for
+   * serializers that issue many small writes, as each write to an unbuffered
+   * channel stream is a separate write to the channel. The buffer is
+   * returned to the pool when the serializer is closed, and closing the
+   * serializer closes the channel.</p>
+   *
+   * <p>Unlike {@link #createSerializerForChannelWithContext(Object, URI, WritableByteChannel)},
+   * output is not guaranteed to reach the channel until the serializer
+   * flushes or closes its stream.</p>
+   *
+   * @param context The serializer-specific context value, if required
+   * @param target  The output target
+   * @param channel The output channel
+   *
+   * @return A new serializer
+   */
+
+  default S createSerializerForChannelBufferedWithContext(
+    final C context,
+    final URI target,
+    final WritableByteChannel channel)
+  {
+    Objects.requireNonNull(target, "target");
+    Objects.requireNonNull(channel, "channel");
+
+    return this.createSerializerWithContext(
+      context,
+      target,
+      new BufferPoolOutputStream(
+        BufferPool.shared(),
+        Channels.newOutputStream(channel)
+      )
+    );
+  }
+
+  /**
+   * Create a new serializer for the given file. The file is opened as a
+   * {@link FileChannel} and passed to
+   * {@link #createSerializerForChannelWithContext(Object, URI, WritableByteChannel)}.
    *
    * @param file    The file
    * @param context The serializer-specific context value, if required
@@ -93,12 +182,53 @@ public interface SerializerFactoryType<C, T, S extends SerializerType<T>>
   {
     Objects.requireNonNull(file, "file");
 
-    final var stream = Files.newOutputStream(file);
-    return this.createSerializerWithContext(
-      context,
-      file.toUri(),
-      stream
-    );
+    final var channel =
+      FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+
+    try {
+      return this.createSerializerForChannelWithContext(
+        context,
+        file.toUri(),
+        channel
+      );
+    } catch (final RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Create a new serializer for the given file, buffering output as with
+   * {@link #createSerializerForChannelBufferedWithContext(Object, URI, WritableByteChannel)}.
+   *
+   * @param file    The file
+   * @param context The serializer-specific context value, if required
+   *
+   * @return A new serializer
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default S createSerializerForFileBufferedWithContext(
+    final C context,
+    final Path file)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+
+    final var channel =
+      FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+
+    try {
+      return this.createSerializerForChannelBufferedWithContext(
+        context,
+        file.toUri(),
+        channel
+      );
+    } catch (final RuntimeException e) {
+      channel.close();
+      throw e;
+    }
   }
 
   /**
@@ -170,6 +300,76 @@ public interface SerializerFactoryType<C, T, S extends SerializerType<T>>
     this.serializeFileWithContext(null, file, value);
   }
 
+  /**
+   * <p>Execute a serializer for the given file, writing to the file only if
+   * the serialized bytes differ from the file's existing content.</p>
+   *
+   * <p>The serialized bytes are compared against the existing file as they
+   * are produced, without being buffered in memory. If the bytes match the
+   * file exactly, the file is not opened for writing and its modification
+   * time is unchanged. Otherwise, the output is written to a temporary file
+   * beside the file, which then atomically replaces the file; if
+   * serialization fails, the file is left unchanged.</p>
+   *
+   * @param context The serializer-specific context value, if required
+   * @param file    The file
+   * @param value   The value
+   *
+   * @return {@code true} if the file was written
+   *
+   * @throws IOException            On I/O errors
+   * @throws SerializationException On serialization errors
+   */
+
+  default boolean serializeFileIfChangedWithContext(
+    final C context,
+    final Path file,
+    final T value)
+    throws IOException, SerializationException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(value, "value");
+
+    final var stream = new SerializerComparingOutputStream(file);
+    try {
+      try (var serializer =
+             this.createSerializerWithContext(context, file.toUri(), stream)) {
+        serializer.execute(value);
+      }
+      return stream.finish();
+    } catch (final IOException | SerializationException | RuntimeException e) {
+      try {
+        stream.abort();
+      } catch (final IOException x) {
+        e.addSuppressed(x);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Execute a serializer for the given file, writing to the file only if
+   * the serialized bytes differ from the file's existing content.
+   *
+   * @param file  The file
+   * @param value The value
+   *
+   * @return {@code true} if the file was written
+   *
+   * @throws IOException            On I/O errors
+   * @throws SerializationException On serialization errors
+   *
+   * @see #serializeFileIfChangedWithContext(Object, Path, Object)
+   */
+
+  default boolean serializeFileIfChanged(
+    final Path file,
+    final T value)
+    throws IOException, SerializationException
+  {
+    return this.serializeFileIfChangedWithContext(null, file, value);
+  }
+
   /**
    * Execute a serializer for the given value.
    *
@@ -192,4 +392,416 @@ public interface SerializerFactoryType<C, T, S extends SerializerType<T>>
 
     this.createSerializer(source, stream).execute(value);
   }
+
+  /**
+   * Execute a serializer for the given value, writing to the given channel.
+   *
+   * @param context The serializer-specific context value, if required
+   * @param target  The output target
+   * @param channel The output channel
+   * @param value   The value
+   *
+   * @throws IOException            On I/O errors
+   * @throws SerializationException On serialization errors
+   */
+
+  default void serializeChannelWithContext(
+    final C context,
+    final URI target,
+    final WritableByteChannel channel,
+    final T value)
+    throws IOException, SerializationException
+  {
+    Objects.requireNonNull(target, "target");
+    Objects.requireNonNull(channel, "channel");
+    Objects.requireNonNull(value, "value");
+
+    try (var serializer =
+           this.createSerializerForChannelWithContext(context, target, channel)) {
+      serializer.execute(value);
+    }
+  }
+
+  /**
+   * Execute a serializer for the given value on the given executor.
+   *
+   * @param source   The source
+   * @param stream   The stream
+   * @param value    The value
+   * @param executor The executor
+   *
+   * @return A future that completes when the value has been serialized, or
+   * completes exceptionally with a {@link SerializationException} on failure
+   */
+
+  default CompletableFuture<Void> serializeAsync(
+    final URI source,
+    final OutputStream stream,
+    final T value,
+    final Executor executor)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(value, "value");
+
+    return SerializerFactoryConcurrency.runAsync(
+      () -> this.serialize(source, stream, value),
+      executor
+    );
+  }
+
+  /**
+   * Execute a serializer for the given file on the given executor.
+   *
+   * @param context  The serializer-specific context value, if required
+   * @param file     The file
+   * @param value    The value
+   * @param executor The executor
+   *
+   * @return A future that completes when the value has been serialized, or
+   * completes exceptionally with an {@link IOException} or
+   * {@link SerializationException} on failure
+   */
+
+  default CompletableFuture<Void> serializeFileWithContextAsync(
+    final C context,
+    final Path file,
+    final T value,
+    final Executor executor)
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(value, "value");
+
+    return SerializerFactoryConcurrency.runAsync(
+      () -> this.serializeFileWithContext(context, file, value),
+      executor
+    );
+  }
+
+  /**
+   * Execute a serializer for the given file on the given executor.
+   *
+   * @param file     The file
+   * @param value    The value
+   * @param executor The executor
+   *
+   * @return A future that completes when the value has been serialized, or
+   * completes exceptionally with an {@link IOException} or
+   * {@link SerializationException} on failure
+   */
+
+  default CompletableFuture<Void> serializeFileAsync(
+    final Path file,
+    final T value,
+    final Executor executor)
+  {
+    return this.serializeFileWithContextAsync(null, file, value, executor);
+  }
+
+  /**
+   * Serialize each of the given values to its corresponding file, using the
+   * given executor, with at most {@code parallelism} files being written at
+   * any one time. A failure to write one file does not prevent the other
+   * files from being written. The method returns when every file has either
+   * been written or has failed.
+   *
+   * @param context     The serializer-specific context value, if required
+   * @param files       The files and the values to write to them
+   * @param executor    The executor
+   * @param parallelism The maximum number of files written concurrently
+   *
+   * @return The result of writing each file
+   *
+   * @throws InterruptedException If interrupted whilst waiting for files to
+   *                              be written
+   */
+
+  default SerializationBatchResult serializeFilesWithContext(
+    final C context,
+    final Map<Path, ? extends T> files,
+    final Executor executor,
+    final int parallelism)
+    throws InterruptedException
+  {
+    return SerializerFactoryConcurrency.serializeFiles(
+      this,
+      context,
+      files,
+      executor,
+      parallelism
+    );
+  }
+
+  /**
+   * Serialize each of the given values to its corresponding file.
+   *
+   * @param files       The files and the values to write to them
+   * @param executor    The executor
+   * @param parallelism The maximum number of files written concurrently
+   *
+   * @return The result of writing each file
+   *
+   * @throws InterruptedException If interrupted whilst waiting for files to
+   *                              be written
+   *
+   * @see #serializeFilesWithContext(Object, Map, Executor, int)
+   */
+
+  default SerializationBatchResult serializeFiles(
+    final Map<Path, ? extends T> files,
+    final Executor executor,
+    final int parallelism)
+    throws InterruptedException
+  {
+    return this.serializeFilesWithContext(null, files, executor, parallelism);
+  }
+
+  /**
+   * Execute a serializer for the given value, producing the serialized
+   * bytes in memory.
+   *
+   * @param context The serializer-specific context value, if required
+   * @param target  The output target passed to the serializer
+   * @param value   The value
+   *
+   * @return A read-only buffer containing the serialized bytes
+   *
+   * @throws IOException            On I/O errors
+   * @throws SerializationException On serialization errors
+   */
+
+  default ByteBuffer serializeBytesWithContext(
+    final C context,
+    final URI target,
+    final T value)
+    throws IOException, SerializationException
+  {
+    Objects.requireNonNull(target, "target");
+    Objects.requireNonNull(value, "value");
+
+    final var stream = new SerializerByteOutputStream(8192);
+    try (var serializer =
+           this.createSerializerWithContext(context, target, stream)) {
+      serializer.execute(value);
+    }
+    return stream.toByteBuffer();
+  }
+
+  /**
+   * Execute a serializer once for the given value, and write the resulting
+   * bytes to each of the given files concurrently using the given executor.
+   * The serializer is given the first file as its output target. A failure
+   * to write one file does not prevent the other files from being written.
+   * The method returns when every file has either been written or has
+   * failed.
+   *
+   * @param context  The serializer-specific context value, if required
+   * @param files    The files
+   * @param value    The value
+   * @param executor The executor
+   *
+   * @return The result of writing each file
+   *
+   * @throws IOException            On I/O errors during serialization
+   * @throws SerializationException On serialization errors
+   */
+
+  default SerializationBatchResult serializeFanOutWithContext(
+    final C context,
+    final Collection<Path> files,
+    final T value,
+    final Executor executor)
+    throws IOException, SerializationException
+  {
+    Objects.requireNonNull(files, "files");
+    Objects.requireNonNull(value, "value");
+    Objects.requireNonNull(executor, "executor");
+
+    if (files.isEmpty()) {
+      throw new IllegalArgumentException("At least one file is required.");
+    }
+
+    final var target = files.iterator().next().toUri();
+    final var data = this.serializeBytesWithContext(context, target, value);
+    return SerializerFactoryConcurrency.writeFiles(data, files, executor);
+  }
+
+  /**
+   * Execute a serializer once for the given value, and write the resulting
+   * bytes to each of the given files.
+   *
+   * @param files    The files
+   * @param value    The value
+   * @param executor The executor
+   *
+   * @return The result of writing each file
+   *
+   * @throws IOException            On I/O errors during serialization
+   * @throws SerializationException On serialization errors
+   *
+   * @see #serializeFanOutWithContext(Object, Collection, Object, Executor)
+   */
+
+  default SerializationBatchResult serializeFanOut(
+    final Collection<Path> files,
+    final T value,
+    final Executor executor)
+    throws IOException, SerializationException
+  {
+    return this.serializeFanOutWithContext(null, files, value, executor);
+  }
+
+  /**
+   * <p>Execute a serializer for the given stream, reporting progress to the
+   * given listener as bytes are written.</p>
+   *
+   * <p>The stream is wrapped in a {@link ProgressOutputStream}; the methods
+   * that do not take a listener do not wrap the stream at all and so pay
+   * nothing for progress reporting.</p>
+   *
+   * @param context  The serializer-specific context value, if required
+   * @param target   The output target
+   * @param stream   The output stream
+   * @param value    The value
+   * @param listener The progress listener
+   *
+   * @throws IOException            On I/O errors
+   * @throws SerializationException On serialization errors
+   */
+
+  default void serializeWithContextAndProgress(
+    final C context,
+    final URI target,
+    final OutputStream stream,
+    final T value,
+    final ProgressListenerType listener)
+    throws IOException, SerializationException
+  {
+    Objects.requireNonNull(target, "target");
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(value, "value");
+    Objects.requireNonNull(listener, "listener");
+
+    try (var serializer = this.createSerializerWithContext(
+      context,
+      target,
+      new ProgressOutputStream(stream, target, listener))) {
+      serializer.execute(value);
+    }
+  }
+
+  /**
+   * Execute a serializer for the given file, reporting progress to the given
+   * listener as bytes are written. The file is written through a buffer
+   * drawn from {@link BufferPool#shared()}, as with
+   * {@link #createSerializerForFileBufferedWithContext(Object, Path)}.
+   *
+   * @param context  The serializer-specific context value, if required
+   * @param file     The file
+   * @param value    The value
+   * @param listener The progress listener
+   *
+   * @throws IOException            On I/O errors
+   * @throws SerializationException On serialization errors
+   *
+   * @see #serializeWithContextAndProgress(Object, URI, OutputStream, Object, ProgressListenerType)
+   */
+
+  default void serializeFileWithContextAndProgress(
+    final C context,
+    final Path file,
+    final T value,
+    final ProgressListenerType listener)
+    throws IOException, SerializationException
+  {
+    Objects.requireNonNull(file, "file");
+
+    try (var channel =
+           FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE)) {
+      this.serializeWithContextAndProgress(
+        context,
+        file.toUri(),
+        new BufferPoolOutputStream(
+          BufferPool.shared(),
+          Channels.newOutputStream(channel)
+        ),
+        value,
+        listener
+      );
+    }
+  }
+
+  /**
+   * Create a new serializer that reports the phases of its work to the given
+   * timer. The default implementation ignores the timer and calls
+   * {@link #createSerializerWithContext(Object, URI, OutputStream)};
+   * providers that can distinguish their phases should override this method.
+   *
+   * @param context The serializer-specific context value, if required
+   * @param target  The output target
+   * @param stream  The output stream
+   * @param timer   The phase timer
+   *
+   * @return A new serializer
+   */
+
+  default S createSerializerWithContextAndTimer(
+    final C context,
+    final URI target,
+    final OutputStream stream,
+    final PhaseTimerType timer)
+  {
+    Objects.requireNonNull(timer, "timer");
+    return this.createSerializerWithContext(context, target, stream);
+  }
+
+  /**
+   * Execute a serializer for the given file, recording the phases reported
+   * by the serializer into a {@link PhaseProfile}. The profile is delivered
+   * to the profile consumer whether serialization succeeds or fails; if
+   * serialization fails, an exception raised by the consumer is added to the
+   * serialization failure as a suppressed exception.
+   *
+   * @param context         The serializer-specific context value, if required
+   * @param file            The file
+   * @param value           The value
+   * @param profileConsumer A consumer of the resulting profile
+   *
+   * @throws IOException            On I/O errors
+   * @throws SerializationException On serialization errors
+   *
+   * @see #createSerializerWithContextAndTimer(Object, URI, OutputStream, PhaseTimerType)
+   */
+
+  default void serializeFileProfiledWithContext(
+    final C context,
+    final Path file,
+    final T value,
+    final Consumer<PhaseProfile> profileConsumer)
+    throws IOException, SerializationException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(value, "value");
+    Objects.requireNonNull(profileConsumer, "profileConsumer");
+
+    final var profiler = PhaseProfiler.create(file.toUri());
+    Throwable failure = null;
+    try (var channel =
+           FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+         var serializer = this.createSerializerWithContextAndTimer(
+           context,
+           file.toUri(),
+           new BufferPoolOutputStream(
+             BufferPool.shared(),
+             Channels.newOutputStream(channel)
+           ),
+           profiler)) {
+      serializer.execute(value);
+    } catch (final Throwable e) {
+      failure = e;
+      throw e;
+    } finally {
+      profiler.deliver(null, profileConsumer, failure);
+    }
+  }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * <p>The type of factories for parsers of formats consisting of independent
+ * records, where a file can be split into chunks that are parsed
+ * separately.</p>
+ *
+ * <p>Providers identify safe split points with
+ * {@link #splitPoint(ByteBuffer)}, and combine the values parsed from each
+ * chunk with {@link #merge(List)}. Each chunk is parsed by an ordinary
+ * parser created with
+ * {@link #createParserWithContext(Object, java.net.URI, java.io.InputStream, Consumer)}
+ * and so must be a valid document in its own right.</p>
+ *
+ * <p>Lexical positions reported by chunk parsers are remapped to file
+ * positions by counting bytes: lines are shifted by the number of newline
+ * bytes preceding the chunk, and columns on the first line of a chunk are
+ * shifted by the number of bytes between the preceding newline and the
+ * start of the chunk. The remapped columns are therefore only correct for
+ * parsers that count columns in bytes, or for text in which every character
+ * before a split point on the same line is a single byte, such as ASCII.
+ * Chunks are usually split at line boundaries, in which case no column is
+ * shifted at all.</p>
+ *
+ * @param <C> The type of contextual values passed to parsers
+ * @param <T> The type of parsed values
+ * @param <P> The type of parsers
+ */
+
+public interface SplittableParserFactoryType<C, T, P extends ParserType<T>>
+  extends ParserFactoryType<C, T, P>
+{
+  /**
+   * Find the first safe split point in the given region of a file. A split
+   * point is the offset of the first byte of a record.
+   *
+   * @param data The region, from position zero to its limit
+   *
+   * @return The offset of the first split point in the region, or
+   * {@code -1} if the region contains no split point
+   */
+
+  int splitPoint(ByteBuffer data);
+
+  /**
+   * Merge the values parsed from consecutive chunks of a file.
+   *
+   * @param values The values, in file order
+   *
+   * @return The merged value
+   */
+
+  T merge(List<T> values);
+
+  /**
+   * <p>Parse the given file in parallel.</p>
+   *
+   * <p>The file is memory-mapped and divided into chunks of approximately
+   * {@code chunkSize} bytes at split points, and the chunks are parsed
+   * concurrently on {@code pool}. The lexical positions of statuses are
+   * remapped from chunk coordinates to file coordinates, and statuses are
+   * delivered to {@code statusConsumer} on the calling thread in file order
+   * once all chunks have been parsed. If any chunk fails to parse, a
+   * {@link ParsingException} carrying the errors of all chunks is
+   * thrown, with the exception raised by the first failing chunk as its
+   * cause.</p>
+   *
+   * @param context        The parser-specific context value, if required
+   * @param file           The file
+   * @param statusConsumer A consumer of status events
+   * @param pool           The pool on which chunks are parsed
+   * @param chunkSize      The approximate size of each chunk
+   *
+   * @return The merged value
+   *
+   * @throws IOException          On I/O errors
+   * @throws ParsingException     On parse errors
+   * @throws InterruptedException If interrupted whilst waiting for chunks
+   *                              to be parsed
+   */
+
+  default T parseFileSplitWithContext(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final ForkJoinPool pool,
+    final int chunkSize)
+    throws IOException, ParsingException, InterruptedException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(pool, "pool");
+
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException(
+        "Chunk size %d must be positive"
+          .formatted(Integer.valueOf(chunkSize))
+      );
+    }
+
+    return SplittableParsing.parseFile(
+      this,
+      context,
+      file,
+      statusConsumer,
+      pool,
+      chunkSize
+    );
+  }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import com.io7m.jlexing.core.LexicalPosition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_ERROR;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Functions implementing the parallel parsing methods of
+ * {@link SplittableParserFactoryType}.
+ */
+
+final class SplittableParsing
+{
+  private static final int SPLIT_WINDOW = 65536;
+
+  private SplittableParsing()
+  {
+
+  }
+
+  static <C, T> T parseFile(
+    final SplittableParserFactoryType<C, T, ?> factory,
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer,
+    final ForkJoinPool pool,
+    final int chunkSize)
+    throws IOException, ParsingException, InterruptedException
+  {
+    try (var channel = FileChannel.open(file, READ)) {
+      final var bounds = split(factory, channel, chunkSize);
+
+      final var tasks = new ArrayList<Callable<Chunk<T>>>(bounds.size() / 2);
+      for (int index = 0; index < bounds.size(); index += 2) {
+        final long start = bounds.get(index).longValue();
+        final long end = bounds.get(index + 1).longValue();
+        tasks.add(() -> parseChunk(factory, context, file, channel, start, end));
+      }
+
+      final var chunks = new ArrayList<Chunk<T>>(tasks.size());
+      for (final var future : pool.invokeAll(tasks)) {
+        try {
+          chunks.add(future.get());
+        } catch (final ExecutionException e) {
+          throw rethrow(e.getCause());
+        }
+      }
+      return merge(factory, chunks, statusConsumer);
+    }
+  }
+
+  private static IOException rethrow(
+    final Throwable cause)
+  {
+    if (cause instanceof UncheckedIOException) {
+      return ((UncheckedIOException) cause).getCause();
+    }
+    if (cause instanceof IOException) {
+      return (IOException) cause;
+    }
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return new IOException(cause);
+  }
+
+  private static <T> T merge(
+    final SplittableParserFactoryType<?, T, ?> factory,
+    final List<Chunk<T>> chunks,
+    final Consumer<ParseStatus> statusConsumer)
+    throws ParsingException
+  {
+    final var values = new ArrayList<T>(chunks.size());
+    final var errors = new ArrayList<ParseStatusType>();
+    ParsingException failure = null;
+
+    long linesBefore = 0L;
+    long columnOffset = 0L;
+    for (final var chunk : chunks) {
+      final var delivered = new HashSet<ParseStatusType>();
+      for (final var status : chunk.statuses) {
+        final var remapped = remap(status, linesBefore, columnOffset);
+        statusConsumer.accept(remapped);
+        if (remapped.severity() == PARSE_ERROR) {
+          errors.add(remapped);
+          delivered.add(remapped);
+        }
+      }
+
+      if (chunk.failure != null) {
+        /*
+         * The errors carried by the exception are usually the errors that
+         * were delivered to the status consumer, but a parser may carry
+         * errors that it did not deliver.
+         */
+
+        for (final var status : chunk.failure.statusValues()) {
+          final var remapped =
+            status instanceof ParseStatus
+              ? remap((ParseStatus) status, linesBefore, columnOffset)
+              : status;
+          if (!delivered.contains(remapped)) {
+            errors.add(remapped);
+          }
+        }
+
+        if (failure == null) {
+          failure = chunk.failure;
+        } else {
+          failure.addSuppressed(chunk.failure);
+        }
+      } else {
+        values.add(chunk.value);
+      }
+
+      if (chunk.newlines > 0L) {
+        linesBefore += chunk.newlines;
+        columnOffset = chunk.tail;
+      } else {
+        columnOffset += chunk.length;
+      }
+    }
+
+    if (failure != null) {
+      throw new ParsingException(failure.getMessage(), errors, failure);
+    }
+    return factory.merge(values);
+  }
+
+  private static ParseStatus remap(
+    final ParseStatus status,
+    final long linesBefore,
+    final long columnOffset)
+  {
+    final var lexical = status.lexical();
+    final var line = lexical.line();
+    if (line <= 0 || (linesBefore == 0L && columnOffset == 0L)) {
+      return status;
+    }
+
+    final var column =
+      line == 1 ? lexical.column() + columnOffset : lexical.column();
+
+    return new ParseStatus(
+      status.severity(),
+      LexicalPosition.of(
+        Math.toIntExact(line + linesBefore),
+        Math.toIntExact(column),
+        lexical.file()
+      ),
+      status.errorCode(),
+      status.message(),
+      status.attributes(),
+      status.remediatingAction(),
+      status.exception()
+    );
+  }
+
+  private static <C, T> Chunk<T> parseChunk(
+    final SplittableParserFactoryType<C, T, ?> factory,
+    final C context,
+    final Path file,
+    final FileChannel channel,
+    final long start,
+    final long end)
+    throws IOException
+  {
+    final var buffer = channel.map(READ_ONLY, start, end - start);
+
+    long newlines = 0L;
+    int last = -1;
+    final var limit = buffer.limit();
+    for (int index = 0; index < limit; ++index) {
+      if (buffer.get(index) == '\n') {
+        newlines += 1L;
+        last = index;
+      }
+    }
+
+    final var statuses = new ArrayList<ParseStatus>();
+    final var chunk = new Chunk<T>(statuses, newlines, limit - last - 1, limit);
+    try (var parser = factory.createParserWithContext(
+      context,
+      file.toUri(),
+      new ByteBufferInputStream(buffer),
+      statuses::add)) {
+      chunk.value = parser.execute();
+    } catch (final ParsingException e) {
+      chunk.failure = e;
+    }
+    return chunk;
+  }
+
+  private static List<Long> split(
+    final SplittableParserFactoryType<?, ?, ?> factory,
+    final FileChannel channel,
+    final int chunkSize)
+    throws IOException
+  {
+    final var size = channel.size();
+    final var bounds = new ArrayList<Long>();
+
+    long start = 0L;
+    do {
+      final var target = start + chunkSize;
+      final var end = target >= size ? size : findSplit(factory, channel, target);
+      if (end - start > Integer.MAX_VALUE) {
+        throw new IOException(
+          "No split point found within %d bytes of offset %d"
+            .formatted(Integer.valueOf(Integer.MAX_VALUE), Long.valueOf(start))
+        );
+      }
+      bounds.add(Long.valueOf(start));
+      bounds.add(Long.valueOf(end));
+      start = end;
+    } while (start < size);
+
+    return bounds;
+  }
+
+  private static long findSplit(
+    final SplittableParserFactoryType<?, ?, ?> factory,
+    final FileChannel channel,
+    final long target)
+    throws IOException
+  {
+    final var size = channel.size();
+    long position = target;
+    long window = SPLIT_WINDOW;
+
+    while (position < size) {
+      final var length = Math.min(window, size - position);
+      final MappedByteBuffer region = channel.map(READ_ONLY, position, length);
+      final var offset = factory.splitPoint(region);
+      if (offset >= 0) {
+        return position + offset;
+      }
+      position += length;
+      window = Math.min(window * 2L, Integer.MAX_VALUE);
+    }
+    return size;
+  }
+
+  private static final class Chunk<T>
+  {
+    private final List<ParseStatus> statuses;
+    private final long newlines;
+    private final long tail;
+    private final long length;
+    private T value;
+    private ParsingException failure;
+
+    Chunk(
+      final List<ParseStatus> inStatuses,
+      final long inNewlines,
+      final long inTail,
+      final long inLength)
+    {
+      this.statuses = Objects.requireNonNull(inStatuses, "statuses");
+      this.newlines = inNewlines;
+      this.tail = inTail;
+      this.length = inLength;
+    }
+  }
+}
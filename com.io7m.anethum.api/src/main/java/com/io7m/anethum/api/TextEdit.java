@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.util.Objects;
+
+/**
+ * An edit to a text document: the replacement of {@code length} chars at
+ * {@code offset} with {@code replacement}. Insertions have a length of zero,
+ * and deletions have an empty replacement.
+ *
+ * @param offset      The offset of the first replaced char
+ * @param length      The number of replaced chars
+ * @param replacement The replacement text
+ *
+ * @see IncrementalParserFactoryType
+ */
+
+public record TextEdit(
+  int offset,
+  int length,
+  String replacement)
+{
+  /**
+   * An edit to a text document.
+   *
+   * @param offset      The offset of the first replaced char
+   * @param length      The number of replaced chars
+   * @param replacement The replacement text
+   */
+
+  public TextEdit
+  {
+    Objects.requireNonNull(replacement, "replacement");
+
+    if (offset < 0) {
+      throw new IllegalArgumentException(
+        "Offset %d must be non-negative".formatted(Integer.valueOf(offset))
+      );
+    }
+    if (length < 0) {
+      throw new IllegalArgumentException(
+        "Length %d must be non-negative".formatted(Integer.valueOf(length))
+      );
+    }
+  }
+
+  /**
+   * Create an insertion.
+   *
+   * @param offset The offset at which to insert text
+   * @param text   The text
+   *
+   * @return An edit
+   */
+
+  public static TextEdit insert(
+    final int offset,
+    final String text)
+  {
+    return new TextEdit(offset, 0, text);
+  }
+
+  /**
+   * Create a deletion.
+   *
+   * @param offset The offset of the first deleted char
+   * @param length The number of deleted chars
+   *
+   * @return An edit
+   */
+
+  public static TextEdit delete(
+    final int offset,
+    final int length)
+  {
+    return new TextEdit(offset, length, "");
+  }
+}
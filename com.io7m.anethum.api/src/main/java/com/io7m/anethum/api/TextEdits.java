@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import com.io7m.jlexing.core.LexicalPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Functions over lists of text edits.
+ *
+ * <p>Edits in a list are applied in order, and the offsets of each edit
+ * refer to the text produced by the edits preceding it.</p>
+ *
+ * @see TextEdit
+ */
+
+public final class TextEdits
+{
+  private TextEdits()
+  {
+
+  }
+
+  /**
+   * Apply a list of edits to the given text.
+   *
+   * @param text  The text
+   * @param edits The edits
+   *
+   * @return The edited text
+   *
+   * @throws IllegalArgumentException If an edit lies outside the text
+   */
+
+  public static String apply(
+    final CharSequence text,
+    final List<TextEdit> edits)
+  {
+    Objects.requireNonNull(text, "text");
+    Objects.requireNonNull(edits, "edits");
+
+    final var builder = new StringBuilder(text);
+    for (final var edit : edits) {
+      applyOne(builder, edit);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * <p>Carry statuses over from a previous parse of {@code text} to the text
+   * produced by applying {@code edits}.</p>
+   *
+   * <p>Statuses on lines untouched by any edit are retained, with their line
+   * numbers shifted by the number of lines inserted or removed above them.
+   * Statuses on lines touched by an edit, and statuses without a line, are
+   * discarded; a parser is expected to regenerate these when re-parsing the
+   * affected regions.</p>
+   *
+   * @param text     The previous text
+   * @param edits    The edits
+   * @param statuses The statuses produced by parsing the previous text
+   *
+   * @return The statuses that remain valid after the edits
+   *
+   * @throws IllegalArgumentException If an edit lies outside the text
+   */
+
+  public static List<ParseStatus> carryOverStatuses(
+    final CharSequence text,
+    final List<TextEdit> edits,
+    final List<ParseStatus> statuses)
+  {
+    Objects.requireNonNull(text, "text");
+    Objects.requireNonNull(edits, "edits");
+    Objects.requireNonNull(statuses, "statuses");
+
+    final var builder = new StringBuilder(text);
+    var current = new ArrayList<ParseStatus>(statuses.size());
+    for (final var status : statuses) {
+      if (status.lexical().line() > 0) {
+        current.add(status);
+      }
+    }
+
+    for (final var edit : edits) {
+      final var offset = edit.offset();
+      checkEdit(builder, edit);
+
+      final var startLine =
+        1 + countLines(builder, 0, offset);
+      final var endLine =
+        startLine + countLines(builder, offset, offset + edit.length());
+      final var delta =
+        countLines(edit.replacement(), 0, edit.replacement().length())
+        - (endLine - startLine);
+
+      final var next = new ArrayList<ParseStatus>(current.size());
+      for (final var status : current) {
+        final var line = status.lexical().line();
+        if (line < startLine) {
+          next.add(status);
+        } else if (line > endLine) {
+          next.add(shift(status, delta));
+        }
+      }
+
+      current = next;
+      applyOne(builder, edit);
+    }
+    return List.copyOf(current);
+  }
+
+  private static ParseStatus shift(
+    final ParseStatus status,
+    final int delta)
+  {
+    if (delta == 0) {
+      return status;
+    }
+
+    final var lexical = status.lexical();
+    return new ParseStatus(
+      status.severity(),
+      LexicalPosition.of(
+        lexical.line() + delta,
+        lexical.column(),
+        lexical.file()
+      ),
+      status.errorCode(),
+      status.message(),
+      status.attributes(),
+      status.remediatingAction(),
+      status.exception()
+    );
+  }
+
+  private static int countLines(
+    final CharSequence text,
+    final int start,
+    final int end)
+  {
+    int lines = 0;
+    for (int index = start; index < end; ++index) {
+      lines += text.charAt(index) == '\n' ? 1 : 0;
+    }
+    return lines;
+  }
+
+  private static void checkEdit(
+    final StringBuilder builder,
+    final TextEdit edit)
+  {
+    final var end = (long) edit.offset() + (long) edit.length();
+    if (end > builder.length()) {
+      throw new IllegalArgumentException(
+        "Edit [%d, %d) lies outside of text of length %d"
+          .formatted(
+            Integer.valueOf(edit.offset()),
+            Long.valueOf(end),
+            Integer.valueOf(builder.length()))
+      );
+    }
+  }
+
+  private static void applyOne(
+    final StringBuilder builder,
+    final TextEdit edit)
+  {
+    checkEdit(builder, edit);
+    builder.replace(
+      edit.offset(),
+      edit.offset() + edit.length(),
+      edit.replacement()
+    );
+  }
+}
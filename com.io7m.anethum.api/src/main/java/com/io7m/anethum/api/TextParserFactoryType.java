@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * <p>The type of factories for parsers of text formats.</p>
+ *
+ * <p>Implementations consume characters from a {@link Reader}. Byte streams
+ * passed to {@link #createParserWithContext(Object, URI, InputStream, Consumer)}
+ * are decoded as UTF-8 using a {@link UTF8Reader}, so that all text formats
+ * share a single decoding path, and callers that already hold text can
+ * avoid encoding it to bytes only for it to be decoded again.</p>
+ *
+ * @param <C> The type of contextual values passed to parsers
+ * @param <T> The type of parsed values
+ * @param <P> The type of parsers
+ */
+
+public interface TextParserFactoryType<C, T, P extends ParserType<T>>
+  extends ParserFactoryType<C, T, P>
+{
+  /**
+   * Create a new parser for the given reader.
+   *
+   * @param context        The parser-specific context value, if required
+   * @param source         The source
+   * @param reader         The reader
+   * @param statusConsumer A consumer of status events
+   *
+   * @return A new parser
+   */
+
+  P createParserForReaderWithContext(
+    C context,
+    URI source,
+    Reader reader,
+    Consumer<ParseStatus> statusConsumer);
+
+  @Override
+  default P createParserWithContext(
+    final C context,
+    final URI source,
+    final InputStream stream,
+    final Consumer<ParseStatus> statusConsumer)
+  {
+    Objects.requireNonNull(stream, "stream");
+
+    return this.createParserForReaderWithContext(
+      context,
+      source,
+      new UTF8Reader(stream),
+      statusConsumer
+    );
+  }
+
+  /**
+   * Create a new parser for the given text.
+   *
+   * @param context        The parser-specific context value, if required
+   * @param source         The source
+   * @param text           The text
+   * @param statusConsumer A consumer of status events
+   *
+   * @return A new parser
+   */
+
+  default P createParserForTextWithContext(
+    final C context,
+    final URI source,
+    final CharSequence text,
+    final Consumer<ParseStatus> statusConsumer)
+  {
+    Objects.requireNonNull(text, "text");
+
+    return this.createParserForReaderWithContext(
+      context,
+      source,
+      new StringReader(text.toString()),
+      statusConsumer
+    );
+  }
+
+  /**
+   * Execute a parser for the given text.
+   *
+   * @param context        The parser-specific context value, if required
+   * @param source         The source
+   * @param text           The text
+   * @param statusConsumer A consumer of status events
+   *
+   * @return The parsed value
+   *
+   * @throws ParsingException On parse errors
+   */
+
+  default T parseTextWithContext(
+    final C context,
+    final URI source,
+    final CharSequence text,
+    final Consumer<ParseStatus> statusConsumer)
+    throws ParsingException
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(text, "text");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+
+    return this.createParserForTextWithContext(
+      context,
+      source,
+      text,
+      statusConsumer
+    ).execute();
+  }
+
+  /**
+   * Execute a parser for the given text.
+   *
+   * @param source         The source
+   * @param text           The text
+   * @param statusConsumer A consumer of status events
+   *
+   * @return The parsed value
+   *
+   * @throws ParsingException On parse errors
+   */
+
+  default T parseText(
+    final URI source,
+    final CharSequence text,
+    final Consumer<ParseStatus> statusConsumer)
+    throws ParsingException
+  {
+    return this.parseTextWithContext(null, source, text, statusConsumer);
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>A reader that decodes UTF-8 from an input stream.</p>
+ *
+ * <p>Bytes are read in large blocks into a buffer drawn from
+ * {@link BufferPool#shared()}. Runs of ASCII bytes are copied directly into
+ * the caller's array, and only non-ASCII sequences are passed to a
+ * {@link CharsetDecoder}. Malformed input is replaced with U+FFFD. Unlike
+ * {@link java.io.InputStreamReader}, instances of this class perform no
+ * locking and are intended to be used by a single thread.</p>
+ */
+
+public final class UTF8Reader extends Reader
+{
+  /**
+   * The default size of the byte buffer.
+   */
+
+  public static final int DEFAULT_BUFFER_SIZE = 65536;
+
+  private final InputStream stream;
+  private final CharsetDecoder decoder;
+  private final char[] pair;
+  private byte[] bytes;
+  private ByteBuffer input;
+  private boolean endOfInput;
+  private boolean finished;
+  private int pending;
+
+  /**
+   * Create a reader.
+   *
+   * @param inStream   The underlying stream
+   * @param bufferSize The size of the byte buffer
+   */
+
+  public UTF8Reader(
+    final InputStream inStream,
+    final int bufferSize)
+  {
+    this.stream = Objects.requireNonNull(inStream, "stream");
+
+    if (bufferSize < 4) {
+      throw new IllegalArgumentException(
+        "Buffer size %d must be at least 4"
+          .formatted(Integer.valueOf(bufferSize))
+      );
+    }
+
+    this.decoder =
+      UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    this.pair = new char[2];
+    this.pending = -1;
+    this.bytes = BufferPool.shared().acquire(bufferSize);
+    this.input = ByteBuffer.wrap(this.bytes, 0, 0);
+  }
+
+  /**
+   * Create a reader with a buffer of {@link #DEFAULT_BUFFER_SIZE} bytes.
+   *
+   * @param inStream The underlying stream
+   */
+
+  public UTF8Reader(
+    final InputStream inStream)
+  {
+    this(inStream, DEFAULT_BUFFER_SIZE);
+  }
+
+  private void checkOpen()
+    throws IOException
+  {
+    if (this.bytes == null) {
+      throw new IOException("Reader is closed.");
+    }
+  }
+
+  @Override
+  public int read(
+    final char[] chars,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, chars.length);
+    this.checkOpen();
+
+    if (length == 0) {
+      return 0;
+    }
+
+    if (this.pending >= 0) {
+      chars[offset] = (char) this.pending;
+      this.pending = -1;
+      return 1;
+    }
+
+    /*
+     * A supplementary character decodes to two chars, and so a decoder
+     * cannot make progress with a single char of space. Decode into a
+     * private pair instead, and hold back the second char.
+     */
+
+    if (length == 1) {
+      final var count = this.readInto(CharBuffer.wrap(this.pair));
+      if (count <= 0) {
+        return count;
+      }
+      chars[offset] = this.pair[0];
+      if (count == 2) {
+        this.pending = this.pair[1];
+      }
+      return 1;
+    }
+
+    return this.readInto(CharBuffer.wrap(chars, offset, length));
+  }
+
+  private int readInto(
+    final CharBuffer out)
+    throws IOException
+  {
+    final var start = out.position();
+    while (true) {
+      this.decode(out);
+      final var produced = out.position() - start;
+      if (produced > 0) {
+        return produced;
+      }
+      if (this.finished) {
+        return -1;
+      }
+      this.fill();
+    }
+  }
+
+  private void decode(
+    final CharBuffer out)
+  {
+    if (this.finished) {
+      return;
+    }
+
+    final var data = this.bytes;
+    final var chars = out.array();
+    final var base = out.arrayOffset();
+    final var limit = this.input.limit();
+    final var end = base + out.limit();
+
+    var p = this.input.position();
+    var o = base + out.position();
+    while (p < limit && o < end) {
+      final var b = data[p];
+      if (b < 0) {
+        break;
+      }
+      chars[o] = (char) b;
+      ++p;
+      ++o;
+    }
+
+    this.input.position(p);
+    out.position(o - base);
+
+    if (!out.hasRemaining()) {
+      return;
+    }
+
+    final var result = this.decoder.decode(this.input, out, this.endOfInput);
+    if (this.endOfInput && result.isUnderflow()) {
+      if (this.decoder.flush(out).isUnderflow()) {
+        this.finished = true;
+      }
+    }
+  }
+
+  private void fill()
+    throws IOException
+  {
+    if (this.endOfInput) {
+      return;
+    }
+
+    this.input.compact();
+    final var position = this.input.position();
+    final var count =
+      this.stream.read(this.bytes, position, this.input.remaining());
+    if (count < 0) {
+      this.endOfInput = true;
+    } else {
+      this.input.position(position + count);
+    }
+    this.input.flip();
+  }
+
+  @Override
+  public boolean ready()
+    throws IOException
+  {
+    this.checkOpen();
+    return this.pending >= 0
+           || this.input.hasRemaining()
+           || this.stream.available() > 0;
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    final var data = this.bytes;
+    if (data == null) {
+      return;
+    }
+
+    this.bytes = null;
+    this.input = null;
+    BufferPool.shared().release(data);
+    this.stream.close();
+  }
+}
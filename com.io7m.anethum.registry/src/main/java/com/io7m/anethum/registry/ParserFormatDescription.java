@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.registry;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>A description of the format accepted by a parser factory.</p>
+ *
+ * <p>Extensions are stored in lowercase without a leading dot, and media
+ * types are stored in lowercase without parameters. Magic byte sequences are
+ * copied on construction, and {@link #magic()} returns independent read-only
+ * views of them, so neither the contents nor the positions of the stored
+ * sequences can be changed by callers.</p>
+ *
+ * @param name       The format name
+ * @param magic      The byte sequences that may appear at the start of
+ *                   documents of this format
+ * @param extensions The file name extensions used by this format
+ * @param mediaTypes The media types used by this format
+ */
+
+public record ParserFormatDescription(
+  String name,
+  List<ByteBuffer> magic,
+  Set<String> extensions,
+  Set<String> mediaTypes)
+{
+  /**
+   * A description of the format accepted by a parser factory.
+   *
+   * @param name       The format name
+   * @param magic      The byte sequences that may appear at the start of
+   *                   documents of this format
+   * @param extensions The file name extensions used by this format
+   * @param mediaTypes The media types used by this format
+   */
+
+  public ParserFormatDescription
+  {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(magic, "magic");
+    Objects.requireNonNull(extensions, "extensions");
+    Objects.requireNonNull(mediaTypes, "mediaTypes");
+
+    final var magicCopy = new ArrayList<ByteBuffer>(magic.size());
+    for (final var bytes : magic) {
+      if (!bytes.hasRemaining()) {
+        throw new IllegalArgumentException("Magic byte sequences must be non-empty.");
+      }
+      final var copy = ByteBuffer.allocate(bytes.remaining());
+      copy.put(bytes.duplicate());
+      copy.flip();
+      magicCopy.add(copy.asReadOnlyBuffer());
+    }
+    magic = List.copyOf(magicCopy);
+
+    final var extensionCopy = new HashSet<String>(extensions.size());
+    for (final var extension : extensions) {
+      extensionCopy.add(normalizeExtension(extension));
+    }
+    extensions = Set.copyOf(extensionCopy);
+
+    final var mediaTypeCopy = new HashSet<String>(mediaTypes.size());
+    for (final var mediaType : mediaTypes) {
+      mediaTypeCopy.add(normalizeMediaType(mediaType));
+    }
+    mediaTypes = Set.copyOf(mediaTypeCopy);
+  }
+
+  /**
+   * @return Read-only views of the byte sequences that may appear at the
+   * start of documents of this format; each call returns new views
+   */
+
+  @Override
+  public List<ByteBuffer> magic()
+  {
+    final var views = new ArrayList<ByteBuffer>(this.magic.size());
+    for (final var bytes : this.magic) {
+      views.add(bytes.asReadOnlyBuffer());
+    }
+    return List.copyOf(views);
+  }
+
+  /**
+   * Create a description with no magic, extensions, or media types.
+   *
+   * @param name The format name
+   *
+   * @return A description
+   */
+
+  public static ParserFormatDescription of(
+    final String name)
+  {
+    return new ParserFormatDescription(name, List.of(), Set.of(), Set.of());
+  }
+
+  static String normalizeExtension(
+    final String extension)
+  {
+    final var lower = extension.toLowerCase(Locale.ROOT);
+    return lower.startsWith(".") ? lower.substring(1) : lower;
+  }
+
+  static String normalizeMediaType(
+    final String mediaType)
+  {
+    final var semicolon = mediaType.indexOf(';');
+    final var base = semicolon >= 0 ? mediaType.substring(0, semicolon) : mediaType;
+    return base.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * @param bytes The magic byte sequence
+   *
+   * @return This description with the given magic byte sequence added
+   */
+
+  public ParserFormatDescription withMagic(
+    final byte... bytes)
+  {
+    final var newMagic = new ArrayList<>(this.magic);
+    newMagic.add(ByteBuffer.wrap(bytes.clone()));
+    return new ParserFormatDescription(
+      this.name, newMagic, this.extensions, this.mediaTypes);
+  }
+
+  /**
+   * @param extension The extension
+   *
+   * @return This description with the given extension added
+   */
+
+  public ParserFormatDescription withExtension(
+    final String extension)
+  {
+    final var newExtensions = new HashSet<>(this.extensions);
+    newExtensions.add(extension);
+    return new ParserFormatDescription(
+      this.name, this.magic, newExtensions, this.mediaTypes);
+  }
+
+  /**
+   * @param mediaType The media type
+   *
+   * @return This description with the given media type added
+   */
+
+  public ParserFormatDescription withMediaType(
+    final String mediaType)
+  {
+    final var newMediaTypes = new HashSet<>(this.mediaTypes);
+    newMediaTypes.add(mediaType);
+    return new ParserFormatDescription(
+      this.name, this.magic, this.extensions, newMediaTypes);
+  }
+}
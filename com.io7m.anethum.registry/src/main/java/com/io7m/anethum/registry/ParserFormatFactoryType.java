@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.registry;
+
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+
+/**
+ * <p>The type of parser factories that describe the format that they
+ * accept.</p>
+ *
+ * <p>Implementations may be registered as services, in which case they are
+ * discovered by {@link ParserFormatRegistry#fromServiceLoader()}.</p>
+ *
+ * @param <C> The type of contextual values passed to parsers
+ * @param <T> The type of parsed values
+ * @param <P> The type of parsers
+ */
+
+public interface ParserFormatFactoryType<C, T, P extends ParserType<T>>
+  extends ParserFactoryType<C, T, P>
+{
+  /**
+   * @return A description of the format accepted by this factory
+   */
+
+  ParserFormatDescription formatDescription();
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.registry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * <p>A registry of parser factories that selects a factory for a document
+ * by its leading bytes, its file name extension, or its media type.</p>
+ *
+ * <p>All lookup structures are built once when the registry is created: a
+ * prefix trie over the magic byte sequences of every factory, and maps from
+ * extensions and media types to factories. Where more than one factory
+ * declares the same extension, media type, or magic byte sequence, the
+ * factory that appears first wins. Magic lookups prefer the factory with the
+ * longest matching byte sequence. Registries are immutable and safe for use
+ * from multiple threads.</p>
+ */
+
+public final class ParserFormatRegistry
+{
+  private final List<ParserFormatFactoryType<?, ?, ?>> factories;
+  private final Map<String, ParserFormatFactoryType<?, ?, ?>> byExtension;
+  private final Map<String, ParserFormatFactoryType<?, ?, ?>> byMediaType;
+  private final ParserFormatTrie trie;
+
+  private ParserFormatRegistry(
+    final List<ParserFormatFactoryType<?, ?, ?>> inFactories)
+  {
+    this.factories = List.copyOf(inFactories);
+
+    final var extensions =
+      new HashMap<String, ParserFormatFactoryType<?, ?, ?>>();
+    final var mediaTypes =
+      new HashMap<String, ParserFormatFactoryType<?, ?, ?>>();
+
+    for (final var factory : this.factories) {
+      final var description = factory.formatDescription();
+      for (final var extension : description.extensions()) {
+        extensions.putIfAbsent(extension, factory);
+      }
+      for (final var mediaType : description.mediaTypes()) {
+        mediaTypes.putIfAbsent(mediaType, factory);
+      }
+    }
+
+    this.byExtension = Map.copyOf(extensions);
+    this.byMediaType = Map.copyOf(mediaTypes);
+    this.trie = ParserFormatTrie.build(this.factories);
+  }
+
+  /**
+   * Create a registry from the given factories.
+   *
+   * @param factories The factories, in order of preference
+   *
+   * @return A registry
+   */
+
+  public static ParserFormatRegistry create(
+    final Collection<? extends ParserFormatFactoryType<?, ?, ?>> factories)
+  {
+    Objects.requireNonNull(factories, "factories");
+    return new ParserFormatRegistry(new ArrayList<>(factories));
+  }
+
+  /**
+   * Create a registry from the factories available from
+   * {@link ServiceLoader}.
+   *
+   * @return A registry
+   */
+
+  public static ParserFormatRegistry fromServiceLoader()
+  {
+    final var factories = new ArrayList<ParserFormatFactoryType<?, ?, ?>>();
+    for (final var factory : ServiceLoader.load(ParserFormatFactoryType.class)) {
+      factories.add(factory);
+    }
+    return new ParserFormatRegistry(factories);
+  }
+
+  /**
+   * @return The registered factories
+   */
+
+  public List<ParserFormatFactoryType<?, ?, ?>> factories()
+  {
+    return this.factories;
+  }
+
+  /**
+   * @return The number of leading bytes required to identify any format by
+   * its magic byte sequences
+   */
+
+  public int magicLength()
+  {
+    return this.trie.depth();
+  }
+
+  /**
+   * Find a factory by file name extension.
+   *
+   * @param extension The extension, with or without a leading dot
+   *
+   * @return The factory, if any
+   */
+
+  public Optional<ParserFormatFactoryType<?, ?, ?>> findByExtension(
+    final String extension)
+  {
+    Objects.requireNonNull(extension, "extension");
+    return Optional.ofNullable(
+      this.byExtension.get(ParserFormatDescription.normalizeExtension(extension))
+    );
+  }
+
+  /**
+   * Find a factory by the extension of the given file name.
+   *
+   * @param file The file
+   *
+   * @return The factory, if any
+   */
+
+  public Optional<ParserFormatFactoryType<?, ?, ?>> findByFileName(
+    final Path file)
+  {
+    Objects.requireNonNull(file, "file");
+
+    final var fileName = file.getFileName();
+    if (fileName == null) {
+      return Optional.empty();
+    }
+    final var name = fileName.toString();
+    final var dot = name.lastIndexOf('.');
+    if (dot < 0) {
+      return Optional.empty();
+    }
+    return this.findByExtension(name.substring(dot + 1));
+  }
+
+  /**
+   * Find a factory by media type. Parameters such as {@code charset} are
+   * ignored.
+   *
+   * @param mediaType The media type
+   *
+   * @return The factory, if any
+   */
+
+  public Optional<ParserFormatFactoryType<?, ?, ?>> findByMediaType(
+    final String mediaType)
+  {
+    Objects.requireNonNull(mediaType, "mediaType");
+
+    return Optional.ofNullable(
+      this.byMediaType.get(ParserFormatDescription.normalizeMediaType(mediaType))
+    );
+  }
+
+  /**
+   * Find a factory by the leading bytes of a document.
+   *
+   * @param data   The data
+   * @param offset The offset of the first byte of the document
+   * @param length The number of bytes available
+   *
+   * @return The factory, if any
+   */
+
+  public Optional<ParserFormatFactoryType<?, ?, ?>> findByMagic(
+    final byte[] data,
+    final int offset,
+    final int length)
+  {
+    Objects.checkFromIndexSize(offset, length, data.length);
+    return this.trie.find(data, offset, length);
+  }
+
+  /**
+   * Find a factory by peeking at the leading bytes of a stream. The stream
+   * must support {@link InputStream#mark(int)}, and is reset to its current
+   * position before this method returns.
+   *
+   * @param stream The stream
+   *
+   * @return The factory, if any
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public Optional<ParserFormatFactoryType<?, ?, ?>> findByStream(
+    final InputStream stream)
+    throws IOException
+  {
+    Objects.requireNonNull(stream, "stream");
+
+    if (!stream.markSupported()) {
+      throw new IllegalArgumentException(
+        "The stream must support mark/reset.");
+    }
+
+    final var depth = this.trie.depth();
+    if (depth == 0) {
+      return Optional.empty();
+    }
+
+    stream.mark(depth);
+    try {
+      final var data = stream.readNBytes(depth);
+      return this.trie.find(data, 0, data.length);
+    } finally {
+      stream.reset();
+    }
+  }
+
+  /**
+   * Find a factory for the given file by its leading bytes, falling back to
+   * its file name extension.
+   *
+   * @param file The file
+   *
+   * @return The factory, if any
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public Optional<ParserFormatFactoryType<?, ?, ?>> findForFile(
+    final Path file)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+
+    final var depth = this.trie.depth();
+    if (depth > 0) {
+      final byte[] data;
+      try (var stream = Files.newInputStream(file)) {
+        data = stream.readNBytes(depth);
+      }
+      final var found = this.trie.find(data, 0, data.length);
+      if (found.isPresent()) {
+        return found;
+      }
+    }
+    return this.findByFileName(file);
+  }
+}
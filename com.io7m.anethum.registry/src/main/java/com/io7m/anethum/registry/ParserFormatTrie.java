@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.registry;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A prefix trie over the magic byte sequences of a set of factories.
+ */
+
+final class ParserFormatTrie
+{
+  private final Node root;
+  private final int depth;
+
+  private ParserFormatTrie(
+    final Node inRoot,
+    final int inDepth)
+  {
+    this.root = inRoot;
+    this.depth = inDepth;
+  }
+
+  static ParserFormatTrie build(
+    final List<ParserFormatFactoryType<?, ?, ?>> factories)
+  {
+    final var root = new Node();
+    int depth = 0;
+
+    for (final var factory : factories) {
+      for (final var magic : factory.formatDescription().magic()) {
+        var node = root;
+        final var limit = magic.limit();
+        for (int index = magic.position(); index < limit; ++index) {
+          node = node.child(magic.get(index) & 0xff);
+        }
+        if (node.factory == null) {
+          node.factory = factory;
+        }
+        depth = Math.max(depth, magic.remaining());
+      }
+    }
+    return new ParserFormatTrie(root, depth);
+  }
+
+  int depth()
+  {
+    return this.depth;
+  }
+
+  Optional<ParserFormatFactoryType<?, ?, ?>> find(
+    final byte[] data,
+    final int offset,
+    final int length)
+  {
+    ParserFormatFactoryType<?, ?, ?> longest = null;
+    var node = this.root;
+    final var end = offset + Math.min(length, this.depth);
+    for (int index = offset; index < end; ++index) {
+      final var children = node.children;
+      if (children == null) {
+        break;
+      }
+      node = children[data[index] & 0xff];
+      if (node == null) {
+        break;
+      }
+      if (node.factory != null) {
+        longest = node.factory;
+      }
+    }
+    return Optional.ofNullable(longest);
+  }
+
+  private static final class Node
+  {
+    private Node[] children;
+    private ParserFormatFactoryType<?, ?, ?> factory;
+
+    Node()
+    {
+
+    }
+
+    Node child(
+      final int b)
+    {
+      if (this.children == null) {
+        this.children = new Node[256];
+      }
+      var existing = this.children[b];
+      if (existing == null) {
+        existing = new Node();
+        this.children[b] = existing;
+      }
+      return existing;
+    }
+  }
+}
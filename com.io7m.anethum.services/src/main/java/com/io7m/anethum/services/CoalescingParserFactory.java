@@ -0,0 +1,348 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.services;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.api.ParsingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>A parser factory that coalesces concurrent parses of the same
+ * source.</p>
+ *
+ * <p>When a parser created by this factory is executed whilst another parser
+ * for the same source URI and context key is already executing, it does not
+ * parse its own input. It instead waits for the parse already in flight and
+ * returns the same value, or fails in the same way. Every status
+ * produced by the shared parse is replayed, in order, to the status consumer
+ * of each waiting parser. Parsers executed after a parse has completed start
+ * a new parse. Parsed values are shared between threads, and so should be
+ * immutable. A waiting parser raises its own {@link ParsingException},
+ * carrying the same status values, with the exception raised by the shared
+ * parse as its cause.</p>
+ *
+ * <p>Files opened by {@link #createParserForFileWithContext(Object, Path, Consumer)}
+ * are only opened by the parser that actually performs the parse. As
+ * {@link ParserType#execute()} cannot raise {@link IOException}, I/O errors
+ * raised when a parser opens its file are raised as
+ * {@link UncheckedIOException}. The {@code parseFile} methods unwrap these,
+ * and raise the underlying {@link IOException}.</p>
+ *
+ * @param <C> The type of contextual values passed to parsers
+ * @param <T> The type of parsed values
+ */
+
+public final class CoalescingParserFactory<C, T>
+  implements ParserFactoryType<C, T, ParserType<T>>
+{
+  private final ParserFactoryType<C, T, ?> delegate;
+  private final Function<? super C, ?> contextKey;
+  private final ConcurrentHashMap<Key, Flight<T>> inFlight;
+
+  private CoalescingParserFactory(
+    final ParserFactoryType<C, T, ?> inDelegate,
+    final Function<? super C, ?> inContextKey)
+  {
+    this.delegate = inDelegate;
+    this.contextKey = inContextKey;
+    this.inFlight = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Create a coalescing factory. Context values are compared using
+   * {@link Object#equals(Object)}.
+   *
+   * @param delegate The underlying factory
+   * @param <C>      The type of contextual values passed to parsers
+   * @param <T>      The type of parsed values
+   *
+   * @return A coalescing factory
+   */
+
+  public static <C, T> CoalescingParserFactory<C, T> create(
+    final ParserFactoryType<C, T, ?> delegate)
+  {
+    return create(delegate, Function.identity());
+  }
+
+  /**
+   * Create a coalescing factory. Parses are coalesced if their sources are
+   * equal and the keys derived from their context values are equal.
+   *
+   * @param delegate   The underlying factory
+   * @param contextKey A function that derives keys from context values
+   * @param <C>        The type of contextual values passed to parsers
+   * @param <T>        The type of parsed values
+   *
+   * @return A coalescing factory
+   */
+
+  public static <C, T> CoalescingParserFactory<C, T> create(
+    final ParserFactoryType<C, T, ?> delegate,
+    final Function<? super C, ?> contextKey)
+  {
+    return new CoalescingParserFactory<>(
+      Objects.requireNonNull(delegate, "delegate"),
+      Objects.requireNonNull(contextKey, "contextKey")
+    );
+  }
+
+  /**
+   * @return The number of parses currently in flight
+   */
+
+  public int inFlightCount()
+  {
+    return this.inFlight.size();
+  }
+
+  @Override
+  public ParserType<T> createParserWithContext(
+    final C context,
+    final URI source,
+    final InputStream stream,
+    final Consumer<ParseStatus> statusConsumer)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+
+    return new CoalescingParser(
+      context, source, () -> stream, statusConsumer, stream);
+  }
+
+  @Override
+  public ParserType<T> createParserForFileWithContext(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer)
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+
+    return new CoalescingParser(
+      context, file.toUri(), () -> Files.newInputStream(file), statusConsumer, null);
+  }
+
+  @Override
+  public T parseFileWithContext(
+    final C context,
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer)
+    throws IOException, ParsingException
+  {
+    try {
+      return ParserFactoryType.super.parseFileWithContext(
+        context, file, statusConsumer);
+    } catch (final OpenFailedException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Override
+  public T parseFileWithContext(
+    final C context,
+    final Path file)
+    throws IOException, ParsingException
+  {
+    return this.parseFileWithContext(context, file, status -> { });
+  }
+
+  private interface StreamOpenerType
+  {
+    InputStream open()
+      throws IOException;
+  }
+
+  private record Key(
+    URI source,
+    Object context)
+  {
+
+  }
+
+  /**
+   * An I/O error raised when a parser opened its file, as distinct from any
+   * {@link UncheckedIOException} raised by the underlying parser.
+   */
+
+  private static final class OpenFailedException extends UncheckedIOException
+  {
+    OpenFailedException(
+      final IOException cause)
+    {
+      super(cause);
+    }
+  }
+
+  private static final class Flight<T>
+  {
+    private final CompletableFuture<T> result;
+    private final List<ParseStatus> statuses;
+
+    Flight()
+    {
+      this.result = new CompletableFuture<>();
+      this.statuses = new ArrayList<>();
+    }
+  }
+
+  private final class CoalescingParser implements ParserType<T>
+  {
+    private final C context;
+    private final URI source;
+    private final StreamOpenerType opener;
+    private final Consumer<ParseStatus> statusConsumer;
+    private InputStream stream;
+    private ParserType<T> parser;
+
+    CoalescingParser(
+      final C inContext,
+      final URI inSource,
+      final StreamOpenerType inOpener,
+      final Consumer<ParseStatus> inStatusConsumer,
+      final InputStream inStream)
+    {
+      this.context = inContext;
+      this.source = inSource;
+      this.opener = inOpener;
+      this.statusConsumer = inStatusConsumer;
+      this.stream = inStream;
+    }
+
+    @Override
+    public T execute()
+      throws ParsingException
+    {
+      final var key =
+        new Key(this.source, CoalescingParserFactory.this.contextKey.apply(this.context));
+
+      final var flight = new Flight<T>();
+      final var existing =
+        CoalescingParserFactory.this.inFlight.putIfAbsent(key, flight);
+
+      if (existing != null) {
+        return this.follow(existing);
+      }
+      return this.lead(key, flight);
+    }
+
+    private T lead(
+      final Key key,
+      final Flight<T> flight)
+      throws ParsingException
+    {
+      final Consumer<ParseStatus> recorder = status -> {
+        synchronized (flight.statuses) {
+          flight.statuses.add(status);
+        }
+        this.statusConsumer.accept(status);
+      };
+
+      try {
+        this.stream = this.opener.open();
+        this.parser = CoalescingParserFactory.this.delegate.createParserWithContext(
+          this.context, this.source, this.stream, recorder);
+
+        final var value = this.parser.execute();
+        CoalescingParserFactory.this.inFlight.remove(key, flight);
+        flight.result.complete(value);
+        return value;
+      } catch (final IOException e) {
+        final var wrapped = new OpenFailedException(e);
+        CoalescingParserFactory.this.inFlight.remove(key, flight);
+        flight.result.completeExceptionally(wrapped);
+        throw wrapped;
+      } catch (final ParsingException | RuntimeException e) {
+        CoalescingParserFactory.this.inFlight.remove(key, flight);
+        flight.result.completeExceptionally(e);
+        throw e;
+      } finally {
+        if (!flight.result.isDone()) {
+          CoalescingParserFactory.this.inFlight.remove(key, flight);
+          flight.result.completeExceptionally(
+            new IllegalStateException("The shared parse did not complete."));
+        }
+      }
+    }
+
+    private T follow(
+      final Flight<T> flight)
+      throws ParsingException
+    {
+      try {
+        final var value = flight.result.join();
+        this.replay(flight);
+        return value;
+      } catch (final CompletionException e) {
+        this.replay(flight);
+        final var cause = e.getCause();
+        if (cause instanceof ParsingException) {
+          final var shared = (ParsingException) cause;
+          throw new ParsingException(
+            shared.getMessage(), shared.statusValues(), shared);
+        }
+        if (cause instanceof OpenFailedException) {
+          final var shared = ((OpenFailedException) cause).getCause();
+          throw new OpenFailedException(
+            new IOException(shared.getMessage(), shared));
+        }
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw e;
+      }
+    }
+
+    private void replay(
+      final Flight<T> flight)
+    {
+      final List<ParseStatus> statuses;
+      synchronized (flight.statuses) {
+        statuses = List.copyOf(flight.statuses);
+      }
+      statuses.forEach(this.statusConsumer);
+    }
+
+    @Override
+    public void close()
+      throws IOException
+    {
+      if (this.parser != null) {
+        this.parser.close();
+      } else if (this.stream != null) {
+        this.stream.close();
+      }
+    }
+  }
+}
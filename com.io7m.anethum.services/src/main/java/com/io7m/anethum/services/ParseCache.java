@@ -0,0 +1,482 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.services;
+
+import com.io7m.anethum.api.DigestingInputStream;
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.api.ParsingException;
+import com.io7m.anethum.api.SerializationException;
+import com.io7m.anethum.api.SerializerFactoryType;
+import com.io7m.anethum.status.ParseStatusBinaryFilter;
+import com.io7m.anethum.status.ParseStatusBinaryReader;
+import com.io7m.anethum.status.ParseStatusBinaryWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * <p>A persistent, content-addressed cache of parsed values.</p>
+ *
+ * <p>Entries are keyed by a SHA-256 digest of a version string and the
+ * SHA-256 digest of the content of the parsed file, and are stored in a directory using a
+ * caller-supplied serializer and parser for the cached representation,
+ * which would typically be a compact binary format that is much cheaper to
+ * parse than the original. The statuses produced by the original parse are
+ * stored alongside each value, in the binary status log format, and are
+ * replayed whenever the value is loaded from the cache. The version string
+ * should change whenever the parser or the cached representation changes,
+ * so that stale entries are never loaded.</p>
+ *
+ * <p>Only successful parses are cached. Entries are written to temporary
+ * files and atomically renamed into place, so that caches may be shared
+ * between processes. When the total size of the cache exceeds its limit,
+ * the least recently used entries are deleted. Failures to read or write
+ * entries are not reported to callers; unreadable entries are deleted and
+ * the file is parsed again. The key of a new entry is computed from the
+ * same bytes that the parser consumed, so a file that changes while it is
+ * being parsed cannot cause a value to be stored under the key of content
+ * that it was not parsed from.</p>
+ *
+ * @param <T> The type of parsed values
+ */
+
+public final class ParseCache<T>
+{
+  private static final String VALUE_SUFFIX = ".value";
+  private static final String STATUS_SUFFIX = ".statuses";
+
+  private final ParseFunctionType<T> parse;
+  private final ReadFunctionType<T> read;
+  private final WriteFunctionType<T> write;
+  private final Path directory;
+  private final byte[] version;
+  private final long maximumBytes;
+  private final AtomicLong size;
+  private final AtomicLong hits;
+  private final AtomicLong misses;
+
+  private ParseCache(
+    final ParseFunctionType<T> inParse,
+    final ReadFunctionType<T> inRead,
+    final WriteFunctionType<T> inWrite,
+    final Path inDirectory,
+    final String inVersion,
+    final long inMaximumBytes)
+  {
+    this.parse = inParse;
+    this.read = inRead;
+    this.write = inWrite;
+    this.directory = inDirectory;
+    this.version = (inVersion + '\0').getBytes(UTF_8);
+    this.maximumBytes = inMaximumBytes;
+    this.size = new AtomicLong();
+    this.hits = new AtomicLong();
+    this.misses = new AtomicLong();
+  }
+
+  /**
+   * Create a cache, creating the cache directory if necessary.
+   *
+   * @param parsers          The parser factory for original files
+   * @param context          The parser-specific context value, if required
+   * @param cacheParsers     The parser factory for cached values
+   * @param cacheSerializers The serializer factory for cached values
+   * @param directory        The cache directory
+   * @param version          The version of the parser and cached
+   *                         representation
+   * @param maximumBytes     The maximum size of the cache
+   * @param <C>              The type of parser context values
+   * @param <T>              The type of parsed values
+   *
+   * @return A cache
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static <C, T> ParseCache<T> create(
+    final ParserFactoryType<C, T, ?> parsers,
+    final C context,
+    final ParserFactoryType<?, T, ?> cacheParsers,
+    final SerializerFactoryType<?, T, ?> cacheSerializers,
+    final Path directory,
+    final String version,
+    final long maximumBytes)
+    throws IOException
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(cacheParsers, "cacheParsers");
+    Objects.requireNonNull(cacheSerializers, "cacheSerializers");
+    Objects.requireNonNull(directory, "directory");
+    Objects.requireNonNull(version, "version");
+
+    if (maximumBytes <= 0L) {
+      throw new IllegalArgumentException(
+        "Maximum size %d must be positive"
+          .formatted(Long.valueOf(maximumBytes))
+      );
+    }
+
+    Files.createDirectories(directory);
+
+    final var cache = new ParseCache<T>(
+      (file, stream, statusConsumer) -> {
+        return parsers.createParserWithContext(
+          context,
+          file.toUri(),
+          stream,
+          statusConsumer
+        );
+      },
+      cacheParsers::parseFile,
+      cacheSerializers::serializeFile,
+      directory,
+      version,
+      maximumBytes
+    );
+    cache.evict(true);
+    return cache;
+  }
+
+  /**
+   * @return The number of values loaded from the cache
+   */
+
+  public long hits()
+  {
+    return this.hits.get();
+  }
+
+  /**
+   * @return The number of files that were not present in the cache
+   */
+
+  public long misses()
+  {
+    return this.misses.get();
+  }
+
+  /**
+   * @return The approximate total size of the cache in bytes
+   */
+
+  public long sizeBytes()
+  {
+    return this.size.get();
+  }
+
+  /**
+   * Parse the given file, or load the value parsed from an identical file
+   * from the cache.
+   *
+   * @param file           The file
+   * @param statusConsumer A consumer of status events
+   *
+   * @return The parsed value
+   *
+   * @throws IOException      On I/O errors
+   * @throws ParsingException On parse errors
+   */
+
+  public T parseFile(
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer)
+    throws IOException, ParsingException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+
+    final String key;
+    try (var stream = new DigestingInputStream(
+      Files.newInputStream(file), "SHA-256")) {
+      stream.drain();
+      key = this.key(stream.digest());
+    }
+
+    final var valueFile = this.directory.resolve(key + VALUE_SUFFIX);
+    final var statusFile = this.directory.resolve(key + STATUS_SUFFIX);
+
+    if (Files.isRegularFile(valueFile)) {
+      try {
+        final var statuses = new ArrayList<ParseStatus>();
+        try (var reader = ParseStatusBinaryReader.open(statusFile)) {
+          reader.forEach(ParseStatusBinaryFilter.all(), statuses::add);
+        }
+        final var value = this.read.read(valueFile);
+        Files.setLastModifiedTime(valueFile, FileTime.from(Instant.now()));
+        this.hits.incrementAndGet();
+        statuses.forEach(statusConsumer);
+        return value;
+      } catch (final IOException | ParsingException | RuntimeException e) {
+        this.delete(valueFile, statusFile);
+      }
+    }
+
+    this.misses.incrementAndGet();
+    return this.parseAndStore(file, statusConsumer);
+  }
+
+  private T parseAndStore(
+    final Path file,
+    final Consumer<ParseStatus> statusConsumer)
+    throws IOException, ParsingException
+  {
+    final var statuses = new ArrayList<ParseStatus>();
+    final Consumer<ParseStatus> recorder = status -> {
+      statuses.add(status);
+      statusConsumer.accept(status);
+    };
+
+    final T value;
+    String parsedKey = null;
+    try (var stream = new DigestingInputStream(
+      Files.newInputStream(file), "SHA-256")) {
+      try (var parser = this.parse.create(file, stream, recorder)) {
+        value = parser.execute();
+        try {
+          stream.drain();
+          parsedKey = this.key(stream.digest());
+        } catch (final IOException e) {
+          // The parsed content cannot be identified, so it is not cached.
+        }
+      }
+    }
+
+    if (parsedKey != null) {
+      try {
+        this.store(
+          parsedKey,
+          this.directory.resolve(parsedKey + VALUE_SUFFIX),
+          this.directory.resolve(parsedKey + STATUS_SUFFIX),
+          value,
+          statuses
+        );
+        this.evict(false);
+      } catch (final IOException
+                     | SerializationException
+                     | RuntimeException e) {
+        // Failing to populate the cache does not cause parsing to fail.
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Delete every entry in the cache.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public void clear()
+    throws IOException
+  {
+    synchronized (this.size) {
+      for (final var entry : this.entries()) {
+        this.delete(entry.valueFile(), entry.statusFile());
+      }
+      this.size.set(0L);
+    }
+  }
+
+  private String key(
+    final byte[] contentDigest)
+  {
+    try {
+      final var digest = MessageDigest.getInstance("SHA-256");
+      digest.update(this.version);
+      digest.update(contentDigest);
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private void store(
+    final String key,
+    final Path valueFile,
+    final Path statusFile,
+    final T value,
+    final List<ParseStatus> statuses)
+    throws IOException, SerializationException
+  {
+    Path statusTemp = null;
+    Path valueTemp = null;
+
+    try {
+      statusTemp = Files.createTempFile(this.directory, key, ".tmp");
+      valueTemp = Files.createTempFile(this.directory, key, ".tmp");
+
+      try (var writer = ParseStatusBinaryWriter.open(statusTemp)) {
+        for (final var status : statuses) {
+          writer.write(status);
+        }
+      }
+      this.write.write(valueTemp, value);
+
+      /*
+       * An existing entry for the same key (written by another thread or
+       * process) is replaced, and so its size must not be counted twice.
+       */
+
+      final var bytes = Files.size(statusTemp) + Files.size(valueTemp);
+      final var replaced = sizeIfExists(statusFile) + sizeIfExists(valueFile);
+      Files.move(statusTemp, statusFile, ATOMIC_MOVE, REPLACE_EXISTING);
+      Files.move(valueTemp, valueFile, ATOMIC_MOVE, REPLACE_EXISTING);
+      this.size.addAndGet(bytes - replaced);
+    } finally {
+      if (statusTemp != null) {
+        Files.deleteIfExists(statusTemp);
+      }
+      if (valueTemp != null) {
+        Files.deleteIfExists(valueTemp);
+      }
+    }
+  }
+
+  private static long sizeIfExists(
+    final Path file)
+    throws IOException
+  {
+    try {
+      return Files.size(file);
+    } catch (final NoSuchFileException e) {
+      return 0L;
+    }
+  }
+
+  private void evict(
+    final boolean always)
+    throws IOException
+  {
+    if (!always && this.size.get() <= this.maximumBytes) {
+      return;
+    }
+
+    synchronized (this.size) {
+      final var entries = this.entries();
+      entries.sort(Comparator.comparing(Entry::time));
+
+      long total = 0L;
+      for (final var entry : entries) {
+        total += entry.bytes();
+      }
+      for (final var entry : entries) {
+        if (total <= this.maximumBytes) {
+          break;
+        }
+        this.delete(entry.valueFile(), entry.statusFile());
+        total -= entry.bytes();
+      }
+      this.size.set(total);
+    }
+  }
+
+  private List<Entry> entries()
+    throws IOException
+  {
+    final var entries = new ArrayList<Entry>();
+    try (var stream =
+           Files.newDirectoryStream(this.directory, "*" + VALUE_SUFFIX)) {
+      for (final var valueFile : stream) {
+        final var name = valueFile.getFileName().toString();
+        final var key =
+          name.substring(0, name.length() - VALUE_SUFFIX.length());
+        final var statusFile = this.directory.resolve(key + STATUS_SUFFIX);
+
+        try {
+          final var time = Files.getLastModifiedTime(valueFile);
+          var bytes = Files.size(valueFile);
+          if (Files.isRegularFile(statusFile)) {
+            bytes += Files.size(statusFile);
+          }
+          entries.add(new Entry(valueFile, statusFile, time, bytes));
+        } catch (final NoSuchFileException e) {
+          // The entry was deleted concurrently.
+        }
+      }
+    }
+    return entries;
+  }
+
+  private void delete(
+    final Path valueFile,
+    final Path statusFile)
+  {
+    try {
+      final var valueBytes = sizeIfExists(valueFile);
+      if (Files.deleteIfExists(valueFile)) {
+        this.size.addAndGet(-valueBytes);
+      }
+      final var statusBytes = sizeIfExists(statusFile);
+      if (Files.deleteIfExists(statusFile)) {
+        this.size.addAndGet(-statusBytes);
+      }
+    } catch (final IOException e) {
+      // The entry will be retried on the next eviction.
+    }
+  }
+
+  private record Entry(
+    Path valueFile,
+    Path statusFile,
+    FileTime time,
+    long bytes)
+  {
+
+  }
+
+  private interface ParseFunctionType<T>
+  {
+    ParserType<T> create(
+      Path file,
+      InputStream stream,
+      Consumer<ParseStatus> statusConsumer);
+  }
+
+  private interface ReadFunctionType<T>
+  {
+    T read(Path file)
+      throws IOException, ParsingException;
+  }
+
+  private interface WriteFunctionType<T>
+  {
+    void write(
+      Path file,
+      T value)
+      throws IOException, SerializationException;
+  }
+}
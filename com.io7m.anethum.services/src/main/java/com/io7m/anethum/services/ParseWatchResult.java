@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.services;
+
+import com.io7m.anethum.api.ParseStatus;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The result of re-parsing a watched file.
+ *
+ * @param file      The file
+ * @param value     The parsed value, if parsing succeeded
+ * @param statuses  The statuses produced during parsing
+ * @param exception The exception raised, if parsing failed
+ * @param <T>       The type of parsed values
+ *
+ * @see ParseWatchService
+ */
+
+public record ParseWatchResult<T>(
+  Path file,
+  Optional<T> value,
+  List<ParseStatus> statuses,
+  Optional<Exception> exception)
+{
+  /**
+   * The result of re-parsing a watched file.
+   *
+   * @param file      The file
+   * @param value     The parsed value, if parsing succeeded
+   * @param statuses  The statuses produced during parsing
+   * @param exception The exception raised, if parsing failed
+   */
+
+  public ParseWatchResult
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(value, "value");
+    statuses = List.copyOf(Objects.requireNonNull(statuses, "statuses"));
+    Objects.requireNonNull(exception, "exception");
+  }
+
+  /**
+   * @return {@code true} if parsing succeeded
+   */
+
+  public boolean isSuccessful()
+  {
+    return this.value.isPresent();
+  }
+}
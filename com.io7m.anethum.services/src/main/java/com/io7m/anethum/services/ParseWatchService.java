@@ -0,0 +1,492 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.services;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParsingException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * <p>A service that watches files for changes and re-parses them.</p>
+ *
+ * <p>Files and directories are registered with a {@link WatchService}.
+ * Registering a directory watches every regular file directly inside it;
+ * subdirectories are not watched. Each file is parsed once on registration,
+ * and again whenever it is created, modified, or deleted. Bursts of events
+ * for the same file are debounced: a file is re-parsed only once no further
+ * events have arrived for it within the debounce period.</p>
+ *
+ * <p>Parsing is performed on a caller-supplied executor, which may be
+ * bounded. A given file is never parsed by more than one thread at a time;
+ * changes that arrive whilst a file is being parsed cause it to be parsed
+ * again afterwards. The most recent result for each file is cached, and the
+ * cached result is discarded as soon as a change to the file is observed.
+ * Each result is published to all subscribers, which may be called from
+ * any thread. Exceptions raised by subscribers are ignored.</p>
+ *
+ * @param <T> The type of parsed values
+ */
+
+public final class ParseWatchService<T> implements Closeable
+{
+  private final ParseFunctionType<T> parse;
+  private final WatchService watcher;
+  private final ScheduledExecutorService scheduler;
+  private final Executor executor;
+  private final long debounceNanos;
+  private final ConcurrentHashMap<Path, Directory> directories;
+  private final ConcurrentHashMap<Path, FileState> files;
+  private final ConcurrentHashMap<Path, ParseWatchResult<T>> results;
+  private final CopyOnWriteArrayList<Consumer<ParseWatchResult<T>>> subscribers;
+  private final Thread thread;
+  private volatile boolean closed;
+
+  private ParseWatchService(
+    final ParseFunctionType<T> inParse,
+    final WatchService inWatcher,
+    final ScheduledExecutorService inScheduler,
+    final Executor inExecutor,
+    final long inDebounceNanos)
+  {
+    this.parse = inParse;
+    this.watcher = inWatcher;
+    this.scheduler = inScheduler;
+    this.executor = inExecutor;
+    this.debounceNanos = inDebounceNanos;
+    this.directories = new ConcurrentHashMap<>();
+    this.files = new ConcurrentHashMap<>();
+    this.results = new ConcurrentHashMap<>();
+    this.subscribers = new CopyOnWriteArrayList<>();
+    this.thread = new Thread(this::watch, "com.io7m.anethum.services.watch");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Create a watch service.
+   *
+   * @param parsers   The parser factory
+   * @param context   The parser-specific context value, if required
+   * @param scheduler The executor used to time debounce periods
+   * @param executor  The executor used for parsing
+   * @param debounce  The debounce period
+   * @param <C>       The type of parser context values
+   * @param <T>       The type of parsed values
+   *
+   * @return A watch service
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static <C, T> ParseWatchService<T> create(
+    final ParserFactoryType<C, T, ?> parsers,
+    final C context,
+    final ScheduledExecutorService scheduler,
+    final Executor executor,
+    final Duration debounce)
+    throws IOException
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(scheduler, "scheduler");
+    Objects.requireNonNull(executor, "executor");
+    Objects.requireNonNull(debounce, "debounce");
+
+    if (debounce.isNegative()) {
+      throw new IllegalArgumentException(
+        "Debounce period %s must be non-negative".formatted(debounce)
+      );
+    }
+
+    final var service = new ParseWatchService<T>(
+      (file, statusConsumer) -> {
+        return parsers.parseFileWithContext(context, file, statusConsumer);
+      },
+      FileSystems.getDefault().newWatchService(),
+      scheduler,
+      executor,
+      debounce.toNanos()
+    );
+    service.thread.start();
+    return service;
+  }
+
+  /**
+   * Add a subscriber that will receive every subsequent result.
+   *
+   * @param subscriber The subscriber
+   */
+
+  public void subscribe(
+    final Consumer<ParseWatchResult<T>> subscriber)
+  {
+    this.subscribers.add(Objects.requireNonNull(subscriber, "subscriber"));
+  }
+
+  /**
+   * Remove a subscriber.
+   *
+   * @param subscriber The subscriber
+   */
+
+  public void unsubscribe(
+    final Consumer<ParseWatchResult<T>> subscriber)
+  {
+    this.subscribers.remove(Objects.requireNonNull(subscriber, "subscriber"));
+  }
+
+  /**
+   * Retrieve the most recent result for the given file. No result is
+   * available until the file has been parsed after the most recently
+   * observed change.
+   *
+   * @param file The file
+   *
+   * @return The most recent result, if any
+   */
+
+  public Optional<ParseWatchResult<T>> result(
+    final Path file)
+  {
+    return Optional.ofNullable(
+      this.results.get(file.toAbsolutePath().normalize())
+    );
+  }
+
+  /**
+   * Watch the given file, or every regular file directly inside the given
+   * directory.
+   *
+   * @param path The file or directory
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public void register(
+    final Path path)
+    throws IOException
+  {
+    Objects.requireNonNull(path, "path");
+
+    if (this.closed) {
+      throw new IllegalStateException("Watch service is closed.");
+    }
+
+    final var absolute = path.toAbsolutePath().normalize();
+    if (Files.isDirectory(absolute)) {
+      this.directory(absolute).all = true;
+      try (var entries = Files.list(absolute)) {
+        entries.filter(Files::isRegularFile).forEach(this::changed);
+      }
+      return;
+    }
+
+    final var parent = absolute.getParent();
+    if (parent == null) {
+      throw new IOException("Path %s has no parent.".formatted(absolute));
+    }
+    this.directory(parent).names.add(absolute);
+    this.changed(absolute);
+  }
+
+  private synchronized Directory directory(
+    final Path directory)
+    throws IOException
+  {
+    final var existing = this.directories.get(directory);
+    if (existing != null) {
+      return existing;
+    }
+
+    directory.register(
+      this.watcher,
+      ENTRY_CREATE,
+      ENTRY_MODIFY,
+      ENTRY_DELETE
+    );
+
+    final var created = new Directory();
+    this.directories.put(directory, created);
+    return created;
+  }
+
+  private void watch()
+  {
+    while (!this.closed) {
+      final WatchKey key;
+      try {
+        key = this.watcher.take();
+      } catch (final ClosedWatchServiceException e) {
+        return;
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      final var directory = (Path) key.watchable();
+      final var state = this.directories.get(directory);
+      if (state != null) {
+        for (final var event : key.pollEvents()) {
+          if (event.kind() == OVERFLOW) {
+            this.rescan(directory, state);
+          } else {
+            final var file = directory.resolve((Path) event.context());
+            if (state.watches(file) && !Files.isDirectory(file)) {
+              this.changed(file);
+            }
+          }
+        }
+      }
+      key.reset();
+    }
+  }
+
+  private void rescan(
+    final Path directory,
+    final Directory state)
+  {
+    for (final var file : this.files.keySet()) {
+      if (directory.equals(file.getParent())) {
+        this.changed(file);
+      }
+    }
+
+    if (state.all) {
+      try (var entries = Files.list(directory)) {
+        entries.filter(Files::isRegularFile).forEach(this::changed);
+      } catch (final IOException e) {
+        // The directory has become unreadable; nothing further can be done.
+      }
+    }
+  }
+
+  private void changed(
+    final Path file)
+  {
+    if (this.closed) {
+      return;
+    }
+
+    final var state = this.files.computeIfAbsent(file, k -> new FileState());
+    synchronized (state) {
+      ++state.generation;
+      this.results.remove(file);
+      if (state.pending != null) {
+        state.pending.cancel(false);
+      }
+      try {
+        state.pending = this.scheduler.schedule(
+          () -> this.debounced(file, state),
+          this.debounceNanos,
+          NANOSECONDS
+        );
+      } catch (final RejectedExecutionException e) {
+        state.pending = null;
+      }
+    }
+  }
+
+  private void debounced(
+    final Path file,
+    final FileState state)
+  {
+    synchronized (state) {
+      state.pending = null;
+      if (state.running) {
+        state.dirty = true;
+        return;
+      }
+      state.running = true;
+    }
+    this.submit(file, state);
+  }
+
+  private void submit(
+    final Path file,
+    final FileState state)
+  {
+    try {
+      this.executor.execute(() -> this.run(file, state));
+    } catch (final RejectedExecutionException e) {
+      synchronized (state) {
+        state.running = false;
+      }
+    }
+  }
+
+  private void run(
+    final Path file,
+    final FileState state)
+  {
+    try {
+      if (!this.closed) {
+        final long generation;
+        synchronized (state) {
+          generation = state.generation;
+        }
+
+        final var result = this.parseNow(file);
+
+        /*
+         * A result is only current if no change arrived while the file was
+         * being parsed; otherwise, the file will be parsed again shortly.
+         */
+
+        final boolean current;
+        synchronized (state) {
+          current = state.generation == generation;
+          if (current) {
+            this.results.put(file, result);
+          }
+        }
+        if (current) {
+          this.publish(result);
+        }
+      }
+    } finally {
+      final boolean again;
+      synchronized (state) {
+        again = state.dirty && !this.closed;
+        state.dirty = false;
+        state.running = again;
+      }
+      if (again) {
+        this.submit(file, state);
+      }
+    }
+  }
+
+  private ParseWatchResult<T> parseNow(
+    final Path file)
+  {
+    final var statuses = new ArrayList<ParseStatus>();
+    try {
+      final var value = this.parse.parse(file, statuses::add);
+      return new ParseWatchResult<>(
+        file,
+        Optional.of(value),
+        statuses,
+        Optional.empty()
+      );
+    } catch (final IOException | ParsingException | RuntimeException e) {
+      return new ParseWatchResult<>(
+        file,
+        Optional.empty(),
+        statuses,
+        Optional.of(e)
+      );
+    }
+  }
+
+  private void publish(
+    final ParseWatchResult<T> result)
+  {
+    for (final var subscriber : this.subscribers) {
+      try {
+        subscriber.accept(result);
+      } catch (final RuntimeException e) {
+        // Subscribers are not permitted to interfere with each other.
+      }
+    }
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+
+    try {
+      this.watcher.close();
+    } finally {
+      for (final var state : this.files.values()) {
+        synchronized (state) {
+          if (state.pending != null) {
+            state.pending.cancel(false);
+            state.pending = null;
+          }
+        }
+      }
+    }
+  }
+
+  private static final class Directory
+  {
+    private final Set<Path> names;
+    private volatile boolean all;
+
+    Directory()
+    {
+      this.names = ConcurrentHashMap.newKeySet();
+    }
+
+    boolean watches(
+      final Path file)
+    {
+      return this.all || this.names.contains(file);
+    }
+  }
+
+  private static final class FileState
+  {
+    private ScheduledFuture<?> pending;
+    private long generation;
+    private boolean running;
+    private boolean dirty;
+
+    FileState()
+    {
+
+    }
+  }
+
+  private interface ParseFunctionType<T>
+  {
+    T parse(
+      Path file,
+      Consumer<ParseStatus> statusConsumer)
+      throws IOException, ParsingException;
+  }
+}
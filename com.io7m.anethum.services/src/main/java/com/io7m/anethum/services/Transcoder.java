@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.services;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParsingException;
+import com.io7m.anethum.api.SerializationBatchResult;
+import com.io7m.anethum.api.SerializationException;
+import com.io7m.anethum.api.SerializerFactoryType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * <p>A transcoder that converts files from one format to another by
+ * connecting a parser factory to a serializer factory of the same value
+ * type.</p>
+ *
+ * <p>When transcoding batches of files, documents are parsed on one executor
+ * and serialized on another, so that reading and parsing one document
+ * overlaps with writing another. The number of documents that have been
+ * submitted for parsing but not yet written is bounded, which bounds the
+ * number of parsed values held in memory at any one time.</p>
+ *
+ * @param <T> The type of values
+ */
+
+public final class Transcoder<T>
+{
+  private final ParseFunctionType<T> parse;
+  private final SerializeFunctionType<T> serialize;
+
+  private Transcoder(
+    final ParseFunctionType<T> inParse,
+    final SerializeFunctionType<T> inSerialize)
+  {
+    this.parse = inParse;
+    this.serialize = inSerialize;
+  }
+
+  /**
+   * Create a transcoder.
+   *
+   * @param parsers            The parser factory
+   * @param parserContext      The parser-specific context value, if required
+   * @param serializers        The serializer factory
+   * @param serializerContext  The serializer-specific context value, if
+   *                           required
+   * @param <CP>               The type of parser context values
+   * @param <CS>               The type of serializer context values
+   * @param <T>                The type of values
+   *
+   * @return A transcoder
+   */
+
+  public static <CP, CS, T> Transcoder<T> create(
+    final ParserFactoryType<CP, T, ?> parsers,
+    final CP parserContext,
+    final SerializerFactoryType<CS, T, ?> serializers,
+    final CS serializerContext)
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(serializers, "serializers");
+
+    return new Transcoder<>(
+      (file, statusConsumer) -> {
+        return parsers.parseFileWithContext(
+          parserContext,
+          file,
+          statusConsumer
+        );
+      },
+      (file, value) -> {
+        serializers.serializeFileWithContext(serializerContext, file, value);
+      }
+    );
+  }
+
+  /**
+   * Transcode a single file on the calling thread.
+   *
+   * @param input          The input file
+   * @param output         The output file
+   * @param statusConsumer A consumer of status events
+   *
+   * @throws IOException            On I/O errors
+   * @throws ParsingException       On parse errors
+   * @throws SerializationException On serialization errors
+   */
+
+  public void transcodeFile(
+    final Path input,
+    final Path output,
+    final Consumer<ParseStatus> statusConsumer)
+    throws IOException, ParsingException, SerializationException
+  {
+    Objects.requireNonNull(input, "input");
+    Objects.requireNonNull(output, "output");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+
+    this.serialize.serialize(output, this.parse.parse(input, statusConsumer));
+  }
+
+  /**
+   * <p>Transcode each of the given input files to its corresponding output
+   * file.</p>
+   *
+   * <p>Input files are parsed on {@code parseExecutor}, and output files are
+   * written on {@code writeExecutor}. At most {@code maximumInFlight} files
+   * are in progress (being parsed, waiting to be written, or being written)
+   * at any one time. Status events from all parsers are passed to
+   * {@code statusConsumer}, which is never called by more than one thread
+   * at a time. A failure to transcode one file does not prevent other files
+   * from being transcoded. The method returns when every file has either
+   * been transcoded or has failed.</p>
+   *
+   * @param files           The input files and their output files
+   * @param statusConsumer  A consumer of status events
+   * @param parseExecutor   The executor used for parsing
+   * @param writeExecutor   The executor used for serialization
+   * @param maximumInFlight The maximum number of files in progress
+   *
+   * @return The result of transcoding each file, keyed by input file
+   *
+   * @throws InterruptedException If interrupted whilst waiting for files to
+   *                              be transcoded
+   */
+
+  public SerializationBatchResult transcodeFiles(
+    final Map<Path, Path> files,
+    final Consumer<ParseStatus> statusConsumer,
+    final Executor parseExecutor,
+    final Executor writeExecutor,
+    final int maximumInFlight)
+    throws InterruptedException
+  {
+    Objects.requireNonNull(files, "files");
+    Objects.requireNonNull(statusConsumer, "statusConsumer");
+    Objects.requireNonNull(parseExecutor, "parseExecutor");
+    Objects.requireNonNull(writeExecutor, "writeExecutor");
+
+    if (maximumInFlight <= 0) {
+      throw new IllegalArgumentException(
+        "Maximum in-flight count %d must be positive"
+          .formatted(Integer.valueOf(maximumInFlight))
+      );
+    }
+
+    final var statusLock = new Object();
+    final Consumer<ParseStatus> serialStatus = status -> {
+      synchronized (statusLock) {
+        statusConsumer.accept(status);
+      }
+    };
+
+    final var results =
+      new HashMap<Path, CompletableFuture<?>>(files.size());
+    final var permits =
+      new Semaphore(maximumInFlight);
+
+    for (final var entry : files.entrySet()) {
+      final var input =
+        Objects.requireNonNull(entry.getKey(), "input");
+      final var output =
+        Objects.requireNonNull(entry.getValue(), "output");
+
+      permits.acquire();
+      try {
+        final var future = CompletableFuture.supplyAsync(() -> {
+          try {
+            return this.parse.parse(input, serialStatus);
+          } catch (final IOException | ParsingException e) {
+            throw new CompletionException(e);
+          }
+        }, parseExecutor).thenAcceptAsync(value -> {
+          try {
+            this.serialize.serialize(output, value);
+          } catch (final IOException | SerializationException e) {
+            throw new CompletionException(e);
+          }
+        }, writeExecutor).whenComplete((ignored, exception) -> {
+          permits.release();
+        });
+        results.put(input, future);
+      } catch (final RejectedExecutionException e) {
+        results.put(input, CompletableFuture.failedFuture(e));
+        permits.release();
+      }
+    }
+
+    permits.acquire(maximumInFlight);
+    permits.release(maximumInFlight);
+    return SerializationBatchResult.ofFutures(results);
+  }
+
+  private interface ParseFunctionType<T>
+  {
+    T parse(
+      Path file,
+      Consumer<ParseStatus> statusConsumer)
+      throws IOException, ParsingException;
+  }
+
+  private interface SerializeFunctionType<T>
+  {
+    void serialize(
+      Path file,
+      T value)
+      throws IOException, SerializationException;
+  }
+}
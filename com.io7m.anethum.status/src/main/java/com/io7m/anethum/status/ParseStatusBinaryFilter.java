@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.status;
+
+import com.io7m.anethum.api.ParseSeverity;
+
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A filter applied to the status values in a binary status log.
+ *
+ * @param severities The severities that will be accepted
+ * @param errorCode  The error code that will be accepted, if any
+ * @param source     The source that will be accepted, if any
+ */
+
+public record ParseStatusBinaryFilter(
+  Set<ParseSeverity> severities,
+  Optional<String> errorCode,
+  Optional<URI> source)
+{
+  /**
+   * A filter applied to the status values in a binary status log.
+   *
+   * @param severities The severities that will be accepted
+   * @param errorCode  The error code that will be accepted, if any
+   * @param source     The source that will be accepted, if any
+   */
+
+  public ParseStatusBinaryFilter
+  {
+    Objects.requireNonNull(severities, "severities");
+    Objects.requireNonNull(errorCode, "errorCode");
+    Objects.requireNonNull(source, "source");
+
+    severities = Set.copyOf(severities);
+  }
+
+  /**
+   * @return A filter that accepts everything
+   */
+
+  public static ParseStatusBinaryFilter all()
+  {
+    return new ParseStatusBinaryFilter(
+      EnumSet.allOf(ParseSeverity.class),
+      Optional.empty(),
+      Optional.empty()
+    );
+  }
+
+  /**
+   * @param newSeverities The severities that will be accepted
+   *
+   * @return This filter with the given severities
+   */
+
+  public ParseStatusBinaryFilter withSeverities(
+    final Set<ParseSeverity> newSeverities)
+  {
+    return new ParseStatusBinaryFilter(
+      newSeverities,
+      this.errorCode,
+      this.source
+    );
+  }
+
+  /**
+   * @param newErrorCode The error code that will be accepted
+   *
+   * @return This filter with the given error code
+   */
+
+  public ParseStatusBinaryFilter withErrorCode(
+    final String newErrorCode)
+  {
+    return new ParseStatusBinaryFilter(
+      this.severities,
+      Optional.of(newErrorCode),
+      this.source
+    );
+  }
+
+  /**
+   * @param newSource The source that will be accepted
+   *
+   * @return This filter with the given source
+   */
+
+  public ParseStatusBinaryFilter withSource(
+    final URI newSource)
+  {
+    return new ParseStatusBinaryFilter(
+      this.severities,
+      this.errorCode,
+      Optional.of(newSource)
+    );
+  }
+}
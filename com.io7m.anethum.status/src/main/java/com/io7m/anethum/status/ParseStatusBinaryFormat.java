@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.status;
+
+import com.io7m.anethum.api.ParseSeverity;
+
+import java.io.IOException;
+
+/**
+ * <p>Constants describing the binary status log format.</p>
+ *
+ * <p>A log begins with a header consisting of the four byte magic number
+ * {@link #MAGIC} followed by the four byte format version {@link #VERSION}.
+ * The header is followed by a sequence of records, each of which begins with
+ * a one byte tag. All integers are big-endian.</p>
+ *
+ * <ul>
+ *   <li>{@link #TAG_STRING}: A string table entry. A four byte length
+ *   followed by that many bytes of UTF-8. String table entries are
+ *   implicitly numbered from zero in the order in which they appear.</li>
+ *   <li>{@link #TAG_STATUS}: A status value. A fixed-width section of
+ *   {@link #STATUS_FIXED_SIZE} bytes (severity, line, column, and the string
+ *   table indices of the source, error code, message, remediating action,
+ *   and exception summary, followed by a two byte attribute count), followed
+ *   by pairs of string table indices for each attribute. The index
+ *   {@link #NO_STRING} denotes an absent value.</li>
+ * </ul>
+ */
+
+final class ParseStatusBinaryFormat
+{
+  static final int MAGIC = 0x414E_534C;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+
+  static final byte TAG_STRING = 1;
+  static final byte TAG_STATUS = 2;
+
+  static final int NO_STRING = -1;
+
+  static final int STATUS_SEVERITY_OFFSET = 0;
+  static final int STATUS_LINE_OFFSET = 1;
+  static final int STATUS_COLUMN_OFFSET = 5;
+  static final int STATUS_SOURCE_OFFSET = 9;
+  static final int STATUS_CODE_OFFSET = 13;
+  static final int STATUS_MESSAGE_OFFSET = 17;
+  static final int STATUS_ACTION_OFFSET = 21;
+  static final int STATUS_EXCEPTION_OFFSET = 25;
+  static final int STATUS_ATTRIBUTES_OFFSET = 29;
+  static final int STATUS_FIXED_SIZE = 31;
+
+  private ParseStatusBinaryFormat()
+  {
+
+  }
+
+  static byte severityToByte(
+    final ParseSeverity severity)
+  {
+    return switch (severity) {
+      case PARSE_ERROR -> 0;
+      case PARSE_WARNING -> 1;
+      case PARSE_INFO -> 2;
+    };
+  }
+
+  static ParseSeverity severityFromByte(
+    final byte severity)
+    throws IOException
+  {
+    return switch (severity) {
+      case 0 -> ParseSeverity.PARSE_ERROR;
+      case 1 -> ParseSeverity.PARSE_WARNING;
+      case 2 -> ParseSeverity.PARSE_INFO;
+      default -> throw new IOException(
+        "Unrecognized severity value %d".formatted(Byte.valueOf(severity))
+      );
+    };
+  }
+}
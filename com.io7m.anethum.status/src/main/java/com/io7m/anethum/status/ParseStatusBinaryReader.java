@@ -0,0 +1,502 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.status;
+
+import com.io7m.anethum.api.ParseSeverity;
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.jlexing.core.LexicalPosition;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.HEADER_SIZE;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.MAGIC;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.NO_STRING;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_ACTION_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_ATTRIBUTES_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_CODE_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_COLUMN_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_EXCEPTION_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_FIXED_SIZE;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_LINE_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_MESSAGE_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_SEVERITY_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_SOURCE_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.TAG_STATUS;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.TAG_STRING;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.VERSION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>A reader for binary status logs.</p>
+ *
+ * <p>The log file is memory-mapped, and the structure of the log is validated
+ * once when the reader is opened. Queries examine only the fixed-width
+ * portions of records, and status values are only decoded when they match a
+ * query. A record truncated by an interrupted write at the end of the log is
+ * ignored. Logs are limited to {@link Integer#MAX_VALUE} bytes.</p>
+ *
+ * <p>Instances of this class are safe to use from multiple threads.</p>
+ */
+
+public final class ParseStatusBinaryReader implements Closeable
+{
+  private static final int TRUNCATED = -1;
+
+  private final FileChannel channel;
+  private final ByteBuffer map;
+  private final int[] stringOffsets;
+  private final int[] stringLengths;
+  private final String[] strings;
+  private final URI[] uris;
+  private final int[] statusOffsets;
+
+  private ParseStatusBinaryReader(
+    final FileChannel inChannel,
+    final ByteBuffer inMap,
+    final IntList inStringOffsets,
+    final IntList inStringLengths,
+    final IntList inStatusOffsets)
+  {
+    this.channel = inChannel;
+    this.map = inMap;
+    this.stringOffsets = inStringOffsets.toArray();
+    this.stringLengths = inStringLengths.toArray();
+    this.strings = new String[this.stringOffsets.length];
+    this.uris = new URI[this.stringOffsets.length];
+    this.statusOffsets = inStatusOffsets.toArray();
+  }
+
+  /**
+   * Open a binary status log.
+   *
+   * @param file The log file
+   *
+   * @return A reader
+   *
+   * @throws IOException On I/O errors, or if the log is malformed
+   */
+
+  public static ParseStatusBinaryReader open(
+    final Path file)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+
+    final var channel = FileChannel.open(file);
+    try {
+      final var size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException(
+          "Log file %s is too large (%d bytes)"
+            .formatted(file, Long.valueOf(size))
+        );
+      }
+
+      final var map =
+        channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+
+      return scan(file, channel, map);
+    } catch (final IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private static ParseStatusBinaryReader scan(
+    final Path file,
+    final FileChannel channel,
+    final ByteBuffer map)
+    throws IOException
+  {
+    final var limit = map.limit();
+    if (limit < HEADER_SIZE) {
+      throw new IOException("Log file %s is missing a header".formatted(file));
+    }
+    if (map.getInt(0) != MAGIC) {
+      throw new IOException("Log file %s has an unrecognized magic number"
+                              .formatted(file));
+    }
+    if (map.getInt(4) != VERSION) {
+      throw new IOException(
+        "Log file %s has an unsupported version %d"
+          .formatted(file, Integer.valueOf(map.getInt(4)))
+      );
+    }
+
+    final var stringOffsets = new IntList();
+    final var stringLengths = new IntList();
+    final var statusOffsets = new IntList();
+
+    int position = HEADER_SIZE;
+    while (position < limit) {
+      final var tag = map.get(position);
+      final int next;
+      if (tag == TAG_STRING) {
+        next = scanString(file, map, position, stringOffsets, stringLengths);
+      } else if (tag == TAG_STATUS) {
+        next = scanStatus(file, map, position, stringOffsets.size());
+        if (next != TRUNCATED) {
+          statusOffsets.add(position + 1);
+        }
+      } else {
+        throw corrupt(file, position);
+      }
+
+      if (next == TRUNCATED) {
+        break;
+      }
+      position = next;
+    }
+
+    return new ParseStatusBinaryReader(
+      channel,
+      map,
+      stringOffsets,
+      stringLengths,
+      statusOffsets
+    );
+  }
+
+  private static int scanString(
+    final Path file,
+    final ByteBuffer map,
+    final int position,
+    final IntList stringOffsets,
+    final IntList stringLengths)
+    throws IOException
+  {
+    final var limit = map.limit();
+    if (limit - position < 5) {
+      return TRUNCATED;
+    }
+    final var length = map.getInt(position + 1);
+    if (length < 0) {
+      throw corrupt(file, position);
+    }
+    if (limit - position - 5 < length) {
+      return TRUNCATED;
+    }
+    stringOffsets.add(position + 5);
+    stringLengths.add(length);
+    return position + 5 + length;
+  }
+
+  private static int scanStatus(
+    final Path file,
+    final ByteBuffer map,
+    final int position,
+    final int strings)
+    throws IOException
+  {
+    final var limit = map.limit();
+    final var base = position + 1;
+    if (limit - base < STATUS_FIXED_SIZE) {
+      return TRUNCATED;
+    }
+    final var attributes =
+      Short.toUnsignedInt(map.getShort(base + STATUS_ATTRIBUTES_OFFSET));
+    final var size = STATUS_FIXED_SIZE + attributes * 8;
+    if (limit - base < size) {
+      return TRUNCATED;
+    }
+
+    ParseStatusBinaryFormat.severityFromByte(
+      map.get(base + STATUS_SEVERITY_OFFSET));
+
+    checkIndex(file, position, map, base + STATUS_SOURCE_OFFSET, strings, true);
+    checkIndex(file, position, map, base + STATUS_CODE_OFFSET, strings, false);
+    checkIndex(file, position, map, base + STATUS_MESSAGE_OFFSET, strings, false);
+    checkIndex(file, position, map, base + STATUS_ACTION_OFFSET, strings, true);
+    checkIndex(file, position, map, base + STATUS_EXCEPTION_OFFSET, strings, true);
+    for (int index = 0; index < attributes * 2; ++index) {
+      checkIndex(
+        file,
+        position,
+        map,
+        base + STATUS_FIXED_SIZE + index * 4,
+        strings,
+        false
+      );
+    }
+    return base + size;
+  }
+
+  private static void checkIndex(
+    final Path file,
+    final int record,
+    final ByteBuffer map,
+    final int offset,
+    final int strings,
+    final boolean optional)
+    throws IOException
+  {
+    final var index = map.getInt(offset);
+    if (index == NO_STRING && optional) {
+      return;
+    }
+    if (index < 0 || index >= strings) {
+      throw corrupt(file, record);
+    }
+  }
+
+  private static IOException corrupt(
+    final Path file,
+    final int position)
+  {
+    return new IOException(
+      "Log file %s is corrupt at offset %d"
+        .formatted(file, Integer.valueOf(position))
+    );
+  }
+
+  /**
+   * @return The number of status values in the log
+   */
+
+  public int size()
+  {
+    return this.statusOffsets.length;
+  }
+
+  /**
+   * Decode the status value at the given index.
+   *
+   * @param index The index in the range {@code [0, size())}
+   *
+   * @return The status value
+   */
+
+  public ParseStatus status(
+    final int index)
+  {
+    return this.decode(this.statusOffsets[Objects.checkIndex(index, this.size())]);
+  }
+
+  /**
+   * Pass each status value that matches the given filter to the given
+   * receiver, in log order.
+   *
+   * @param filter   The filter
+   * @param receiver The receiver
+   */
+
+  public void forEach(
+    final ParseStatusBinaryFilter filter,
+    final Consumer<ParseStatus> receiver)
+  {
+    Objects.requireNonNull(filter, "filter");
+    Objects.requireNonNull(receiver, "receiver");
+
+    final var severities = new boolean[3];
+    for (final var severity : filter.severities()) {
+      severities[ParseStatusBinaryFormat.severityToByte(severity)] = true;
+    }
+
+    final var codes =
+      filter.errorCode().map(this::findStrings);
+    final var sources =
+      filter.source().map(uri -> this.findStrings(uri.toString()));
+
+    if (codes.map(BitSet::isEmpty).orElse(Boolean.FALSE).booleanValue()
+        || sources.map(BitSet::isEmpty).orElse(Boolean.FALSE).booleanValue()) {
+      return;
+    }
+
+    for (final var offset : this.statusOffsets) {
+      if (severities[this.map.get(offset + STATUS_SEVERITY_OFFSET)]
+          && matches(codes, this.map.getInt(offset + STATUS_CODE_OFFSET))
+          && matches(sources, this.map.getInt(offset + STATUS_SOURCE_OFFSET))) {
+        receiver.accept(this.decode(offset));
+      }
+    }
+  }
+
+  private static boolean matches(
+    final Optional<BitSet> accepted,
+    final int index)
+  {
+    if (accepted.isEmpty()) {
+      return true;
+    }
+    return index != NO_STRING && accepted.get().get(index);
+  }
+
+  /**
+   * Find all status values that match the given filter, in log order.
+   *
+   * @param filter The filter
+   *
+   * @return The matching values
+   */
+
+  public List<ParseStatus> find(
+    final ParseStatusBinaryFilter filter)
+  {
+    final var results = new ArrayList<ParseStatus>();
+    this.forEach(filter, results::add);
+    return List.copyOf(results);
+  }
+
+  private BitSet findStrings(
+    final String text)
+  {
+    final var bytes = ByteBuffer.wrap(text.getBytes(UTF_8));
+    final var length = bytes.capacity();
+    final var results = new BitSet();
+
+    for (int index = 0; index < this.stringOffsets.length; ++index) {
+      if (this.stringLengths[index] == length) {
+        final var slice =
+          this.map.slice(this.stringOffsets[index], length);
+        if (slice.equals(bytes)) {
+          results.set(index);
+        }
+      }
+    }
+    return results;
+  }
+
+  String string(
+    final int index)
+  {
+    var text = this.strings[index];
+    if (text == null) {
+      text = UTF_8.decode(
+        this.map.slice(this.stringOffsets[index], this.stringLengths[index])
+      ).toString();
+      this.strings[index] = text;
+    }
+    return text;
+  }
+
+  private Optional<String> optionalString(
+    final int index)
+  {
+    if (index == NO_STRING) {
+      return Optional.empty();
+    }
+    return Optional.of(this.string(index));
+  }
+
+  private Optional<URI> uri(
+    final int index)
+  {
+    if (index == NO_STRING) {
+      return Optional.empty();
+    }
+
+    var uri = this.uris[index];
+    if (uri == null) {
+      uri = URI.create(this.string(index));
+      this.uris[index] = uri;
+    }
+    return Optional.of(uri);
+  }
+
+  private ParseStatus decode(
+    final int offset)
+  {
+    final ParseSeverity severity;
+    try {
+      severity = ParseStatusBinaryFormat.severityFromByte(
+        this.map.get(offset + STATUS_SEVERITY_OFFSET));
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+
+    final var builder =
+      ParseStatus.builder(
+          this.string(this.map.getInt(offset + STATUS_CODE_OFFSET)),
+          this.string(this.map.getInt(offset + STATUS_MESSAGE_OFFSET)))
+        .withSeverity(severity)
+        .withLexical(LexicalPosition.of(
+          this.map.getInt(offset + STATUS_LINE_OFFSET),
+          this.map.getInt(offset + STATUS_COLUMN_OFFSET),
+          this.uri(this.map.getInt(offset + STATUS_SOURCE_OFFSET))
+        ));
+
+    this.optionalString(this.map.getInt(offset + STATUS_ACTION_OFFSET))
+      .ifPresent(builder::withRemediatingAction);
+    this.optionalString(this.map.getInt(offset + STATUS_EXCEPTION_OFFSET))
+      .map(ParseStatusStoredException::new)
+      .ifPresent(builder::withException);
+
+    final var attributes =
+      Short.toUnsignedInt(this.map.getShort(offset + STATUS_ATTRIBUTES_OFFSET));
+
+    var attributeOffset = offset + STATUS_FIXED_SIZE;
+    for (int index = 0; index < attributes; ++index) {
+      builder.withAttribute(
+        this.string(this.map.getInt(attributeOffset)),
+        this.string(this.map.getInt(attributeOffset + 4))
+      );
+      attributeOffset += 8;
+    }
+
+    return builder.build();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    this.channel.close();
+  }
+
+  private static final class IntList
+  {
+    private int[] values;
+    private int count;
+
+    IntList()
+    {
+      this.values = new int[64];
+    }
+
+    void add(
+      final int value)
+    {
+      if (this.count == this.values.length) {
+        this.values = Arrays.copyOf(this.values, this.count * 2);
+      }
+      this.values[this.count] = value;
+      ++this.count;
+    }
+
+    int size()
+    {
+      return this.count;
+    }
+
+    int[] toArray()
+    {
+      return Arrays.copyOf(this.values, this.count);
+    }
+  }
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.status;
+
+import com.io7m.anethum.api.ParseStatus;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.HEADER_SIZE;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.MAGIC;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.NO_STRING;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_ACTION_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_ATTRIBUTES_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_CODE_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_EXCEPTION_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_FIXED_SIZE;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_MESSAGE_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_SEVERITY_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.STATUS_SOURCE_OFFSET;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.TAG_STATUS;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.TAG_STRING;
+import static com.io7m.anethum.status.ParseStatusBinaryFormat.VERSION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>A status consumer that appends status values to a binary status log.</p>
+ *
+ * <p>Strings (sources, error codes, messages, attribute names and values) are
+ * written to the log's string table once, and are referred to by index
+ * thereafter. Exceptions are recorded as their string form. If the log
+ * already exists, new values are appended to it, and any record truncated
+ * by an earlier interrupted write is discarded.</p>
+ *
+ * <p>Output is buffered; values are not guaranteed to be visible to readers
+ * until the writer is flushed or closed. I/O errors raised while consuming
+ * status values are rethrown as {@link UncheckedIOException}.</p>
+ *
+ * <p>Instances of this class are not thread-safe.</p>
+ *
+ * @see ParseStatusBinaryReader
+ */
+
+public final class ParseStatusBinaryWriter
+  implements Consumer<ParseStatus>, Closeable, Flushable
+{
+  private static final int DEFAULT_BUFFER_SIZE = 65536;
+
+  private final FileChannel channel;
+  private final HashMap<String, Integer> strings;
+  private ByteBuffer buffer;
+  private int stringNext;
+
+  private ParseStatusBinaryWriter(
+    final FileChannel inChannel,
+    final HashMap<String, Integer> inStrings,
+    final int inStringNext)
+  {
+    this.channel = inChannel;
+    this.strings = inStrings;
+    this.stringNext = inStringNext;
+    this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Open a binary status log for writing, creating it if it does not exist.
+   *
+   * @param file The log file
+   *
+   * @return A writer
+   *
+   * @throws IOException On I/O errors, or if an existing log is malformed
+   */
+
+  public static ParseStatusBinaryWriter open(
+    final Path file)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+
+    final var strings = new HashMap<String, Integer>();
+    if (Files.isRegularFile(file) && Files.size(file) > 0L) {
+      final var channel = FileChannel.open(file, READ, WRITE);
+      try {
+        final var recovered = recover(file, channel, strings);
+        channel.truncate(recovered.validSize());
+        channel.position(recovered.validSize());
+        return new ParseStatusBinaryWriter(
+          channel, strings, recovered.stringCount());
+      } catch (final IOException | RuntimeException e) {
+        channel.close();
+        throw e;
+      }
+    }
+
+    final var channel = FileChannel.open(file, CREATE, WRITE);
+    try {
+      channel.truncate(0L);
+      final var writer = new ParseStatusBinaryWriter(channel, strings, 0);
+      writer.buffer.putInt(MAGIC);
+      writer.buffer.putInt(VERSION);
+      writer.flush();
+      return writer;
+    } catch (final IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Read an existing log sequentially, populating the string table and
+   * finding the end of the last complete record. The log is read with plain
+   * channel reads rather than being mapped, so that the file can be truncated
+   * immediately afterwards on platforms that forbid truncating mapped
+   * files.
+   */
+
+  private static Recovery recover(
+    final Path file,
+    final FileChannel channel,
+    final HashMap<String, Integer> strings)
+    throws IOException
+  {
+    final var size = channel.size();
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException(
+        "Log file %s is too large (%d bytes)"
+          .formatted(file, Long.valueOf(size))
+      );
+    }
+
+    final var recovery =
+      new Recovery(
+        file,
+        size,
+        new BufferedInputStream(
+          Channels.newInputStream(channel.position(0L)),
+          DEFAULT_BUFFER_SIZE
+        ),
+        strings
+      );
+
+    recovery.header();
+    while (recovery.next()) {
+      // Nothing to do.
+    }
+    return recovery;
+  }
+
+  private static IOException corrupt(
+    final Path file,
+    final long position)
+  {
+    return new IOException(
+      "Log file %s is corrupt at offset %d"
+        .formatted(file, Long.valueOf(position))
+    );
+  }
+
+  @Override
+  public void accept(
+    final ParseStatus status)
+  {
+    Objects.requireNonNull(status, "status");
+
+    try {
+      this.write(status);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Append a status value to the log.
+   *
+   * @param status The status value
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public void write(
+    final ParseStatus status)
+    throws IOException
+  {
+    Objects.requireNonNull(status, "status");
+
+    final var attributes = status.attributes();
+    if (attributes.size() > 0xffff) {
+      throw new IOException(
+        "Too many attributes (%d)"
+          .formatted(Integer.valueOf(attributes.size()))
+      );
+    }
+
+    final var lexical = status.lexical();
+    final var source =
+      this.optionalString(lexical.file().map(Object::toString));
+    final var code =
+      this.string(status.errorCode());
+    final var message =
+      this.string(status.message());
+    final var action =
+      this.optionalString(status.remediatingAction());
+    final var exception =
+      this.optionalString(status.exception().map(Throwable::toString));
+
+    final var attributeIds = new int[attributes.size() * 2];
+    int index = 0;
+    for (final var entry : attributes.entrySet()) {
+      attributeIds[index] = this.string(entry.getKey());
+      attributeIds[index + 1] = this.string(entry.getValue());
+      index += 2;
+    }
+
+    this.ensure(1 + STATUS_FIXED_SIZE + attributeIds.length * 4);
+    this.buffer.put(TAG_STATUS);
+    this.buffer.put(ParseStatusBinaryFormat.severityToByte(status.severity()));
+    this.buffer.putInt(lexical.line());
+    this.buffer.putInt(lexical.column());
+    this.buffer.putInt(source);
+    this.buffer.putInt(code);
+    this.buffer.putInt(message);
+    this.buffer.putInt(action);
+    this.buffer.putInt(exception);
+    this.buffer.putShort((short) attributes.size());
+    for (final var id : attributeIds) {
+      this.buffer.putInt(id);
+    }
+  }
+
+  private int optionalString(
+    final Optional<String> text)
+    throws IOException
+  {
+    if (text.isPresent()) {
+      return this.string(text.get());
+    }
+    return NO_STRING;
+  }
+
+  private int string(
+    final String text)
+    throws IOException
+  {
+    final var existing = this.strings.get(text);
+    if (existing != null) {
+      return existing.intValue();
+    }
+
+    final var bytes = text.getBytes(UTF_8);
+    this.ensure(5 + bytes.length);
+    this.buffer.put(TAG_STRING);
+    this.buffer.putInt(bytes.length);
+    this.buffer.put(bytes);
+
+    final var id = this.stringNext;
+    this.stringNext = id + 1;
+    this.strings.put(text, Integer.valueOf(id));
+    return id;
+  }
+
+  private void ensure(
+    final int size)
+    throws IOException
+  {
+    if (this.buffer.remaining() < size) {
+      this.flush();
+      if (this.buffer.capacity() < size) {
+        this.buffer = ByteBuffer.allocate(size);
+      }
+    }
+  }
+
+  @Override
+  public void flush()
+    throws IOException
+  {
+    this.buffer.flip();
+    while (this.buffer.hasRemaining()) {
+      this.channel.write(this.buffer);
+    }
+    this.buffer.clear();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    try {
+      this.flush();
+    } finally {
+      this.channel.close();
+    }
+  }
+
+  private static final class Recovery
+  {
+    private final Path file;
+    private final long size;
+    private final InputStream input;
+    private final HashMap<String, Integer> strings;
+    private ByteBuffer record;
+    private long validSize;
+    private int stringCount;
+
+    Recovery(
+      final Path inFile,
+      final long inSize,
+      final InputStream inInput,
+      final HashMap<String, Integer> inStrings)
+    {
+      this.file = inFile;
+      this.size = inSize;
+      this.input = inInput;
+      this.strings = inStrings;
+      this.record = ByteBuffer.allocate(STATUS_FIXED_SIZE);
+    }
+
+    long validSize()
+    {
+      return this.validSize;
+    }
+
+    int stringCount()
+    {
+      return this.stringCount;
+    }
+
+    void header()
+      throws IOException
+    {
+      if (!this.read(0, HEADER_SIZE)) {
+        throw new IOException(
+          "Log file %s is missing a header".formatted(this.file));
+      }
+      if (this.record.getInt(0) != MAGIC) {
+        throw new IOException(
+          "Log file %s has an unrecognized magic number".formatted(this.file));
+      }
+      if (this.record.getInt(4) != VERSION) {
+        throw new IOException(
+          "Log file %s has an unsupported version %d"
+            .formatted(this.file, Integer.valueOf(this.record.getInt(4)))
+        );
+      }
+      this.validSize = HEADER_SIZE;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return {@code false} if the end of the log, or a truncated record,
+     * was reached
+     */
+
+    boolean next()
+      throws IOException
+    {
+      final var tag = this.input.read();
+      if (tag == TAG_STRING) {
+        return this.string();
+      }
+      if (tag == TAG_STATUS) {
+        return this.status();
+      }
+      if (tag == -1) {
+        return false;
+      }
+      throw corrupt(this.file, this.validSize);
+    }
+
+    private boolean string()
+      throws IOException
+    {
+      if (!this.read(0, 4)) {
+        return false;
+      }
+      final var length = this.record.getInt(0);
+      if (length < 0) {
+        throw corrupt(this.file, this.validSize);
+      }
+      if (this.size - this.validSize - 5L < length) {
+        return false;
+      }
+      final var bytes = this.input.readNBytes(length);
+      if (bytes.length < length) {
+        return false;
+      }
+
+      this.strings.putIfAbsent(
+        UTF_8.decode(ByteBuffer.wrap(bytes)).toString(),
+        Integer.valueOf(this.stringCount)
+      );
+      this.stringCount += 1;
+      this.validSize += 5L + length;
+      return true;
+    }
+
+    private boolean status()
+      throws IOException
+    {
+      if (!this.read(0, STATUS_FIXED_SIZE)) {
+        return false;
+      }
+
+      final var attributes =
+        Short.toUnsignedInt(this.record.getShort(STATUS_ATTRIBUTES_OFFSET));
+      final var recordSize = STATUS_FIXED_SIZE + attributes * 8;
+      if (this.record.capacity() < recordSize) {
+        final var larger = ByteBuffer.allocate(recordSize);
+        larger.put(this.record.array(), 0, STATUS_FIXED_SIZE);
+        this.record = larger;
+      }
+      if (!this.read(STATUS_FIXED_SIZE, recordSize)) {
+        return false;
+      }
+
+      ParseStatusBinaryFormat.severityFromByte(
+        this.record.get(STATUS_SEVERITY_OFFSET));
+
+      this.checkIndex(STATUS_SOURCE_OFFSET, true);
+      this.checkIndex(STATUS_CODE_OFFSET, false);
+      this.checkIndex(STATUS_MESSAGE_OFFSET, false);
+      this.checkIndex(STATUS_ACTION_OFFSET, true);
+      this.checkIndex(STATUS_EXCEPTION_OFFSET, true);
+      for (int index = 0; index < attributes * 2; ++index) {
+        this.checkIndex(STATUS_FIXED_SIZE + index * 4, false);
+      }
+
+      this.validSize += 1L + recordSize;
+      return true;
+    }
+
+    private void checkIndex(
+      final int offset,
+      final boolean optional)
+      throws IOException
+    {
+      final var index = this.record.getInt(offset);
+      if (index == NO_STRING && optional) {
+        return;
+      }
+      if (index < 0 || index >= this.stringCount) {
+        throw corrupt(this.file, this.validSize);
+      }
+    }
+
+    private boolean read(
+      final int from,
+      final int to)
+      throws IOException
+    {
+      final var length = to - from;
+      return this.input.readNBytes(this.record.array(), from, length)
+        == length;
+    }
+  }
+}
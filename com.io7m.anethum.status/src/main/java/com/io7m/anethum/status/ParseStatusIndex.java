@@ -0,0 +1,403 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.status;
+
+import com.io7m.anethum.api.ParseSeverity;
+import com.io7m.anethum.api.ParseStatus;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * <p>An in-memory index of status values.</p>
+ *
+ * <p>Status values are organized by source, and within each source by line
+ * number, severity, and error code, so that queries such as "all values on
+ * lines 100 to 200 of a given file" or "all errors with a given code" do not
+ * need to examine every value in the index. Values that have no source are
+ * indexed together and are only returned by queries that do not name a
+ * source.</p>
+ *
+ * <p>The values for a single source can be replaced atomically when that
+ * source is parsed again; see {@link #replace(URI)}.</p>
+ *
+ * <p>When a query specifies a line range, the values for each source are
+ * returned in line order. Otherwise, the values for each source are returned
+ * in the order in which they were added.</p>
+ *
+ * <p>Instances of this class are safe to use from multiple threads.</p>
+ */
+
+public final class ParseStatusIndex implements Consumer<ParseStatus>
+{
+  private final ReentrantReadWriteLock lock;
+  private final LinkedHashMap<Optional<URI>, SourceIndex> sources;
+
+  /**
+   * Create an empty index.
+   */
+
+  public ParseStatusIndex()
+  {
+    this.lock = new ReentrantReadWriteLock();
+    this.sources = new LinkedHashMap<>();
+  }
+
+  /**
+   * Add a status value to the index.
+   *
+   * @param status The status value
+   */
+
+  @Override
+  public void accept(
+    final ParseStatus status)
+  {
+    Objects.requireNonNull(status, "status");
+
+    final var writeLock = this.lock.writeLock();
+    writeLock.lock();
+    try {
+      this.sources.computeIfAbsent(
+        status.lexical().file(),
+        k -> new SourceIndex()
+      ).add(status);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Replace all the values for the given source with the given values.
+   * Values in {@code statuses} are indexed under {@code source} regardless
+   * of their own lexical information.
+   *
+   * @param source   The source
+   * @param statuses The new values
+   */
+
+  public void replaceSource(
+    final URI source,
+    final Collection<ParseStatus> statuses)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(statuses, "statuses");
+
+    final var index = new SourceIndex();
+    for (final var status : statuses) {
+      index.add(Objects.requireNonNull(status, "status"));
+    }
+
+    final var writeLock = this.lock.writeLock();
+    writeLock.lock();
+    try {
+      this.sources.remove(Optional.of(source));
+      if (!index.all.isEmpty()) {
+        this.sources.put(Optional.of(source), index);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Begin replacing the values for the given source. The returned consumer
+   * collects values, and the values are swapped into the index in a single
+   * step when the consumer is closed. The existing values remain visible to
+   * queries until then.
+   *
+   * @param source The source
+   *
+   * @return A consumer of replacement values
+   */
+
+  public Replacement replace(
+    final URI source)
+  {
+    return new Replacement(this, Objects.requireNonNull(source, "source"));
+  }
+
+  /**
+   * Remove all the values for the given source.
+   *
+   * @param source The source
+   */
+
+  public void removeSource(
+    final URI source)
+  {
+    this.replaceSource(source, List.of());
+  }
+
+  /**
+   * Remove all values.
+   */
+
+  public void clear()
+  {
+    final var writeLock = this.lock.writeLock();
+    writeLock.lock();
+    try {
+      this.sources.clear();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * @return The sources for which values are indexed
+   */
+
+  public Set<URI> sources()
+  {
+    final var readLock = this.lock.readLock();
+    readLock.lock();
+    try {
+      return this.sources.keySet()
+        .stream()
+        .flatMap(Optional::stream)
+        .collect(Collectors.toUnmodifiableSet());
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * @return The total number of indexed values
+   */
+
+  public int size()
+  {
+    final var readLock = this.lock.readLock();
+    readLock.lock();
+    try {
+      int size = 0;
+      for (final var index : this.sources.values()) {
+        size += index.all.size();
+      }
+      return size;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Find the values on the given lines of the given source.
+   *
+   * @param source   The source
+   * @param lineLow  The lowest line (inclusive)
+   * @param lineHigh The highest line (inclusive)
+   *
+   * @return The values, in line order
+   */
+
+  public List<ParseStatus> findLines(
+    final URI source,
+    final int lineLow,
+    final int lineHigh)
+  {
+    return this.find(
+      ParseStatusIndexQuery.all()
+        .withSource(source)
+        .withLines(lineLow, lineHigh)
+    );
+  }
+
+  /**
+   * Find the values that match the given query.
+   *
+   * @param query The query
+   *
+   * @return The matching values
+   */
+
+  public List<ParseStatus> find(
+    final ParseStatusIndexQuery query)
+  {
+    Objects.requireNonNull(query, "query");
+
+    final var results = new ArrayList<ParseStatus>();
+    final var readLock = this.lock.readLock();
+    readLock.lock();
+    try {
+      if (query.source().isPresent()) {
+        final var index = this.sources.get(query.source());
+        if (index != null) {
+          index.find(query, results);
+        }
+      } else {
+        for (final var index : this.sources.values()) {
+          index.find(query, results);
+        }
+      }
+    } finally {
+      readLock.unlock();
+    }
+    return List.copyOf(results);
+  }
+
+  /**
+   * A consumer that collects replacement values for a single source.
+   *
+   * @see #replace(URI)
+   */
+
+  public static final class Replacement
+    implements Consumer<ParseStatus>, AutoCloseable
+  {
+    private final ParseStatusIndex index;
+    private final URI source;
+    private final ArrayList<ParseStatus> statuses;
+    private boolean closed;
+
+    private Replacement(
+      final ParseStatusIndex inIndex,
+      final URI inSource)
+    {
+      this.index = inIndex;
+      this.source = inSource;
+      this.statuses = new ArrayList<>();
+    }
+
+    @Override
+    public void accept(
+      final ParseStatus status)
+    {
+      if (this.closed) {
+        throw new IllegalStateException("Replacement is closed.");
+      }
+      this.statuses.add(Objects.requireNonNull(status, "status"));
+    }
+
+    /**
+     * Replace the values for the source with the collected values.
+     * Closing a replacement more than once has no effect.
+     */
+
+    @Override
+    public void close()
+    {
+      if (!this.closed) {
+        this.closed = true;
+        this.index.replaceSource(this.source, this.statuses);
+      }
+    }
+  }
+
+  private static final class SourceIndex
+  {
+    private final ArrayList<ParseStatus> all;
+    private final TreeMap<Integer, ArrayList<ParseStatus>> byLine;
+    private final HashMap<String, List<ParseStatus>> byCode;
+    private final EnumMap<ParseSeverity, List<ParseStatus>> bySeverity;
+
+    SourceIndex()
+    {
+      this.all = new ArrayList<>();
+      this.byLine = new TreeMap<>();
+      this.byCode = new HashMap<>();
+      this.bySeverity = new EnumMap<>(ParseSeverity.class);
+    }
+
+    void add(
+      final ParseStatus status)
+    {
+      this.all.add(status);
+      this.byLine.computeIfAbsent(
+        Integer.valueOf(status.lexical().line()),
+        k -> new ArrayList<>(1)
+      ).add(status);
+      this.byCode.computeIfAbsent(
+        status.errorCode(),
+        k -> new ArrayList<>()
+      ).add(status);
+      this.bySeverity.computeIfAbsent(
+        status.severity(),
+        k -> new ArrayList<>()
+      ).add(status);
+    }
+
+    void find(
+      final ParseStatusIndexQuery query,
+      final List<ParseStatus> results)
+    {
+      if (query.hasLineRange()) {
+        final var lines =
+          this.byLine.subMap(
+            Integer.valueOf(query.lineLow()),
+            true,
+            Integer.valueOf(query.lineHigh()),
+            true
+          );
+        for (final var onLine : lines.values()) {
+          filter(query, onLine, results);
+        }
+        return;
+      }
+
+      if (query.errorCode().isPresent()) {
+        filter(
+          query,
+          this.byCode.getOrDefault(query.errorCode().get(), List.of()),
+          results
+        );
+        return;
+      }
+
+      if (query.severities().size() == 1) {
+        final var severity = query.severities().iterator().next();
+        filter(
+          query,
+          this.bySeverity.getOrDefault(severity, List.of()),
+          results
+        );
+        return;
+      }
+
+      filter(query, this.all, results);
+    }
+
+    private static void filter(
+      final ParseStatusIndexQuery query,
+      final List<ParseStatus> candidates,
+      final List<ParseStatus> results)
+    {
+      final var code = query.errorCode();
+      for (final var status : candidates) {
+        if (!query.severities().contains(status.severity())) {
+          continue;
+        }
+        if (code.isPresent() && !code.get().equals(status.errorCode())) {
+          continue;
+        }
+        results.add(status);
+      }
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.status;
+
+import com.io7m.anethum.api.ParseSeverity;
+
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A query against a status index.
+ *
+ * @param source     The source that will be accepted, if any
+ * @param severities The severities that will be accepted
+ * @param errorCode  The error code that will be accepted, if any
+ * @param lineLow    The lowest line number that will be accepted (inclusive)
+ * @param lineHigh   The highest line number that will be accepted (inclusive)
+ *
+ * @see ParseStatusIndex
+ */
+
+public record ParseStatusIndexQuery(
+  Optional<URI> source,
+  Set<ParseSeverity> severities,
+  Optional<String> errorCode,
+  int lineLow,
+  int lineHigh)
+{
+  /**
+   * A query against a status index.
+   *
+   * @param source     The source that will be accepted, if any
+   * @param severities The severities that will be accepted
+   * @param errorCode  The error code that will be accepted, if any
+   * @param lineLow    The lowest line number that will be accepted (inclusive)
+   * @param lineHigh   The highest line number that will be accepted (inclusive)
+   */
+
+  public ParseStatusIndexQuery
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(severities, "severities");
+    Objects.requireNonNull(errorCode, "errorCode");
+
+    if (lineLow > lineHigh) {
+      throw new IllegalArgumentException(
+        "Line range [%d, %d] is empty"
+          .formatted(Integer.valueOf(lineLow), Integer.valueOf(lineHigh))
+      );
+    }
+
+    severities = Set.copyOf(severities);
+  }
+
+  /**
+   * @return A query that matches everything
+   */
+
+  public static ParseStatusIndexQuery all()
+  {
+    return new ParseStatusIndexQuery(
+      Optional.empty(),
+      EnumSet.allOf(ParseSeverity.class),
+      Optional.empty(),
+      Integer.MIN_VALUE,
+      Integer.MAX_VALUE
+    );
+  }
+
+  /**
+   * @return {@code true} if this query restricts line numbers
+   */
+
+  public boolean hasLineRange()
+  {
+    return this.lineLow != Integer.MIN_VALUE
+           || this.lineHigh != Integer.MAX_VALUE;
+  }
+
+  /**
+   * @param newSource The source that will be accepted
+   *
+   * @return This query with the given source
+   */
+
+  public ParseStatusIndexQuery withSource(
+    final URI newSource)
+  {
+    return new ParseStatusIndexQuery(
+      Optional.of(newSource),
+      this.severities,
+      this.errorCode,
+      this.lineLow,
+      this.lineHigh
+    );
+  }
+
+  /**
+   * @param newSeverities The severities that will be accepted
+   *
+   * @return This query with the given severities
+   */
+
+  public ParseStatusIndexQuery withSeverities(
+    final Set<ParseSeverity> newSeverities)
+  {
+    return new ParseStatusIndexQuery(
+      this.source,
+      newSeverities,
+      this.errorCode,
+      this.lineLow,
+      this.lineHigh
+    );
+  }
+
+  /**
+   * @param newErrorCode The error code that will be accepted
+   *
+   * @return This query with the given error code
+   */
+
+  public ParseStatusIndexQuery withErrorCode(
+    final String newErrorCode)
+  {
+    return new ParseStatusIndexQuery(
+      this.source,
+      this.severities,
+      Optional.of(newErrorCode),
+      this.lineLow,
+      this.lineHigh
+    );
+  }
+
+  /**
+   * @param newLineLow  The lowest line number that will be accepted
+   * @param newLineHigh The highest line number that will be accepted
+   *
+   * @return This query with the given line range
+   */
+
+  public ParseStatusIndexQuery withLines(
+    final int newLineLow,
+    final int newLineHigh)
+  {
+    return new ParseStatusIndexQuery(
+      this.source,
+      this.severities,
+      this.errorCode,
+      newLineLow,
+      newLineHigh
+    );
+  }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.anethum.status;
+
+import com.io7m.anethum.api.ParseSeverity;
+import com.io7m.anethum.api.ParseStatus;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * <p>A status consumer that writes status values to an output stream in
+ * <a href="https://jsonlines.org/">JSON Lines</a> format.</p>
+ *
+ * <p>Each status value is written as a single JSON object on a single line,
+ * with the fields {@code severity}, {@code line}, {@code column},
+ * {@code file} (if present), {@code errorCode}, {@code message},
+ * {@code attributes}, {@code remediatingAction} (if present), and
+ * {@code exception} (if present; an object with the fields {@code type} and
+ * {@code message}).</p>
+ *
+ * <p>Values are encoded directly from their fields into a reusable byte
+ * buffer, without constructing intermediate strings, and the buffer is
+ * written to the underlying stream when it exceeds a threshold. I/O errors
+ * raised while consuming status values are rethrown as
+ * {@link UncheckedIOException}.</p>
+ *
+ * <p>Instances of this class are not thread-safe.</p>
+ */
+
+public final class ParseStatusJSONWriter
+  implements Consumer<ParseStatus>, Closeable, Flushable
+{
+  private static final int DEFAULT_THRESHOLD = 65536;
+  private static final char REPLACEMENT = (char) 0xfffd;
+
+  private static final byte[] HEX =
+    "0123456789abcdef".getBytes(US_ASCII);
+  private static final byte[] FIELD_SEVERITY =
+    "{\"severity\":\"".getBytes(US_ASCII);
+  private static final byte[] FIELD_LINE =
+    "\",\"line\":".getBytes(US_ASCII);
+  private static final byte[] FIELD_COLUMN =
+    ",\"column\":".getBytes(US_ASCII);
+  private static final byte[] FIELD_FILE =
+    ",\"file\":\"".getBytes(US_ASCII);
+  private static final byte[] FIELD_ERROR_CODE =
+    ",\"errorCode\":\"".getBytes(US_ASCII);
+  private static final byte[] FIELD_MESSAGE =
+    "\",\"message\":\"".getBytes(US_ASCII);
+  private static final byte[] FIELD_ATTRIBUTES =
+    "\",\"attributes\":{".getBytes(US_ASCII);
+  private static final byte[] FIELD_ACTION =
+    ",\"remediatingAction\":\"".getBytes(US_ASCII);
+  private static final byte[] FIELD_EXCEPTION =
+    ",\"exception\":{\"type\":\"".getBytes(US_ASCII);
+  private static final byte[] FIELD_EXCEPTION_MESSAGE =
+    "\",\"message\":\"".getBytes(US_ASCII);
+  private static final byte[][] SEVERITIES =
+    severityNames();
+
+  private final OutputStream output;
+  private final int threshold;
+  private byte[] buffer;
+  private int position;
+
+  /**
+   * A status consumer that writes JSON Lines.
+   *
+   * @param inOutput    The output stream
+   * @param inThreshold The number of buffered bytes at which the buffer will
+   *                    be written to the output stream
+   */
+
+  public ParseStatusJSONWriter(
+    final OutputStream inOutput,
+    final int inThreshold)
+  {
+    this.output = Objects.requireNonNull(inOutput, "output");
+    if (inThreshold <= 0) {
+      throw new IllegalArgumentException(
+        "Threshold %d must be positive"
+          .formatted(Integer.valueOf(inThreshold))
+      );
+    }
+    this.threshold = inThreshold;
+    this.buffer = new byte[inThreshold + 1024];
+  }
+
+  /**
+   * A status consumer that writes JSON Lines.
+   *
+   * @param inOutput The output stream
+   */
+
+  public ParseStatusJSONWriter(
+    final OutputStream inOutput)
+  {
+    this(inOutput, DEFAULT_THRESHOLD);
+  }
+
+  private static byte[][] severityNames()
+  {
+    final var severities = ParseSeverity.values();
+    final var names = new byte[severities.length][];
+    for (final var severity : severities) {
+      names[severity.ordinal()] = severity.name().getBytes(US_ASCII);
+    }
+    return names;
+  }
+
+  @Override
+  public void accept(
+    final ParseStatus status)
+  {
+    try {
+      this.write(status);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Write a status value.
+   *
+   * @param status The status value
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public void write(
+    final ParseStatus status)
+    throws IOException
+  {
+    Objects.requireNonNull(status, "status");
+
+    final var lexical = status.lexical();
+    this.putBytes(FIELD_SEVERITY);
+    this.putBytes(SEVERITIES[status.severity().ordinal()]);
+    this.putBytes(FIELD_LINE);
+    this.putInt(lexical.line());
+    this.putBytes(FIELD_COLUMN);
+    this.putInt(lexical.column());
+
+    final var file = lexical.file();
+    if (file.isPresent()) {
+      this.putBytes(FIELD_FILE);
+      this.putString(file.get().toString());
+      this.putByte('"');
+    }
+
+    this.putBytes(FIELD_ERROR_CODE);
+    this.putString(status.errorCode());
+    this.putBytes(FIELD_MESSAGE);
+    this.putString(status.message());
+    this.putBytes(FIELD_ATTRIBUTES);
+
+    boolean first = true;
+    for (final var entry : status.attributes().entrySet()) {
+      if (!first) {
+        this.putByte(',');
+      }
+      first = false;
+      this.putByte('"');
+      this.putString(entry.getKey());
+      this.putByte('"');
+      this.putByte(':');
+      this.putByte('"');
+      this.putString(entry.getValue());
+      this.putByte('"');
+    }
+    this.putByte('}');
+
+    final var action = status.remediatingAction();
+    if (action.isPresent()) {
+      this.putBytes(FIELD_ACTION);
+      this.putString(action.get());
+      this.putByte('"');
+    }
+
+    final var exception = status.exception();
+    if (exception.isPresent()) {
+      final var ex = exception.get();
+      this.putBytes(FIELD_EXCEPTION);
+      this.putString(ex.getClass().getName());
+      this.putBytes(FIELD_EXCEPTION_MESSAGE);
+      final var message = ex.getMessage();
+      if (message != null) {
+        this.putString(message);
+      }
+      this.putByte('"');
+      this.putByte('}');
+    }
+
+    this.putByte('}');
+    this.putByte('\n');
+
+    if (this.position >= this.threshold) {
+      this.flushBuffer();
+    }
+  }
+
+  private void ensure(
+    final int size)
+  {
+    if (this.buffer.length - this.position < size) {
+      this.buffer = Arrays.copyOf(
+        this.buffer,
+        Math.max(this.buffer.length * 2, this.position + size)
+      );
+    }
+  }
+
+  private void putByte(
+    final int value)
+  {
+    this.ensure(1);
+    this.buffer[this.position] = (byte) value;
+    ++this.position;
+  }
+
+  private void putBytes(
+    final byte[] bytes)
+  {
+    this.ensure(bytes.length);
+    System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+    this.position += bytes.length;
+  }
+
+  private void putInt(
+    final int value)
+  {
+    this.ensure(11);
+
+    long remaining = value;
+    if (remaining < 0L) {
+      this.buffer[this.position] = '-';
+      ++this.position;
+      remaining = -remaining;
+    }
+
+    final var start = this.position;
+    do {
+      this.buffer[this.position] = (byte) ('0' + (int) (remaining % 10L));
+      ++this.position;
+      remaining /= 10L;
+    } while (remaining != 0L);
+
+    int low = start;
+    int high = this.position - 1;
+    while (low < high) {
+      final var swap = this.buffer[low];
+      this.buffer[low] = this.buffer[high];
+      this.buffer[high] = swap;
+      ++low;
+      --high;
+    }
+  }
+
+  private void putString(
+    final String text)
+  {
+    final var length = text.length();
+
+    /*
+     * A single UTF-16 code unit produces at most six bytes of output
+     * (a \\uXXXX escape).
+     */
+
+    this.ensure(length * 6);
+
+    final var bytes = this.buffer;
+    int out = this.position;
+    int index = 0;
+    while (index < length) {
+      final var c = text.charAt(index);
+      if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+        bytes[out] = (byte) c;
+        ++out;
+      } else if (c < 0x80) {
+        out = putEscape(bytes, out, c);
+      } else if (c < 0x800) {
+        bytes[out] = (byte) (0xc0 | (c >> 6));
+        bytes[out + 1] = (byte) (0x80 | (c & 0x3f));
+        out += 2;
+      } else if (Character.isHighSurrogate(c)
+                 && index + 1 < length
+                 && Character.isLowSurrogate(text.charAt(index + 1))) {
+        final var code = Character.toCodePoint(c, text.charAt(index + 1));
+        bytes[out] = (byte) (0xf0 | (code >> 18));
+        bytes[out + 1] = (byte) (0x80 | ((code >> 12) & 0x3f));
+        bytes[out + 2] = (byte) (0x80 | ((code >> 6) & 0x3f));
+        bytes[out + 3] = (byte) (0x80 | (code & 0x3f));
+        out += 4;
+        index += 1;
+      } else {
+        final var code = Character.isSurrogate(c) ? REPLACEMENT : c;
+        bytes[out] = (byte) (0xe0 | (code >> 12));
+        bytes[out + 1] = (byte) (0x80 | ((code >> 6) & 0x3f));
+        bytes[out + 2] = (byte) (0x80 | (code & 0x3f));
+        out += 3;
+      }
+      index += 1;
+    }
+    this.position = out;
+  }
+
+  private static int putEscape(
+    final byte[] bytes,
+    final int out,
+    final char c)
+  {
+    bytes[out] = '\\';
+    switch (c) {
+      case '"', '\\' -> {
+        bytes[out + 1] = (byte) c;
+        return out + 2;
+      }
+      case '\n' -> {
+        bytes[out + 1] = 'n';
+        return out + 2;
+      }
+      case '\r' -> {
+        bytes[out + 1] = 'r';
+        return out + 2;
+      }
+      case '\t' -> {
+        bytes[out + 1] = 't';
+        return out + 2;
+      }
+      default -> {
+        bytes[out + 1] = 'u';
+        bytes[out + 2] = '0';
+        bytes[out + 3] = '0';
+        bytes[out + 4] = HEX[(c >> 4) & 0xf];
+        bytes[out + 5] = HEX[c & 0xf];
+        return out + 6;
+      }
+    }
+  }
+
+  private void flushBuffer()
+    throws IOException
+  {
+    this.output.write(this.buffer, 0, this.position);
+    this.position = 0;
+  }
+
+  @Override
+  public void flush()
+    throws IOException
+  {
+    this.flushBuffer();
+    this.output.flush();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    try {
+      this.flush();
+    } finally {
+      this.output.close();
+    }
+  }
+}
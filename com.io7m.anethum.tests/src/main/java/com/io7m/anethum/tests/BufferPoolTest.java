@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.BufferPool;
+import com.io7m.anethum.api.BufferPoolOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class BufferPoolTest
+{
+  /**
+   * Releasing an array that the pool already holds is rejected.
+   */
+
+  @Test
+  public void testDoubleRelease()
+  {
+    final var pool = new BufferPool(1024L * 1024L);
+    final var array = pool.acquire(BufferPool.MINIMUM_SIZE);
+    pool.release(array);
+
+    assertThrows(IllegalArgumentException.class, () -> pool.release(array));
+    assertEquals(BufferPool.MINIMUM_SIZE, pool.retainedBytes());
+    assertSame(array, pool.acquire(BufferPool.MINIMUM_SIZE));
+    assertNotSame(array, pool.acquire(BufferPool.MINIMUM_SIZE));
+  }
+
+  /**
+   * Arrays are handed out in size classes and reused.
+   */
+
+  @Test
+  public void testReuse()
+  {
+    final var pool = new BufferPool(1024L * 1024L);
+
+    final var a = pool.acquire(1);
+    assertEquals(BufferPool.MINIMUM_SIZE, a.length);
+    final var b = pool.acquire(BufferPool.MINIMUM_SIZE + 1);
+    assertEquals(BufferPool.MINIMUM_SIZE * 2, b.length);
+
+    pool.release(a);
+    assertEquals(BufferPool.MINIMUM_SIZE, pool.retainedBytes());
+    assertSame(a, pool.acquire(100));
+    assertEquals(0L, pool.retainedBytes());
+
+    final var huge = pool.acquire(BufferPool.MAXIMUM_SIZE + 1);
+    assertEquals(BufferPool.MAXIMUM_SIZE + 1, huge.length);
+    pool.release(huge);
+    pool.release(new byte[5000]);
+    assertEquals(0L, pool.retainedBytes());
+  }
+
+  /**
+   * The pool never retains more than its maximum.
+   */
+
+  @Test
+  public void testCapped()
+  {
+    final var pool = new BufferPool(BufferPool.MINIMUM_SIZE);
+
+    final var a = pool.acquire(1);
+    final var b = pool.acquire(1);
+    assertNotSame(a, b);
+
+    pool.release(a);
+    pool.release(b);
+    assertEquals(BufferPool.MINIMUM_SIZE, pool.retainedBytes());
+    assertSame(a, pool.acquire(1));
+    assertNotSame(b, pool.acquire(1));
+  }
+
+  /**
+   * Pooled output streams buffer and return their buffers.
+   *
+   * @throws IOException On errors
+   */
+
+  @Test
+  public void testOutputStream()
+    throws IOException
+  {
+    final var pool = new BufferPool(1024L * 1024L);
+    final var output = new ByteArrayOutputStream();
+    final var expected = new ByteArrayOutputStream();
+
+    final var stream = new BufferPoolOutputStream(pool, output);
+    for (int index = 0; index < 10000; ++index) {
+      stream.write(index);
+      expected.write(index);
+    }
+    final var large = new byte[BufferPool.MINIMUM_SIZE * 3];
+    stream.write(large);
+    expected.write(large);
+    stream.close();
+    stream.close();
+
+    assertEquals(BufferPool.MINIMUM_SIZE, pool.retainedBytes());
+    assertEquals(expected.toString(), output.toString());
+    assertThrows(IOException.class, () -> stream.write(0));
+  }
+
+  /**
+   * Closing a pooled output stream closes the underlying stream and returns
+   * the buffer even if flushing the buffer fails.
+   */
+
+  @Test
+  public void testCloseFailure()
+  {
+    final var pool = new BufferPool(1024L * 1024L);
+    final var closed = new boolean[1];
+    final var output = new OutputStream()
+    {
+      @Override
+      public void write(
+        final int b)
+        throws IOException
+      {
+        throw new IOException("Failed.");
+      }
+
+      @Override
+      public void write(
+        final byte[] data,
+        final int offset,
+        final int length)
+        throws IOException
+      {
+        throw new IOException("Failed.");
+      }
+
+      @Override
+      public void close()
+      {
+        closed[0] = true;
+      }
+    };
+
+    final var stream = new BufferPoolOutputStream(pool, output);
+    assertThrows(IOException.class, () -> {
+      stream.write(1);
+      stream.close();
+    });
+
+    assertTrue(closed[0]);
+    assertEquals(BufferPool.MINIMUM_SIZE, pool.retainedBytes());
+  }
+
+  /**
+   * Buffered file serializers write their output.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testBufferedSerializer(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("x.txt");
+    final var serializers = new ExampleSerializerFactory();
+    try (var serializer =
+           serializers.createSerializerForFileBufferedWithContext(null, file)) {
+      serializer.execute("Hello.");
+    }
+    assertEquals("Hello.", Files.readString(file));
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.api.ParsingException;
+import com.io7m.anethum.services.CoalescingParserFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class CoalescingParserFactoryTest
+{
+  private static final int THREADS = 8;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setup()
+  {
+    this.executor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    this.executor.shutdown();
+  }
+
+  private List<Future<String>> parseConcurrently(
+    final CoalescingParserFactory<Void, String> parsers,
+    final Path file,
+    final List<List<ParseStatus>> statuses)
+  {
+    final var futures = new ArrayList<Future<String>>();
+    for (int index = 0; index < THREADS; ++index) {
+      final var received = new ArrayList<ParseStatus>();
+      statuses.add(received);
+      futures.add(this.executor.submit(
+        () -> parsers.parseFile(file, received::add)));
+    }
+    return futures;
+  }
+
+  /**
+   * Concurrent parses of the same file share one parse and its statuses.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testShared(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "WARN a\nb\n", UTF_8);
+
+    final var gate = new CountDownLatch(1);
+    final var underlying = new GatedParsers(gate);
+    final var parsers = CoalescingParserFactory.create(underlying);
+
+    final var statuses = new ArrayList<List<ParseStatus>>();
+    final var futures = this.parseConcurrently(parsers, file, statuses);
+    while (parsers.inFlightCount() == 0) {
+      Thread.sleep(1L);
+    }
+    Thread.sleep(100L);
+    gate.countDown();
+
+    final var first = futures.get(0).get();
+    for (final var future : futures) {
+      assertSame(first, future.get());
+    }
+    for (final var received : statuses) {
+      assertEquals(1, received.size());
+      assertEquals("WARN a", received.get(0).message());
+    }
+    assertEquals(0, parsers.inFlightCount());
+    assertEquals(1, underlying.parsers.executions());
+
+    assertEquals("WARN a\nb\n", parsers.parseFile(file));
+    assertEquals(2, underlying.parsers.executions());
+  }
+
+  /**
+   * Failures are propagated to every waiting parser.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFailure(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "ERROR a\n", UTF_8);
+
+    final var gate = new CountDownLatch(1);
+    final var underlying = new GatedParsers(gate);
+    final var parsers = CoalescingParserFactory.create(underlying);
+
+    final var statuses = new ArrayList<List<ParseStatus>>();
+    final var futures = this.parseConcurrently(parsers, file, statuses);
+    while (parsers.inFlightCount() == 0) {
+      Thread.sleep(1L);
+    }
+    Thread.sleep(100L);
+    gate.countDown();
+
+    final var exceptions = new ArrayList<ParsingException>();
+    for (final var future : futures) {
+      final var e =
+        assertThrows(ExecutionException.class, future::get);
+      exceptions.add(assertInstanceOf(ParsingException.class, e.getCause()));
+    }
+
+    /*
+     * Each parser raises its own exception. The exceptions raised by
+     * waiting parsers have the exception of the shared parse as their cause.
+     */
+
+    final var leaders =
+      exceptions.stream()
+        .filter(e -> e.getCause() == null)
+        .toList();
+
+    assertEquals(
+      exceptions.size(),
+      exceptions.stream().distinct().count()
+    );
+    for (final var exception : exceptions) {
+      if (exception.getCause() != null) {
+        assertTrue(leaders.contains(exception.getCause()));
+      }
+      assertEquals(
+        leaders.get(0).statusValues(),
+        exception.statusValues()
+      );
+    }
+    for (final var received : statuses) {
+      assertEquals(1, received.size());
+    }
+    assertEquals(0, parsers.inFlightCount());
+  }
+
+  /**
+   * Failing to open a file raises an I/O exception from the file parsing
+   * methods.
+   *
+   * @param directory A temporary directory
+   */
+
+  @Test
+  public void testMissingFile(
+    final @TempDir Path directory)
+  {
+    final var parsers =
+      CoalescingParserFactory.create(new ExampleParserFactory());
+    final var file = directory.resolve("missing.txt");
+
+    assertThrows(NoSuchFileException.class, () -> parsers.parseFile(file));
+    assertThrows(NoSuchFileException.class, () -> {
+      parsers.parseFile(file, status -> { });
+    });
+    assertEquals(0, parsers.inFlightCount());
+  }
+
+  private static final class GatedParsers
+    implements ParserFactoryType<Void, String, ParserType<String>>
+  {
+    private final CountDownLatch gate;
+    private final ExampleParserFactory parsers;
+
+    GatedParsers(
+      final CountDownLatch inGate)
+    {
+      this.gate = inGate;
+      this.parsers = new ExampleParserFactory();
+    }
+
+    @Override
+    public ParserType<String> createParserWithContext(
+      final Void context,
+      final URI source,
+      final InputStream stream,
+      final Consumer<ParseStatus> statusConsumer)
+    {
+      final var parser =
+        this.parsers.createParserWithContext(
+          context, source, stream, statusConsumer);
+
+      return new ParserType<>()
+      {
+        @Override
+        public String execute()
+          throws ParsingException
+        {
+          try {
+            GatedParsers.this.gate.await();
+          } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+          }
+          return parser.execute();
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          parser.close();
+        }
+      };
+    }
+  }
+}
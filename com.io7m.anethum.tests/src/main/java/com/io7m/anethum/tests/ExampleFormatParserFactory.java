@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.registry.ParserFormatDescription;
+import com.io7m.anethum.registry.ParserFormatFactoryType;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A parser factory for documents beginning with "EXAMPLE", registered as a
+ * service.
+ */
+
+public final class ExampleFormatParserFactory
+  implements ParserFormatFactoryType<Void, String, ParserType<String>>
+{
+  private final ExampleParserFactory parsers;
+
+  public ExampleFormatParserFactory()
+  {
+    this.parsers = new ExampleParserFactory();
+  }
+
+  @Override
+  public ParserFormatDescription formatDescription()
+  {
+    return ParserFormatDescription.of("example")
+      .withMagic("EXAMPLE".getBytes(UTF_8))
+      .withExtension(".example")
+      .withMediaType("application/x-example");
+  }
+
+  @Override
+  public ParserType<String> createParserWithContext(
+    final Void context,
+    final URI source,
+    final InputStream stream,
+    final Consumer<ParseStatus> statusConsumer)
+  {
+    return this.parsers.createParserWithContext(
+      context, source, stream, statusConsumer);
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.api.ParsingException;
+import com.io7m.jlexing.core.LexicalPosition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_WARNING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A parser factory that reads UTF-8 text. Each line beginning with "WARN"
+ * produces a warning, and each line beginning with "ERROR" produces an
+ * error, causing parsing to fail.
+ */
+
+public final class ExampleParserFactory
+  implements ParserFactoryType<Void, String, ParserType<String>>
+{
+  private final AtomicInteger executions;
+
+  public ExampleParserFactory()
+  {
+    this.executions = new AtomicInteger();
+  }
+
+  public int executions()
+  {
+    return this.executions.get();
+  }
+
+  @Override
+  public ParserType<String> createParserWithContext(
+    final Void context,
+    final URI source,
+    final InputStream stream,
+    final Consumer<ParseStatus> statusConsumer)
+  {
+    return new ParserType<>()
+    {
+      @Override
+      public String execute()
+        throws ParsingException
+      {
+        ExampleParserFactory.this.executions.incrementAndGet();
+
+        final String text;
+        try {
+          text = new String(stream.readAllBytes(), UTF_8);
+        } catch (final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+
+        final var lines = text.split("\n", -1);
+        boolean failed = false;
+        for (int index = 0; index < lines.length; ++index) {
+          final var line = lines[index];
+          final var lexical =
+            LexicalPosition.of(index + 1, 0, Optional.of(source));
+
+          if (line.startsWith("WARN")) {
+            statusConsumer.accept(
+              ParseStatus.builder("warn", line)
+                .withSeverity(PARSE_WARNING)
+                .withLexical(lexical)
+                .build()
+            );
+          }
+          if (line.startsWith("ERROR")) {
+            failed = true;
+            statusConsumer.accept(
+              ParseStatus.builder("error", line)
+                .withLexical(lexical)
+                .build()
+            );
+          }
+        }
+
+        if (failed) {
+          throw new ParsingException("Parsing failed.", List.of());
+        }
+        return text;
+      }
+
+      @Override
+      public void close()
+        throws IOException
+      {
+        stream.close();
+      }
+    };
+  }
+}
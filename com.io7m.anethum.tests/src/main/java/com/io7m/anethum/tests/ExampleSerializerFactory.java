@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.SerializationException;
+import com.io7m.anethum.api.SerializerFactoryType;
+import com.io7m.anethum.api.SerializerType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A serializer factory that writes strings as UTF-8, and refuses to write
+ * the string "FAIL".
+ */
+
+public final class ExampleSerializerFactory
+  implements SerializerFactoryType<Void, String, SerializerType<String>>
+{
+  private final AtomicInteger executions;
+
+  public ExampleSerializerFactory()
+  {
+    this.executions = new AtomicInteger();
+  }
+
+  public int executions()
+  {
+    return this.executions.get();
+  }
+
+  @Override
+  public SerializerType<String> createSerializerWithContext(
+    final Void context,
+    final URI target,
+    final OutputStream stream)
+  {
+    return new SerializerType<>()
+    {
+      @Override
+      public void execute(
+        final String value)
+        throws SerializationException
+      {
+        ExampleSerializerFactory.this.executions.incrementAndGet();
+
+        if ("FAIL".equals(value)) {
+          throw new SerializationException("Failed: " + target);
+        }
+        try {
+          stream.write(value.getBytes(UTF_8));
+          stream.flush();
+        } catch (final IOException e) {
+          throw new SerializationException(e.getMessage(), e);
+        }
+      }
+
+      @Override
+      public void close()
+        throws IOException
+      {
+        stream.close();
+      }
+    };
+  }
+}
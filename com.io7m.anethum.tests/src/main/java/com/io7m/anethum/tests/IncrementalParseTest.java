@@ -0,0 +1,306 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.IncrementalParseResult;
+import com.io7m.anethum.api.IncrementalParserFactoryType;
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParseStatusType;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.api.ParsingException;
+import com.io7m.anethum.api.TextEdit;
+import com.io7m.anethum.api.TextEdits;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_ERROR;
+import static com.io7m.anethum.api.ParseSeverity.PARSE_WARNING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class IncrementalParseTest
+{
+  private static final URI SOURCE =
+    URI.create("urn:example");
+
+  private static final String TEXT =
+    "a\nWARN b\nc\nd\nWARN e\nf\nWARN g\n";
+
+  private static List<Integer> lines(
+    final List<ParseStatus> statuses)
+  {
+    return statuses.stream()
+      .map(s -> Integer.valueOf(s.lexical().line()))
+      .sorted()
+      .toList();
+  }
+
+  /**
+   * Edits are applied in order.
+   */
+
+  @Test
+  public void testApply()
+  {
+    assertEquals(
+      "xbcY",
+      TextEdits.apply("abc", List.of(
+        new TextEdit(0, 1, "x"),
+        TextEdit.insert(3, "Y")
+      ))
+    );
+    assertEquals("ac", TextEdits.apply("abc", List.of(TextEdit.delete(1, 1))));
+    assertThrows(IllegalArgumentException.class, () -> {
+      TextEdits.apply("abc", List.of(TextEdit.delete(2, 2)));
+    });
+  }
+
+  /**
+   * The default re-parse produces the same result as a full parse.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDefaultReparse()
+    throws Exception
+  {
+    final var parsers = new LineParsers(false);
+    final var first = parsers.parseIncrementalWithContext(null, SOURCE, TEXT);
+    assertEquals(List.of(2, 5, 7), lines(first.statuses()));
+    assertSame(first, parsers.reparseWithContext(null, SOURCE, first, List.of()));
+
+    final var edits = List.of(TextEdit.insert(0, "WARN x\ny\n"));
+    final var second = parsers.reparseWithContext(null, SOURCE, first, edits);
+    assertEquals(List.of(1, 4, 7, 9), lines(second.statuses()));
+    assertEquals("WARN x\ny\n" + TEXT, second.text());
+    assertEquals(2, parsers.fullParses.get());
+  }
+
+  /**
+   * Statuses on unaffected lines are carried over and shifted.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCarryOver()
+    throws Exception
+  {
+    final var parsers = new LineParsers(true);
+    final var first = parsers.parseIncrementalWithContext(null, SOURCE, TEXT);
+
+    /*
+     * Replace "c\nd" with "WARN c", removing a line.
+     */
+
+    final var offset = TEXT.indexOf("c\nd");
+    final var edits = List.of(new TextEdit(offset, 3, "WARN c"));
+    final var carried =
+      TextEdits.carryOverStatuses(TEXT, edits, first.statuses());
+    assertEquals(List.of(2, 4, 6), lines(carried));
+
+    final var incremental =
+      parsers.reparseWithContext(null, SOURCE, first, edits);
+    final var full =
+      new LineParsers(false).parseIncrementalWithContext(
+        null, SOURCE, incremental.text());
+
+    assertEquals(1, parsers.fullParses.get());
+    assertEquals(full.value(), incremental.value());
+    assertEquals(lines(full.statuses()), lines(incremental.statuses()));
+    assertEquals(List.of(2, 3, 4, 6), lines(incremental.statuses()));
+  }
+
+  /**
+   * An edit that makes the document invalid produces a failed result, and a
+   * later edit that corrects the document produces a successful result.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFailureThenFix()
+    throws Exception
+  {
+    final var parsers = new LineParsers(false);
+    final var first = parsers.parseIncrementalWithContext(null, SOURCE, TEXT);
+    assertFalse(first.isFailed());
+
+    final var broken =
+      parsers.reparseWithContext(
+        null, SOURCE, first, List.of(TextEdit.insert(0, "ERROR x\n")));
+
+    assertTrue(broken.isFailed());
+    assertEquals(Optional.empty(), broken.value());
+    assertEquals("ERROR x\n" + TEXT, broken.text());
+    assertEquals(List.of(1, 3, 6, 8), lines(broken.statuses()));
+    assertEquals(
+      1L,
+      broken.statuses()
+        .stream()
+        .filter(s -> s.severity() == PARSE_ERROR)
+        .count()
+    );
+
+    final var fixed =
+      parsers.reparseWithContext(
+        null, SOURCE, broken, List.of(TextEdit.delete(0, 8)));
+
+    assertFalse(fixed.isFailed());
+    assertEquals(Optional.of(TEXT), fixed.value());
+    assertEquals(TEXT, fixed.text());
+    assertEquals(List.of(2, 5, 7), lines(fixed.statuses()));
+  }
+
+  /**
+   * A line-based format where lines beginning with "WARN" produce warnings,
+   * and lines beginning with "ERROR" produce errors and cause parsing to fail.
+   * If {@code incremental} is set, single edits are re-parsed by scanning
+   * only the lines that they touch.
+   */
+
+  private static final class LineParsers
+    implements IncrementalParserFactoryType<Void, String, ParserType<String>>
+  {
+    private final boolean incremental;
+    private final AtomicInteger fullParses;
+
+    LineParsers(
+      final boolean inIncremental)
+    {
+      this.incremental = inIncremental;
+      this.fullParses = new AtomicInteger();
+    }
+
+    private static void scan(
+      final String[] lines,
+      final int first,
+      final int last,
+      final Consumer<ParseStatus> statusConsumer)
+    {
+      for (int line = first; line <= last; ++line) {
+        if (lines[line - 1].startsWith("WARN")) {
+          statusConsumer.accept(
+            ParseStatus.builder("warn", lines[line - 1])
+              .withSeverity(PARSE_WARNING)
+              .withLexical(LexicalPosition.of(line, 0, Optional.of(SOURCE)))
+              .build()
+          );
+        }
+      }
+    }
+
+    @Override
+    public IncrementalParseResult<String> reparseWithContext(
+      final Void context,
+      final URI source,
+      final IncrementalParseResult<String> previous,
+      final List<TextEdit> edits)
+    {
+      if (!this.incremental || edits.size() != 1 || previous.isFailed()) {
+        return IncrementalParserFactoryType.super.reparseWithContext(
+          context, source, previous, edits);
+      }
+
+      final var edit = edits.get(0);
+      final var text = TextEdits.apply(previous.text(), edits);
+      final var statuses = new ArrayList<>(
+        TextEdits.carryOverStatuses(previous.text(), edits, previous.statuses())
+      );
+
+      final var first =
+        1 + (int) previous.text().substring(0, edit.offset())
+          .chars().filter(c -> c == '\n').count();
+      final var last =
+        first + (int) edit.replacement().chars().filter(c -> c == '\n').count();
+
+      scan(text.split("\n", -1), first, last, statuses::add);
+      statuses.sort(Comparator.comparingInt(s -> s.lexical().line()));
+      return IncrementalParseResult.succeeded(text, text, statuses);
+    }
+
+    @Override
+    public ParserType<String> createParserForReaderWithContext(
+      final Void context,
+      final URI source,
+      final Reader reader,
+      final Consumer<ParseStatus> statusConsumer)
+    {
+      return new ParserType<>()
+      {
+        @Override
+        public String execute()
+          throws ParsingException
+        {
+          LineParsers.this.fullParses.incrementAndGet();
+
+          final var writer = new StringWriter();
+          try {
+            reader.transferTo(writer);
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+
+          final var text = writer.toString();
+          final var lines = text.split("\n", -1);
+          scan(lines, 1, lines.length, statusConsumer);
+
+          final var errors = new ArrayList<ParseStatusType>();
+          for (int line = 1; line <= lines.length; ++line) {
+            if (lines[line - 1].startsWith("ERROR")) {
+              final var error =
+                ParseStatus.builder("error", lines[line - 1])
+                  .withSeverity(PARSE_ERROR)
+                  .withLexical(LexicalPosition.of(line, 0, Optional.of(SOURCE)))
+                  .build();
+              statusConsumer.accept(error);
+              errors.add(error);
+            }
+          }
+          if (!errors.isEmpty()) {
+            throw new ParsingException("Parse failed.", errors);
+          }
+          return text;
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          reader.close();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.api.SerializerFactoryType;
+import com.io7m.anethum.api.SerializerType;
+import com.io7m.anethum.services.ParseCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_WARNING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ParseCacheTest
+{
+  /**
+   * Values survive cache restarts, and statuses are replayed.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testRestart(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var cacheDirectory = directory.resolve("cache");
+    Files.writeString(file, "WARN a\nb\n", UTF_8);
+
+    final var parsers = new ExampleParserFactory();
+    final var cacheParsers = new ExampleParserFactory();
+    final var cacheSerializers = new ExampleSerializerFactory();
+
+    final var cache0 = ParseCache.create(
+      parsers, null, cacheParsers, cacheSerializers,
+      cacheDirectory, "1", 1_000_000L);
+
+    final var statuses0 = new ArrayList<ParseStatus>();
+    assertEquals("WARN a\nb\n", cache0.parseFile(file, statuses0::add));
+    assertEquals(1, parsers.executions());
+    assertEquals(1L, cache0.misses());
+    assertTrue(cache0.sizeBytes() > 0L);
+
+    final var cache1 = ParseCache.create(
+      parsers, null, cacheParsers, cacheSerializers,
+      cacheDirectory, "1", 1_000_000L);
+
+    final var statuses1 = new ArrayList<ParseStatus>();
+    assertEquals("WARN a\nb\n", cache1.parseFile(file, statuses1::add));
+    assertEquals(1, parsers.executions());
+    assertEquals(1, cacheParsers.executions());
+    assertEquals(1L, cache1.hits());
+    assertEquals(cache0.sizeBytes(), cache1.sizeBytes());
+
+    assertEquals(1, statuses1.size());
+    assertEquals(PARSE_WARNING, statuses1.get(0).severity());
+    assertEquals(statuses0.get(0).message(), statuses1.get(0).message());
+    assertEquals(statuses0.get(0).lexical(), statuses1.get(0).lexical());
+  }
+
+  /**
+   * Changes to the content or version cause misses.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testKeys(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var cacheDirectory = directory.resolve("cache");
+    Files.writeString(file, "a", UTF_8);
+
+    final var parsers = new ExampleParserFactory();
+    final var cache = ParseCache.create(
+      parsers, null, new ExampleParserFactory(), new ExampleSerializerFactory(),
+      cacheDirectory, "1", 1_000_000L);
+
+    cache.parseFile(file, s -> { });
+    cache.parseFile(file, s -> { });
+    Files.writeString(file, "b", UTF_8);
+    assertEquals("b", cache.parseFile(file, s -> { }));
+    assertEquals(2L, cache.misses());
+    assertEquals(1L, cache.hits());
+
+    final var other = ParseCache.create(
+      parsers, null, new ExampleParserFactory(), new ExampleSerializerFactory(),
+      cacheDirectory, "2", 1_000_000L);
+    other.parseFile(file, s -> { });
+    assertEquals(1L, other.misses());
+    assertEquals(3, parsers.executions());
+  }
+
+  /**
+   * Replacing an entry, or discarding an unreadable entry, does not count
+   * its size twice.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSizeReplaced(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var cacheDirectory = directory.resolve("cache");
+    Files.writeString(file, "WARN a\nb\n", UTF_8);
+
+    /*
+     * The first parse performed by the cache parses the same file through
+     * the cache again before it completes, so the entry that it stores
+     * replaces the entry stored by the nested parse.
+     */
+
+    final var underlying = new ExampleParserFactory();
+    final var cacheRef = new AtomicReference<ParseCache<String>>();
+    final var nested = new AtomicBoolean(true);
+    final ParserFactoryType<Void, String, ParserType<String>> parsers =
+      (context, source, stream, statusConsumer) -> {
+        if (nested.getAndSet(false)) {
+          try {
+            cacheRef.get().parseFile(file, s -> { });
+          } catch (final Exception e) {
+            throw new IllegalStateException(e);
+          }
+        }
+        return underlying.createParserWithContext(
+          context, source, stream, statusConsumer);
+      };
+
+    final var cache = ParseCache.create(
+      parsers, null, new ExampleParserFactory(), new ExampleSerializerFactory(),
+      cacheDirectory, "1", 1_000_000L);
+    cacheRef.set(cache);
+
+    cache.parseFile(file, s -> { });
+    assertEquals(2L, cache.misses());
+
+    final var fresh = ParseCache.create(
+      parsers, null, new ExampleParserFactory(), new ExampleSerializerFactory(),
+      cacheDirectory, "1", 1_000_000L);
+    final var expected = fresh.sizeBytes();
+    assertTrue(expected > 0L);
+    assertEquals(expected, cache.sizeBytes());
+
+    /*
+     * Replace the cached value with an unparseable value of the same size.
+     */
+
+    try (var values = Files.newDirectoryStream(cacheDirectory, "*.value")) {
+      for (final var value : values) {
+        Files.writeString(value, "ERROR a\n\n", UTF_8);
+      }
+    }
+
+    assertEquals("WARN a\nb\n", cache.parseFile(file, s -> { }));
+    assertEquals(3L, cache.misses());
+    assertEquals(expected, cache.sizeBytes());
+  }
+
+  /**
+   * The least recently used entries are evicted when the cache is full.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testEviction(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var cacheDirectory = directory.resolve("cache");
+    final var parsers = new ExampleParserFactory();
+    final var cache = ParseCache.create(
+      parsers, null, new ExampleParserFactory(), new ExampleSerializerFactory(),
+      cacheDirectory, "1", 3000L);
+
+    for (int index = 0; index < 10; ++index) {
+      final var file = directory.resolve("file%d.txt".formatted(index));
+      Files.writeString(file, Integer.toString(index).repeat(1000), UTF_8);
+      cache.parseFile(file, s -> { });
+    }
+
+    assertTrue(cache.sizeBytes() <= 3000L);
+    try (var entries = Files.list(cacheDirectory)) {
+      assertTrue(entries.count() <= 6L);
+    }
+
+    cache.clear();
+    assertEquals(0L, cache.sizeBytes());
+  }
+
+  /**
+   * A file that changes between the cache lookup and the parse is cached
+   * under the key of the content that was actually parsed.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testChangedDuringParse(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var cacheDirectory = directory.resolve("cache");
+    Files.writeString(file, "a", UTF_8);
+
+    final var delegate = new ExampleParserFactory();
+    final var changed = new AtomicBoolean();
+    final ParserFactoryType<Void, String, ParserType<String>> parsers =
+      (context, source, stream, statusConsumer) -> {
+        if (changed.compareAndSet(false, true)) {
+          try {
+            Files.writeString(file, "b", UTF_8);
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+        return delegate.createParserWithContext(
+          context, source, stream, statusConsumer);
+      };
+
+    final var cache = ParseCache.create(
+      parsers, null, new ExampleParserFactory(), new ExampleSerializerFactory(),
+      cacheDirectory, "1", 1_000_000L);
+
+    assertEquals("b", cache.parseFile(file, s -> { }));
+    Files.writeString(file, "a", UTF_8);
+    assertEquals("a", cache.parseFile(file, s -> { }));
+    Files.writeString(file, "b", UTF_8);
+    assertEquals("b", cache.parseFile(file, s -> { }));
+    assertEquals(2L, cache.misses());
+    assertEquals(1L, cache.hits());
+  }
+
+  /**
+   * Unchecked exceptions raised by the cached representation's parser or
+   * serializer do not cause parsing to fail.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCacheRuntimeFailures(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var cacheDirectory = directory.resolve("cache");
+    Files.writeString(file, "a", UTF_8);
+
+    final ParserFactoryType<Void, String, ParserType<String>> brokenParsers =
+      (context, source, stream, statusConsumer) -> {
+        throw new IllegalStateException("Corrupt entry.");
+      };
+    final SerializerFactoryType<Void, String, SerializerType<String>>
+      brokenSerializers =
+      (context, target, stream) -> {
+        throw new IllegalStateException("Broken serializer.");
+      };
+
+    final var parsers = new ExampleParserFactory();
+    final var writing = ParseCache.create(
+      parsers, null, brokenParsers, new ExampleSerializerFactory(),
+      cacheDirectory, "1", 1_000_000L);
+
+    assertEquals("a", writing.parseFile(file, s -> { }));
+    assertEquals("a", writing.parseFile(file, s -> { }));
+    assertEquals(2, parsers.executions());
+    assertEquals(2L, writing.misses());
+
+    final var reading = ParseCache.create(
+      parsers, null, new ExampleParserFactory(), brokenSerializers,
+      cacheDirectory, "1", 1_000_000L);
+
+    reading.clear();
+    assertEquals("a", reading.parseFile(file, s -> { }));
+    assertEquals(3, parsers.executions());
+    try (var files = Files.list(cacheDirectory)) {
+      assertEquals(0L, files.count());
+    }
+  }
+}
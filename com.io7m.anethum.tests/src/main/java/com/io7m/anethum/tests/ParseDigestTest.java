@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.DigestingInputStream;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ParseDigestTest
+{
+  private static final URI URI_SOURCE =
+    URI.create("urn:example");
+
+  /**
+   * Parsing a file produces the digest of the file contents.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFileSHA256(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var text = "Hello.\n".repeat(1000);
+    Files.writeString(file, text, StandardCharsets.UTF_8);
+
+    final var parsers = new ExampleParserFactory();
+    final var result =
+      parsers.parseFileDigested(file, s -> { }, "SHA-256");
+
+    final var expected =
+      MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file));
+
+    assertEquals(text, result.value());
+    assertEquals("SHA-256", result.algorithm());
+    assertArrayEquals(expected, result.digest());
+    assertEquals(HexFormat.of().formatHex(expected), result.digestHex());
+  }
+
+  /**
+   * CRC32C digests are the big-endian checksum value.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStreamCRC32C()
+    throws Exception
+  {
+    final var data = "Hello.\n".getBytes(StandardCharsets.UTF_8);
+    final var crc = new CRC32C();
+    crc.update(data);
+
+    final var parsers = new ExampleParserFactory();
+    final var result = parsers.parseDigestedWithContext(
+      null,
+      URI_SOURCE,
+      new ByteArrayInputStream(data),
+      s -> { },
+      DigestingInputStream.CRC32C
+    );
+
+    assertEquals(
+      crc.getValue(),
+      Integer.toUnsignedLong(ByteBuffer.wrap(result.digest()).getInt())
+    );
+  }
+
+  /**
+   * Skipping a non-positive number of bytes skips nothing.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSkipNonPositive()
+    throws Exception
+  {
+    final var data = "Hello.\n".getBytes(StandardCharsets.UTF_8);
+    try (var stream = new DigestingInputStream(
+      new ByteArrayInputStream(data), "SHA-256")) {
+      assertEquals(0L, stream.skip(-1L));
+      assertEquals(0L, stream.skip(0L));
+      assertArrayEquals(data, stream.readAllBytes());
+    }
+  }
+
+  /**
+   * Bytes that are skipped or left unread are still digested.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSkipAndDrain()
+    throws Exception
+  {
+    final var data = new byte[20_000];
+    for (int index = 0; index < data.length; ++index) {
+      data[index] = (byte) index;
+    }
+
+    try (var stream = new DigestingInputStream(
+      new ByteArrayInputStream(data), "SHA-256")) {
+      stream.read();
+      assertEquals(10_000L, stream.skip(10_000L));
+      stream.drain();
+      assertArrayEquals(
+        MessageDigest.getInstance("SHA-256").digest(data),
+        stream.digest()
+      );
+    }
+  }
+
+  /**
+   * A parser that reads a prefix of the stream and then closes it still
+   * produces the digest of the complete stream.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParserClosesEarly()
+    throws Exception
+  {
+    final var data = "Hello.\n".repeat(5000).getBytes(StandardCharsets.UTF_8);
+    final var source = new ByteArrayInputStream(data);
+
+    final ParserFactoryType<Void, String, ParserType<String>> parsers =
+      (context, uri, stream, statusConsumer) -> new ParserType<>()
+      {
+        @Override
+        public String execute()
+        {
+          try (stream) {
+            return new String(stream.readNBytes(6), StandardCharsets.UTF_8);
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          stream.close();
+        }
+      };
+
+    final var result =
+      parsers.parseDigestedWithContext(
+        null, URI_SOURCE, source, s -> { }, "SHA-256");
+
+    assertEquals("Hello.", result.value());
+    assertEquals(0, source.available());
+    assertArrayEquals(
+      MessageDigest.getInstance("SHA-256").digest(data),
+      result.digest()
+    );
+  }
+
+  /**
+   * Closing a digesting stream drains it, after which draining does nothing.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCloseDrains()
+    throws Exception
+  {
+    final var data = new byte[20_000];
+    final var stream =
+      new DigestingInputStream(new ByteArrayInputStream(data), "SHA-256");
+
+    stream.read();
+    stream.close();
+    stream.drain();
+    stream.close();
+
+    assertArrayEquals(
+      MessageDigest.getInstance("SHA-256").digest(data),
+      stream.digest()
+    );
+  }
+
+  /**
+   * Unknown algorithms are rejected.
+   */
+
+  @Test
+  public void testUnsupported()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new DigestingInputStream(new ByteArrayInputStream(new byte[0]), "NOPE");
+    });
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseProjection;
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ParseProjectionTest
+{
+  private static final ParseProjection<String, String> HEADER =
+    new ParseProjection<>(
+      "header", String.class, text -> text.split("\n", 2)[0]);
+
+  /**
+   * Unrecognized projections are applied to the complete value.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDefault(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "a\nb\nc\n", UTF_8);
+
+    final var lines =
+      new ParseProjection<String, Integer>(
+        "lines",
+        Integer.class,
+        text -> Integer.valueOf(text.split("\n").length));
+
+    final var parsers = new ExampleParserFactory();
+    assertEquals(
+      Integer.valueOf(3),
+      parsers.parseFileProjection(file, s -> { }, lines)
+    );
+    assertEquals(1, parsers.executions());
+  }
+
+  /**
+   * Recognized projections stop reading early.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testHeaderOnly(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "version 1\n" + "x".repeat(1_000_000), UTF_8);
+
+    final var parsers = new HeaderParsers();
+    assertEquals(
+      "version 1",
+      parsers.parseFileProjection(file, s -> { }, HEADER)
+    );
+    assertTrue(parsers.bytesRead.get() < 100);
+  }
+
+  private static final class HeaderParsers
+    implements ParserFactoryType<Void, String, ParserType<String>>
+  {
+    private final AtomicInteger bytesRead;
+    private final ExampleParserFactory full;
+
+    HeaderParsers()
+    {
+      this.bytesRead = new AtomicInteger();
+      this.full = new ExampleParserFactory();
+    }
+
+    @Override
+    public ParserType<String> createParserWithContext(
+      final Void context,
+      final URI source,
+      final InputStream stream,
+      final Consumer<ParseStatus> statusConsumer)
+    {
+      return this.full.createParserWithContext(
+        context, source, stream, statusConsumer);
+    }
+
+    @Override
+    public <H> ParserType<H> createParserForProjectionWithContext(
+      final Void context,
+      final URI source,
+      final InputStream stream,
+      final Consumer<ParseStatus> statusConsumer,
+      final ParseProjection<String, H> projection)
+    {
+      if (projection != HEADER) {
+        return ParserFactoryType.super.createParserForProjectionWithContext(
+          context, source, stream, statusConsumer, projection);
+      }
+
+      return new ParserType<>()
+      {
+        @Override
+        public H execute()
+        {
+          final var bytes = new ByteArrayOutputStream();
+          try (stream) {
+            while (true) {
+              final var b = stream.read();
+              HeaderParsers.this.bytesRead.incrementAndGet();
+              if (b == -1 || b == '\n') {
+                break;
+              }
+              bytes.write(b);
+            }
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          return projection.cast(bytes.toString(UTF_8));
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          stream.close();
+        }
+      };
+    }
+  }
+}
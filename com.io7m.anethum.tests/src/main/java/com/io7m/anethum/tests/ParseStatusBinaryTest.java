@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.status.ParseStatusBinaryFilter;
+import com.io7m.anethum.status.ParseStatusBinaryReader;
+import com.io7m.anethum.status.ParseStatusBinaryWriter;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_ERROR;
+import static com.io7m.anethum.api.ParseSeverity.PARSE_INFO;
+import static com.io7m.anethum.api.ParseSeverity.PARSE_WARNING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ParseStatusBinaryTest
+{
+  private static final URI FILE_A = URI.create("file:///a.txt");
+  private static final URI FILE_B = URI.create("file:///b.txt");
+
+  private static ParseStatus status(
+    final int index)
+  {
+    return ParseStatus.builder("error-" + (index % 3), "Message " + index)
+      .withSeverity(switch (index % 3) {
+        case 0 -> PARSE_ERROR;
+        case 1 -> PARSE_WARNING;
+        default -> PARSE_INFO;
+      })
+      .withLexical(LexicalPosition.of(
+        index,
+        index * 2,
+        Optional.of(index % 2 == 0 ? FILE_A : FILE_B)))
+      .withAttribute("Index", Integer.toString(index))
+      .withAttribute("Constant", "x")
+      .build();
+  }
+
+  /**
+   * Status values survive a round trip, and filters select values.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws IOException On errors
+   */
+
+  @Test
+  public void testRoundTrip(
+    final @TempDir Path directory)
+    throws IOException
+  {
+    final var file = directory.resolve("log.bin");
+
+    try (var writer = ParseStatusBinaryWriter.open(file)) {
+      for (int index = 0; index < 100; ++index) {
+        writer.accept(status(index));
+      }
+      writer.accept(
+        ParseStatus.builder("error-x", "Failed")
+          .withRemediatingAction("Try again.")
+          .withException(new IOException("Broken"))
+          .build()
+      );
+    }
+
+    try (var reader = ParseStatusBinaryReader.open(file)) {
+      assertEquals(101, reader.size());
+      for (int index = 0; index < 100; ++index) {
+        assertEquals(status(index), reader.status(index));
+      }
+
+      final var last = reader.status(100);
+      assertEquals("Try again.", last.remediatingAction().orElseThrow());
+      assertEquals(
+        "java.io.IOException: Broken",
+        last.exception().orElseThrow().getMessage()
+      );
+      assertEquals(Optional.empty(), last.lexical().file());
+
+      assertEquals(
+        101,
+        reader.find(ParseStatusBinaryFilter.all()).size());
+      assertEquals(
+        34,
+        reader.find(ParseStatusBinaryFilter.all()
+                      .withErrorCode("error-0")).size());
+      assertEquals(
+        17,
+        reader.find(ParseStatusBinaryFilter.all()
+                      .withErrorCode("error-0")
+                      .withSource(FILE_A)).size());
+      assertEquals(
+        33,
+        reader.find(ParseStatusBinaryFilter.all()
+                      .withSeverities(Set.of(PARSE_INFO))).size());
+      assertEquals(
+        0,
+        reader.find(ParseStatusBinaryFilter.all()
+                      .withErrorCode("nonexistent")).size());
+    }
+  }
+
+  /**
+   * Logs can be appended to, and truncated records are discarded.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws IOException On errors
+   */
+
+  @Test
+  public void testAppendTruncated(
+    final @TempDir Path directory)
+    throws IOException
+  {
+    final var file = directory.resolve("log.bin");
+
+    try (var writer = ParseStatusBinaryWriter.open(file)) {
+      writer.accept(status(0));
+      writer.accept(status(1));
+    }
+
+    try (var channel =
+           FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 3L);
+    }
+
+    try (var reader = ParseStatusBinaryReader.open(file)) {
+      assertEquals(1, reader.size());
+    }
+
+    try (var writer = ParseStatusBinaryWriter.open(file)) {
+      writer.accept(status(2));
+      writer.accept(status(3));
+    }
+
+    try (var reader = ParseStatusBinaryReader.open(file)) {
+      assertEquals(3, reader.size());
+      assertEquals(status(0), reader.status(0));
+      assertEquals(status(2), reader.status(1));
+      assertEquals(status(3), reader.status(2));
+    }
+  }
+
+  /**
+   * A log truncated at any offset past the header can be reopened and
+   * appended to.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws IOException On errors
+   */
+
+  @Test
+  public void testAppendTruncatedAnywhere(
+    final @TempDir Path directory)
+    throws IOException
+  {
+    final var original = directory.resolve("original.bin");
+    try (var writer = ParseStatusBinaryWriter.open(original)) {
+      writer.accept(status(0));
+      writer.accept(status(1));
+    }
+
+    final var data = Files.readAllBytes(original);
+    final var file = directory.resolve("log.bin");
+    for (int size = 8; size <= data.length; ++size) {
+      Files.write(file, Arrays.copyOf(data, size));
+
+      try (var writer = ParseStatusBinaryWriter.open(file)) {
+        writer.accept(status(2));
+      }
+
+      try (var reader = ParseStatusBinaryReader.open(file)) {
+        assertEquals(status(2), reader.status(reader.size() - 1));
+      }
+    }
+  }
+
+  /**
+   * Files that are not logs are rejected.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws IOException On errors
+   */
+
+  @Test
+  public void testNotLog(
+    final @TempDir Path directory)
+    throws IOException
+  {
+    final var file = directory.resolve("log.bin");
+    Files.writeString(file, "Not a log file.");
+
+    assertThrows(IOException.class, () -> {
+      ParseStatusBinaryReader.open(file).close();
+    });
+    assertThrows(IOException.class, () -> {
+      ParseStatusBinaryWriter.open(file).close();
+    });
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseSeverity;
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParseStatusCoalescingConsumer;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ParseStatusCoalescingConsumerTest
+{
+  private static ParseStatus status(
+    final String errorCode,
+    final String message,
+    final ParseSeverity severity,
+    final int line)
+  {
+    return ParseStatus.builder(errorCode, message)
+      .withSeverity(severity)
+      .withLexical(LexicalPosition.of(line, 0, Optional.empty()))
+      .build();
+  }
+
+  /**
+   * Only the first occurrences are passed on, and a summary is published
+   * on closing.
+   */
+
+  @Test
+  public void testCoalesce()
+  {
+    final var received = new ArrayList<ParseStatus>();
+
+    try (var consumer = new ParseStatusCoalescingConsumer(received::add, 2)) {
+      for (int index = 1; index <= 100; ++index) {
+        consumer.accept(status("e0", "x", ParseSeverity.PARSE_WARNING, index));
+      }
+      consumer.accept(status("e0", "y", ParseSeverity.PARSE_ERROR, 101));
+      consumer.accept(status("e1", "z", ParseSeverity.PARSE_INFO, 102));
+
+      assertEquals(3, received.size());
+      assertEquals(99L, consumer.suppressedCount());
+    }
+
+    assertEquals(4, received.size());
+    assertEquals(1, received.get(0).lexical().line());
+    assertEquals(2, received.get(1).lexical().line());
+    assertEquals("e1", received.get(2).errorCode());
+
+    final var summary = received.get(3);
+    assertEquals("e0", summary.errorCode());
+    assertEquals("x", summary.message());
+    assertEquals(ParseSeverity.PARSE_ERROR, summary.severity());
+    assertEquals(1, summary.lexical().line());
+    assertEquals("101", summary.attributes().get("Occurrences"));
+    assertEquals("99", summary.attributes().get("Suppressed"));
+  }
+
+  /**
+   * Grouping by message treats different messages as different groups.
+   */
+
+  @Test
+  public void testCoalesceByMessage()
+  {
+    final var received = new ArrayList<ParseStatus>();
+
+    try (var consumer =
+           new ParseStatusCoalescingConsumer(received::add, 1, true)) {
+      consumer.accept(status("e0", "x", ParseSeverity.PARSE_ERROR, 1));
+      consumer.accept(status("e0", "y", ParseSeverity.PARSE_ERROR, 2));
+      consumer.accept(status("e0", "y", ParseSeverity.PARSE_ERROR, 3));
+    }
+
+    assertEquals(3, received.size());
+    assertEquals("x", received.get(0).message());
+    assertEquals("y", received.get(1).message());
+    assertEquals("1", received.get(2).attributes().get("Suppressed"));
+  }
+
+  /**
+   * Closed consumers reject values.
+   */
+
+  @Test
+  public void testClosed()
+  {
+    final var consumer =
+      new ParseStatusCoalescingConsumer(s -> { }, 1);
+    consumer.close();
+    consumer.close();
+
+    assertThrows(IllegalStateException.class, () -> {
+      consumer.accept(status("e0", "x", ParseSeverity.PARSE_ERROR, 1));
+    });
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseSeverity;
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParseStatusCollector;
+import org.junit.jupiter.api.Test;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_ERROR;
+import static com.io7m.anethum.api.ParseSeverity.PARSE_INFO;
+import static com.io7m.anethum.api.ParseSeverity.PARSE_WARNING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ParseStatusCollectorTest
+{
+  private static ParseStatus status(
+    final ParseSeverity severity,
+    final int index)
+  {
+    return ParseStatus.builder("e" + index, "m")
+      .withSeverity(severity)
+      .build();
+  }
+
+  /**
+   * Values beyond the per-severity limits are counted but not retained.
+   */
+
+  @Test
+  public void testBounded()
+  {
+    final var collector = new ParseStatusCollector(2, 1, 0);
+    assertFalse(collector.hasErrors());
+
+    for (int index = 0; index < 1000; ++index) {
+      collector.accept(status(PARSE_ERROR, index));
+      collector.accept(status(PARSE_WARNING, index));
+      collector.accept(status(PARSE_INFO, index));
+    }
+
+    assertTrue(collector.hasErrors());
+    assertEquals(3, collector.statuses().size());
+    assertEquals(1000L, collector.receivedCount(PARSE_ERROR));
+    assertEquals(998L, collector.overflowCount(PARSE_ERROR));
+    assertEquals(999L, collector.overflowCount(PARSE_WARNING));
+    assertEquals(1000L, collector.overflowCount(PARSE_INFO));
+
+    final var exception = collector.toException("Failed");
+    assertEquals("Failed", exception.getMessage());
+
+    final var values = exception.statusValues();
+    assertEquals(4, values.size());
+
+    final var summary = (ParseStatus) values.get(3);
+    assertEquals(PARSE_ERROR, summary.severity());
+    assertEquals("998", summary.attributes().get("OmittedErrors"));
+    assertEquals("999", summary.attributes().get("OmittedWarnings"));
+    assertEquals("1000", summary.attributes().get("OmittedInfos"));
+  }
+
+  /**
+   * Exceptions are unaffected by later use of the collector.
+   */
+
+  @Test
+  public void testExceptionIsolated()
+  {
+    final var collector = new ParseStatusCollector(10);
+    collector.accept(status(PARSE_ERROR, 0));
+
+    final var exception = collector.toException("Failed");
+    assertEquals(1, exception.statusValues().size());
+
+    collector.accept(status(PARSE_ERROR, 1));
+    assertEquals(1, exception.statusValues().size());
+    assertEquals(2, collector.statuses().size());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseSeverity;
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.status.ParseStatusIndex;
+import com.io7m.anethum.status.ParseStatusIndexQuery;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_ERROR;
+import static com.io7m.anethum.api.ParseSeverity.PARSE_WARNING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class ParseStatusIndexTest
+{
+  private static final URI FILE_A = URI.create("file:///a.txt");
+  private static final URI FILE_B = URI.create("file:///b.txt");
+
+  private static ParseStatus status(
+    final URI file,
+    final String errorCode,
+    final ParseSeverity severity,
+    final int line)
+  {
+    return ParseStatus.builder(errorCode, "m")
+      .withSeverity(severity)
+      .withLexical(LexicalPosition.of(line, 0, Optional.of(file)))
+      .build();
+  }
+
+  private static ParseStatusIndex populated()
+  {
+    final var index = new ParseStatusIndex();
+    for (int line = 300; line > 0; --line) {
+      index.accept(status(FILE_A, "e" + line % 2, PARSE_ERROR, line));
+      index.accept(status(FILE_B, "e" + line % 3, PARSE_WARNING, line));
+    }
+    return index;
+  }
+
+  /**
+   * Line range queries return values in line order.
+   */
+
+  @Test
+  public void testLines()
+  {
+    final var index = populated();
+    assertEquals(600, index.size());
+    assertEquals(Set.of(FILE_A, FILE_B), index.sources());
+
+    final var results = index.findLines(FILE_A, 100, 200);
+    assertEquals(101, results.size());
+    for (int offset = 0; offset < results.size(); ++offset) {
+      assertEquals(100 + offset, results.get(offset).lexical().line());
+      assertEquals(FILE_A, results.get(offset).lexical().file().orElseThrow());
+    }
+  }
+
+  /**
+   * Queries combine filters.
+   */
+
+  @Test
+  public void testQueries()
+  {
+    final var index = populated();
+
+    assertEquals(
+      150,
+      index.find(ParseStatusIndexQuery.all()
+                   .withSeverities(Set.of(PARSE_ERROR))
+                   .withErrorCode("e0")).size()
+    );
+    assertEquals(
+      0,
+      index.find(ParseStatusIndexQuery.all()
+                   .withSeverities(Set.of(PARSE_WARNING))
+                   .withSource(FILE_A)).size()
+    );
+    assertEquals(
+      100 + 150,
+      index.find(ParseStatusIndexQuery.all()
+                   .withErrorCode("e0")).size()
+    );
+    assertEquals(
+      5 + 4,
+      index.find(ParseStatusIndexQuery.all()
+                   .withErrorCode("e1")
+                   .withLines(1, 10)).size()
+    );
+  }
+
+  /**
+   * Replacing a source does not affect other sources.
+   */
+
+  @Test
+  public void testReplace()
+  {
+    final var index = populated();
+
+    try (var replacement = index.replace(FILE_A)) {
+      replacement.accept(status(FILE_A, "x", PARSE_ERROR, 1));
+      assertEquals(600, index.size());
+    }
+
+    assertEquals(301, index.size());
+    assertEquals(
+      List.of(status(FILE_A, "x", PARSE_ERROR, 1)),
+      index.find(ParseStatusIndexQuery.all().withSource(FILE_A))
+    );
+
+    index.removeSource(FILE_B);
+    assertEquals(1, index.size());
+    assertEquals(Set.of(FILE_A), index.sources());
+  }
+}
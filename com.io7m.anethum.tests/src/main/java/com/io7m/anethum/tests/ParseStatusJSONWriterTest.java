@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.status.ParseStatusJSONWriter;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_WARNING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class ParseStatusJSONWriterTest
+{
+  /**
+   * Status values are encoded as JSON lines.
+   *
+   * @throws IOException On errors
+   */
+
+  @Test
+  public void testEncode()
+    throws IOException
+  {
+    final var output = new ByteArrayOutputStream();
+
+    try (var writer = new ParseStatusJSONWriter(output, 16)) {
+      writer.accept(ParseStatus.builder("error-x", "Minimal").build());
+      writer.accept(
+        ParseStatus.builder("error-y", "Quote \" slash \\ tab \t é € 𝄞 \u0001")
+          .withSeverity(PARSE_WARNING)
+          .withLexical(LexicalPosition.of(
+            -23,
+            Integer.MAX_VALUE,
+            Optional.of(URI.create("file:///x.txt"))))
+          .withAttribute("Key", "Value")
+          .withRemediatingAction("Fix it.")
+          .withException(new IOException("Broken"))
+          .build()
+      );
+    }
+
+    assertEquals(
+      String.join(
+        "",
+        "{\"severity\":\"PARSE_ERROR\",\"line\":0,\"column\":0,",
+        "\"errorCode\":\"error-x\",\"message\":\"Minimal\",",
+        "\"attributes\":{}}\n",
+        "{\"severity\":\"PARSE_WARNING\",\"line\":-23,\"column\":2147483647,",
+        "\"file\":\"file:///x.txt\",\"errorCode\":\"error-y\",",
+        "\"message\":\"Quote \\\" slash \\\\ tab \\t é € 𝄞 \\u0001\",",
+        "\"attributes\":{\"Key\":\"Value\"},",
+        "\"remediatingAction\":\"Fix it.\",",
+        "\"exception\":{\"type\":\"java.io.IOException\",\"message\":\"Broken\"}}\n"
+      ),
+      output.toString(UTF_8)
+    );
+  }
+}
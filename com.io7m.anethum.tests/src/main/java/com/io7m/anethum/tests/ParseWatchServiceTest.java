@@ -0,0 +1,218 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.services.ParseWatchResult;
+import com.io7m.anethum.services.ParseWatchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ParseWatchServiceTest
+{
+  private ScheduledExecutorService scheduler;
+  private ExecutorService executor;
+  private ExampleParserFactory parsers;
+  private ParseWatchService<String> service;
+  private LinkedBlockingQueue<ParseWatchResult<String>> results;
+
+  @BeforeEach
+  public void setup()
+    throws Exception
+  {
+    this.scheduler = Executors.newSingleThreadScheduledExecutor();
+    this.executor = Executors.newFixedThreadPool(2);
+    this.parsers = new ExampleParserFactory();
+    this.results = new LinkedBlockingQueue<>();
+    this.service = ParseWatchService.create(
+      this.parsers,
+      null,
+      this.scheduler,
+      this.executor,
+      Duration.ofMillis(100L)
+    );
+    this.service.subscribe(this.results::add);
+  }
+
+  @AfterEach
+  public void tearDown()
+    throws Exception
+  {
+    this.service.close();
+    this.scheduler.shutdown();
+    this.executor.shutdown();
+  }
+
+  private ParseWatchResult<String> next()
+    throws InterruptedException
+  {
+    final var result = this.results.poll(10L, TimeUnit.SECONDS);
+    assertNotNull(result, "A result must arrive");
+    return result;
+  }
+
+  /**
+   * Registered files are parsed, and re-parsed when modified, with bursts of
+   * modifications debounced.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFileModified(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "0", UTF_8);
+
+    this.service.register(file);
+    final var first = this.next();
+    assertEquals(file, first.file());
+    assertEquals(Optional.of("0"), first.value());
+    assertEquals(Optional.of(first), this.service.result(file));
+
+    for (int index = 1; index <= 5; ++index) {
+      Files.writeString(file, Integer.toString(index), UTF_8);
+    }
+
+    ParseWatchResult<String> last = this.next();
+    while (!last.value().equals(Optional.of("5"))) {
+      last = this.next();
+    }
+    assertTrue(this.parsers.executions() <= 3);
+    assertEquals(Optional.of(last), this.service.result(file));
+  }
+
+  /**
+   * Files in registered directories are watched, and failures and deletions
+   * are published.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDirectory(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    this.service.register(directory);
+    assertNull(this.results.poll(300L, TimeUnit.MILLISECONDS));
+
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "WARN x\nERROR y\n", UTF_8);
+
+    var result = this.next();
+    while (result.statuses().size() != 2) {
+      result = this.next();
+    }
+    assertTrue(result.exception().isPresent());
+    assertEquals(2, result.statuses().size());
+
+    Files.delete(file);
+    result = this.next();
+    while (result.exception().isEmpty()
+           || !(result.exception().get() instanceof NoSuchFileException)) {
+      result = this.next();
+    }
+    assertInstanceOf(NoSuchFileException.class, result.exception().get());
+  }
+
+  /**
+   * Subdirectories created inside registered directories are not parsed.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSubdirectoryIgnored(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    this.service.register(directory);
+    Files.createDirectory(directory.resolve("sub"));
+    assertNull(this.results.poll(500L, TimeUnit.MILLISECONDS));
+    assertEquals(0, this.parsers.executions());
+  }
+
+  /**
+   * Unchecked exceptions raised by parsers are published as failed results,
+   * and the file continues to be watched.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testRuntimeFailure(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final ParserFactoryType<Void, String, ParserType<String>> broken =
+      (context, source, stream, statusConsumer) -> {
+        throw new IllegalStateException("Broken parser.");
+      };
+
+    final var brokenResults = new LinkedBlockingQueue<ParseWatchResult<String>>();
+    try (var brokenService = ParseWatchService.create(
+      broken, null, this.scheduler, this.executor, Duration.ofMillis(10L))) {
+      brokenService.subscribe(brokenResults::add);
+
+      final var file = directory.resolve("file.txt");
+      Files.writeString(file, "0", UTF_8);
+      brokenService.register(file);
+
+      final var first = brokenResults.poll(10L, TimeUnit.SECONDS);
+      assertNotNull(first);
+      assertInstanceOf(IllegalStateException.class, first.exception().get());
+
+      Files.writeString(file, "1", UTF_8);
+      final var second = brokenResults.poll(10L, TimeUnit.SECONDS);
+      assertNotNull(second);
+      assertInstanceOf(IllegalStateException.class, second.exception().get());
+    }
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.registry.ParserFormatDescription;
+import com.io7m.anethum.registry.ParserFormatFactoryType;
+import com.io7m.anethum.registry.ParserFormatRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ParserFormatRegistryTest
+{
+  private static final Format SHORT =
+    new Format(ParserFormatDescription.of("short")
+                 .withMagic((byte) 'A', (byte) 'A')
+                 .withExtension("S")
+                 .withMediaType("Text/Short"));
+
+  private static final Format LONG =
+    new Format(ParserFormatDescription.of("long")
+                 .withMagic((byte) 'A', (byte) 'A', (byte) 'A', (byte) 'B')
+                 .withExtension("l")
+                 .withExtension("s"));
+
+  private static final ParserFormatRegistry REGISTRY =
+    ParserFormatRegistry.create(List.of(SHORT, LONG));
+
+  /**
+   * The longest matching magic byte sequence wins.
+   */
+
+  @Test
+  public void testMagic()
+  {
+    assertEquals(4, REGISTRY.magicLength());
+    assertEquals(Optional.of(SHORT), find("AA"));
+    assertEquals(Optional.of(SHORT), find("AAA"));
+    assertEquals(Optional.of(SHORT), find("AAAC"));
+    assertEquals(Optional.of(LONG), find("AAAB"));
+    assertEquals(Optional.of(LONG), find("AAABBBB"));
+    assertEquals(Optional.empty(), find("A"));
+    assertEquals(Optional.empty(), find("BAAAB"));
+  }
+
+  private static Optional<ParserFormatFactoryType<?, ?, ?>> find(
+    final String text)
+  {
+    final var data = text.getBytes(UTF_8);
+    return REGISTRY.findByMagic(data, 0, data.length);
+  }
+
+  /**
+   * Extensions and media types are normalized, and the first factory wins.
+   */
+
+  @Test
+  public void testNames()
+  {
+    assertEquals(Optional.of(SHORT), REGISTRY.findByExtension(".s"));
+    assertEquals(Optional.of(SHORT), REGISTRY.findByExtension("S"));
+    assertEquals(Optional.of(LONG), REGISTRY.findByExtension("l"));
+    assertEquals(Optional.of(LONG), REGISTRY.findByFileName(Path.of("x.L")));
+    assertEquals(Optional.empty(), REGISTRY.findByFileName(Path.of("x")));
+
+    assertEquals(
+      Optional.of(SHORT),
+      REGISTRY.findByMediaType("text/short; charset=utf-8")
+    );
+    assertEquals(Optional.empty(), REGISTRY.findByMediaType("text/plain"));
+  }
+
+  /**
+   * The magic byte sequences of a description cannot be changed through the
+   * buffers that it returns.
+   */
+
+  @Test
+  public void testMagicImmutable()
+  {
+    final var source = ByteBuffer.wrap(new byte[]{'A', 'B'});
+    final var description =
+      new ParserFormatDescription("x", List.of(source), Set.of(), Set.of());
+    final var copy =
+      ParserFormatDescription.of("x").withMagic((byte) 'A', (byte) 'B');
+
+    source.put(0, (byte) 'Z');
+
+    final var magic = description.magic().get(0);
+    assertTrue(magic.isReadOnly());
+    assertThrows(ReadOnlyBufferException.class, () -> magic.put(0, (byte) 'Z'));
+    magic.get();
+    magic.limit(1);
+
+    assertEquals(2, description.magic().get(0).remaining());
+    assertEquals('A', description.magic().get(0).get(0));
+    assertEquals(copy, description);
+  }
+
+  /**
+   * Peeking at a stream does not consume it.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStream()
+    throws Exception
+  {
+    final var stream =
+      new BufferedInputStream(
+        new ByteArrayInputStream("AAABxyz".getBytes(UTF_8)));
+
+    assertEquals(Optional.of(LONG), REGISTRY.findByStream(stream));
+    assertEquals("AAABxyz", new String(stream.readAllBytes(), UTF_8));
+
+    assertThrows(IllegalArgumentException.class, () -> {
+      REGISTRY.findByStream(InputStream.nullInputStream());
+    });
+  }
+
+  /**
+   * Files are identified by content, then by name.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFile(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file0 = directory.resolve("file.s");
+    Files.writeString(file0, "AAAB", UTF_8);
+    assertEquals(Optional.of(LONG), REGISTRY.findForFile(file0));
+
+    final var file1 = directory.resolve("file.s");
+    Files.writeString(file1, "", UTF_8);
+    assertEquals(Optional.of(SHORT), REGISTRY.findForFile(file1));
+  }
+
+  /**
+   * Factories are discovered through the service loader.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testServiceLoader(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var registry = ParserFormatRegistry.fromServiceLoader();
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "EXAMPLE\nWARN x\n", UTF_8);
+
+    final var factory = registry.findForFile(file).orElseThrow();
+    assertTrue(factory instanceof ExampleFormatParserFactory);
+    assertEquals(
+      "EXAMPLE\nWARN x\n",
+      ((ExampleFormatParserFactory) factory).parseFile(file)
+    );
+    assertEquals(
+      Optional.of(factory.getClass()),
+      registry.findByMediaType("application/x-example").map(Object::getClass)
+    );
+  }
+
+  private static final class Format
+    implements ParserFormatFactoryType<Void, String, ParserType<String>>
+  {
+    private final ParserFormatDescription description;
+
+    Format(
+      final ParserFormatDescription inDescription)
+    {
+      this.description = inDescription;
+    }
+
+    @Override
+    public ParserFormatDescription formatDescription()
+    {
+      return this.description;
+    }
+
+    @Override
+    public ParserType<String> createParserWithContext(
+      final Void context,
+      final URI source,
+      final InputStream stream,
+      final Consumer<ParseStatus> statusConsumer)
+    {
+      return new ExampleParserFactory()
+        .createParserWithContext(context, source, stream, statusConsumer);
+    }
+  }
+}
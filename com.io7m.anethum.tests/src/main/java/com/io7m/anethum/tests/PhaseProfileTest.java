@@ -0,0 +1,272 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserFactoryType;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.api.ParsingException;
+import com.io7m.anethum.api.PhaseProfile;
+import com.io7m.anethum.api.PhaseProfiler;
+import com.io7m.anethum.api.PhaseTimerType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_INFO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class PhaseProfileTest
+{
+  private static final URI URI_SOURCE =
+    URI.create("urn:example");
+
+  /**
+   * Phases with the same name are aggregated, in first-entered order, and
+   * closing a phase twice has no further effect.
+   */
+
+  @Test
+  public void testAggregation()
+  {
+    final var profiler = PhaseProfiler.create(URI_SOURCE);
+
+    for (int index = 0; index < 3; ++index) {
+      try (var ignored = profiler.begin("lex")) {
+        try (var ignored2 = profiler.begin("validate")) {
+          // Nothing
+        }
+      }
+    }
+
+    final var phase = profiler.begin("build");
+    phase.close();
+    phase.close();
+
+    final var profile = profiler.profile();
+    assertEquals(URI_SOURCE, profile.source());
+    assertEquals(
+      List.of("lex", "validate", "build"),
+      List.copyOf(profile.toMetrics().keySet())
+    );
+    assertEquals(3L, profile.phases().get(0).count());
+    assertEquals(3L, profile.phases().get(1).count());
+    assertEquals(1L, profile.phases().get(2).count());
+    assertTrue(
+      profile.phases().get(1).total().compareTo(
+        profile.phases().get(0).total()) <= 0
+    );
+  }
+
+  /**
+   * Profiled parses deliver the profile as a final PARSE_INFO status.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParseFileProfiled(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "a\nb\nc\n", StandardCharsets.UTF_8);
+
+    final var statuses = new ArrayList<ParseStatus>();
+    final var profiles = new ArrayList<PhaseProfile>();
+    final var parsers = new PhasedParserFactory();
+
+    final var lines =
+      parsers.parseFileProfiledWithContext(
+        null, file, statuses::add, profiles::add);
+
+    assertEquals(List.of("a", "b", "c", ""), lines);
+    assertEquals(1, profiles.size());
+
+    final var profile = profiles.get(0);
+    assertEquals(
+      List.of("read", "split"),
+      List.copyOf(profile.toMetrics().keySet())
+    );
+
+    final var status = statuses.get(statuses.size() - 1);
+    assertEquals(PARSE_INFO, status.severity());
+    assertEquals(PhaseProfile.STATUS_CODE, status.errorCode());
+    assertTrue(status.attributes().containsKey("read"));
+    assertTrue(status.attributes().containsKey("split"));
+    assertEquals(profile.toStatus(), status);
+  }
+
+  /**
+   * The profile is delivered even when parsing fails, and parsers that do
+   * not report phases produce empty profiles.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParseFileProfiledFailure(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "ERROR\n", StandardCharsets.UTF_8);
+
+    final var statuses = new ArrayList<ParseStatus>();
+    final var profiles = new ArrayList<PhaseProfile>();
+    final var parsers = new ExampleParserFactory();
+
+    assertThrows(ParsingException.class, () -> {
+      parsers.parseFileProfiledWithContext(
+        null, file, statuses::add, profiles::add);
+    });
+
+    assertEquals(1, profiles.size());
+    assertEquals(List.of(), profiles.get(0).phases());
+    assertEquals(2, statuses.size());
+    assertEquals(PARSE_INFO, statuses.get(1).severity());
+  }
+
+  /**
+   * A profile consumer that fails does not hide the parsing failure.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParseFileProfiledConsumerFailure(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "ERROR\n", StandardCharsets.UTF_8);
+
+    final var parsers = new ExampleParserFactory();
+    final var ex = assertThrows(ParsingException.class, () -> {
+      parsers.parseFileProfiledWithContext(
+        null, file, s -> { }, p -> {
+          throw new IllegalStateException("Broken consumer.");
+        });
+    });
+
+    assertEquals(1, ex.getSuppressed().length);
+    assertInstanceOf(IllegalStateException.class, ex.getSuppressed()[0]);
+  }
+
+  /**
+   * Profiled serialization delivers a profile.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSerializeFileProfiled(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var profiles = new ArrayList<PhaseProfile>();
+    final var serializers = new ExampleSerializerFactory();
+
+    serializers.serializeFileProfiledWithContext(
+      null, file, "Hello.", profiles::add);
+
+    assertEquals("Hello.", Files.readString(file, StandardCharsets.UTF_8));
+    assertEquals(1, profiles.size());
+    assertEquals(file.toUri(), profiles.get(0).source());
+  }
+
+  private static final class PhasedParserFactory
+    implements ParserFactoryType<Void, List<String>, ParserType<List<String>>>
+  {
+    PhasedParserFactory()
+    {
+
+    }
+
+    @Override
+    public ParserType<List<String>> createParserWithContext(
+      final Void context,
+      final URI source,
+      final InputStream stream,
+      final Consumer<ParseStatus> statusConsumer)
+    {
+      return this.createParserWithContextAndTimer(
+        context,
+        source,
+        stream,
+        statusConsumer,
+        PhaseTimerType.disabled()
+      );
+    }
+
+    @Override
+    public ParserType<List<String>> createParserWithContextAndTimer(
+      final Void context,
+      final URI source,
+      final InputStream stream,
+      final Consumer<ParseStatus> statusConsumer,
+      final PhaseTimerType timer)
+    {
+      return new ParserType<>()
+      {
+        @Override
+        public List<String> execute()
+        {
+          final String text;
+          try (var ignored = timer.begin("read")) {
+            text = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          try (var ignored = timer.begin("split")) {
+            return List.of(text.split("\n", -1));
+          }
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          stream.close();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.PositionTrackingInputStream;
+import com.io7m.anethum.api.PositionTrackingReader;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PositionTrackingTest
+{
+  private static final URI SOURCE =
+    URI.create("urn:example");
+
+  private static LexicalPosition<URI> at(
+    final int line,
+    final int column)
+  {
+    return LexicalPosition.of(line, column, Optional.of(SOURCE));
+  }
+
+  /**
+   * Positions are tracked across bulk reads.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testReaderBulk()
+    throws Exception
+  {
+    final var text = "abc\ndefg\n\nhi";
+    try (var reader =
+           new PositionTrackingReader(new StringReader(text), SOURCE)) {
+      assertEquals(at(1, 0), reader.position());
+
+      final var buffer = new char[16];
+      assertEquals(5, reader.read(buffer, 0, 5));
+      assertEquals(at(2, 1), reader.position());
+      assertEquals(at(1, 2), reader.positionAt(buffer, 0, 2));
+      assertEquals(at(2, 0), reader.positionAt(buffer, 0, 4));
+
+      assertEquals(7, reader.read(buffer, 3, 10));
+      assertEquals(at(4, 2), reader.position());
+      assertEquals(12L, reader.offset());
+      assertEquals(at(2, 1), reader.positionAt(buffer, 3, 0));
+      assertEquals(at(3, 0), reader.positionAt(buffer, 3, 4));
+      assertEquals(at(4, 1), reader.positionAt(buffer, 3, 6));
+    }
+  }
+
+  /**
+   * Positions are tracked across single reads and skips.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStreamSingle()
+    throws Exception
+  {
+    final var data = "ab\ncd\nef".getBytes(UTF_8);
+    try (var stream = new PositionTrackingInputStream(
+      new ByteArrayInputStream(data), SOURCE)) {
+      assertEquals('a', stream.read());
+      assertEquals(at(1, 1), stream.position());
+      assertEquals(4L, stream.skip(4L));
+      assertEquals(at(2, 2), stream.position());
+      assertEquals('\n', stream.read());
+      assertEquals(at(3, 0), stream.position());
+      assertEquals(2, stream.readAllBytes().length);
+      assertEquals(at(3, 2), stream.position());
+      assertEquals(3, stream.line());
+      assertEquals(2, stream.column());
+    }
+  }
+
+  /**
+   * Positions within a block may be requested in any order, and streams
+   * without a known source produce positions without a source.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStreamPositionAtNoSource()
+    throws Exception
+  {
+    final var data = "ab\ncd\nef".getBytes(UTF_8);
+    try (var stream =
+           new PositionTrackingInputStream(new ByteArrayInputStream(data))) {
+      final var buffer = new byte[16];
+      assertEquals(8, stream.read(buffer, 0, 16));
+
+      assertEquals(
+        LexicalPosition.of(3, 1, Optional.empty()),
+        stream.positionAt(buffer, 0, 7)
+      );
+      assertEquals(
+        LexicalPosition.of(1, 1, Optional.empty()),
+        stream.positionAt(buffer, 0, 1)
+      );
+      assertEquals(
+        LexicalPosition.of(2, 0, Optional.empty()),
+        stream.positionAt(buffer, 0, 3)
+      );
+      assertEquals(
+        LexicalPosition.of(3, 2, Optional.empty()),
+        stream.position()
+      );
+    }
+
+    assertThrows(NullPointerException.class, () -> {
+      new PositionTrackingReader(new StringReader(""), null);
+    });
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.PrefetchingInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class PrefetchingInputStreamTest
+{
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setup()
+  {
+    this.executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    this.executor.shutdown();
+  }
+
+  /**
+   * Prefetched data is identical to the underlying data.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testReadAll()
+    throws Exception
+  {
+    final var data = new byte[100_000];
+    new Random(0x1234L).nextBytes(data);
+
+    try (var stream = new PrefetchingInputStream(
+      new ByteArrayInputStream(data), this.executor, 4096, 3)) {
+      assertEquals(data[0] & 0xff, stream.read());
+      final var rest = stream.readAllBytes();
+      assertEquals(data.length - 1, rest.length);
+      for (int index = 0; index < rest.length; ++index) {
+        assertEquals(data[index + 1], rest[index]);
+      }
+      assertEquals(-1, stream.read());
+    }
+  }
+
+  /**
+   * Errors raised by the underlying stream reach the reader.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testError()
+    throws Exception
+  {
+    final var source = new InputStream()
+    {
+      private int count;
+
+      @Override
+      public int read()
+        throws IOException
+      {
+        if (this.count == 10) {
+          throw new IOException("Broken!");
+        }
+        this.count += 1;
+        return 'x';
+      }
+    };
+
+    try (var stream = new PrefetchingInputStream(source, this.executor)) {
+      final var ex = assertThrows(IOException.class, stream::readAllBytes);
+      assertEquals("Broken!", ex.getMessage());
+      assertThrows(IOException.class, stream::read);
+    }
+  }
+
+  /**
+   * Unchecked exceptions raised by the underlying stream reach the reader,
+   * and are raised again by every later read.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testRuntimeError()
+    throws Exception
+  {
+    final var source = new InputStream()
+    {
+      @Override
+      public int read()
+      {
+        throw new IllegalStateException("Broken!");
+      }
+    };
+
+    try (var stream = new PrefetchingInputStream(source, this.executor)) {
+      final var ex = assertThrows(IOException.class, stream::readAllBytes);
+      assertInstanceOf(IllegalStateException.class, ex.getCause().getCause());
+      assertThrows(IOException.class, stream::read);
+      assertThrows(IOException.class, () -> stream.read(new byte[8], 0, 8));
+    }
+  }
+
+  /**
+   * Closing a stream that has not been fully read stops the background task.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCloseEarly()
+    throws Exception
+  {
+    final var streams = new ArrayList<PrefetchingInputStream>();
+    for (int index = 0; index < 100; ++index) {
+      final var stream = new PrefetchingInputStream(
+        new ByteArrayInputStream(new byte[100_000]), this.executor, 1024, 2);
+      stream.read();
+      streams.add(stream);
+    }
+    for (final var stream : streams) {
+      stream.close();
+      assertThrows(IOException.class, stream::read);
+    }
+  }
+
+  /**
+   * The prefetching file parse methods produce the same values.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParseFile(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var text = "Hello.\n".repeat(20_000);
+    Files.writeString(file, text, StandardCharsets.UTF_8);
+
+    final var parsers = new ExampleParserFactory();
+    final var result =
+      parsers.parseFileWithContext(null, file, s -> { }, this.executor);
+    assertEquals(text, result);
+    assertArrayEquals(
+      parsers.parseFile(file).getBytes(StandardCharsets.UTF_8),
+      result.getBytes(StandardCharsets.UTF_8)
+    );
+  }
+
+  /**
+   * A stream whose background task is rejected closes its source.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testRejected(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final Executor rejecting = task -> {
+      throw new RejectedExecutionException("Rejected.");
+    };
+
+    final var closed = new boolean[1];
+    final var source = new ByteArrayInputStream(new byte[100])
+    {
+      @Override
+      public void close()
+      {
+        closed[0] = true;
+      }
+    };
+
+    assertThrows(RejectedExecutionException.class, () -> {
+      new PrefetchingInputStream(source, rejecting).close();
+    });
+    assertTrue(closed[0]);
+
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "Hello.", StandardCharsets.UTF_8);
+
+    final var parsers = new ExampleParserFactory();
+    assertThrows(RejectedExecutionException.class, () -> {
+      parsers.parseFileWithContext(null, file, s -> { }, rejecting);
+    });
+    assertEquals(0, parsers.executions());
+  }
+}
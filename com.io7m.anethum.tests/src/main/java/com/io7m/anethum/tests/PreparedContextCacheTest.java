@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.PreparedContextCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PreparedContextCacheTest
+{
+  /**
+   * Values are built once per key and evicted least recently used first.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testEviction()
+    throws Exception
+  {
+    final var builds = new AtomicInteger();
+    final var cache = new PreparedContextCache<String, StringBuilder>(
+      2,
+      key -> {
+        builds.incrementAndGet();
+        return new StringBuilder(key);
+      }
+    );
+
+    final var a = cache.get("a");
+    assertSame(a, cache.get("a"));
+    cache.get("b");
+    cache.get("a");
+    cache.get("c");
+    assertEquals(2, cache.size());
+    assertEquals(3, builds.get());
+
+    assertSame(a, cache.get("a"));
+    cache.get("b");
+    assertEquals(4, builds.get());
+
+    cache.invalidate("b");
+    cache.get("b");
+    assertEquals(5, builds.get());
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Concurrent requests for the same key share one build.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testConcurrent()
+    throws Exception
+  {
+    final var builds = new AtomicInteger();
+    final var release = new CountDownLatch(1);
+    final var cache = new PreparedContextCache<String, Object>(
+      8,
+      key -> {
+        builds.incrementAndGet();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new IOException(e);
+        }
+        return new Object();
+      }
+    );
+
+    final var executor = Executors.newFixedThreadPool(8);
+    try {
+      final var futures = new ArrayList<Future<Object>>();
+      for (int index = 0; index < 8; ++index) {
+        futures.add(executor.submit(() -> cache.get("k")));
+      }
+      Thread.sleep(100L);
+      release.countDown();
+
+      final var first = futures.get(0).get();
+      for (final var future : futures) {
+        assertSame(first, future.get());
+      }
+      assertEquals(1, builds.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Failures are propagated and not cached.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFailure()
+    throws Exception
+  {
+    final var builds = new AtomicInteger();
+    final var cache = new PreparedContextCache<String, String>(
+      2,
+      key -> {
+        if (builds.incrementAndGet() == 1) {
+          throw new IOException("Broken!");
+        }
+        return key;
+      }
+    );
+
+    final var ex = assertThrows(IOException.class, () -> cache.get("x"));
+    assertEquals("Broken!", ex.getMessage());
+    assertEquals(0, cache.size());
+    assertEquals("x", cache.get("x"));
+  }
+
+  /**
+   * Errors raised by builders reach the caller and are not cached.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testError()
+    throws Exception
+  {
+    final var builds = new AtomicInteger();
+    final var cache = new PreparedContextCache<String, String>(4, key -> {
+      if (builds.incrementAndGet() == 1) {
+        throw new ExceptionInInitializerError("Broken.");
+      }
+      return key.toUpperCase();
+    });
+
+    assertThrows(ExceptionInInitializerError.class, () -> cache.get("a"));
+    assertEquals(0, cache.size());
+    assertEquals("A", cache.get("a"));
+    assertEquals(2, builds.get());
+  }
+
+  /**
+   * A builder that asks for its own key fails instead of deadlocking.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testRecursive()
+    throws Exception
+  {
+    final var holder = new AtomicReference<PreparedContextCache<String, String>>();
+    holder.set(new PreparedContextCache<>(4, key -> {
+      if ("a".equals(key)) {
+        return holder.get().get("b") + holder.get().get("a");
+      }
+      return key;
+    }));
+
+    final var cache = holder.get();
+    assertThrows(IllegalStateException.class, () -> cache.get("a"));
+    assertEquals("b", cache.get("b"));
+    assertEquals(1, cache.size());
+  }
+}
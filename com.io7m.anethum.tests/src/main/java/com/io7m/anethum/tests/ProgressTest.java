@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ProgressEvent;
+import com.io7m.anethum.api.ProgressInputStream;
+import com.io7m.anethum.api.ProgressOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ProgressTest
+{
+  private static final URI URI_SOURCE =
+    URI.create("urn:example");
+
+  /**
+   * Parsing a file reports progress ending in a final event covering the
+   * whole file.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParseFileProgress(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var text = "Hello.\n".repeat(100_000);
+    Files.writeString(file, text, StandardCharsets.UTF_8);
+
+    final var events = new ArrayList<ProgressEvent>();
+    final var parsers = new ExampleParserFactory();
+    final var result =
+      parsers.parseFileWithContextAndProgress(null, file, s -> { }, events::add);
+
+    assertEquals(text, result);
+    assertEquals(1, events.stream().filter(ProgressEvent::finished).count());
+
+    final var last = events.get(events.size() - 1);
+    assertTrue(last.finished());
+    assertEquals(Files.size(file), last.bytesDone());
+    assertEquals(OptionalLong.of(Files.size(file)), last.bytesTotal());
+    assertEquals(OptionalDouble.of(1.0), last.fraction());
+    assertEquals(file.toUri(), last.source());
+
+    for (int index = 1; index < events.size(); ++index) {
+      assertTrue(
+        events.get(index - 1).bytesDone() <= events.get(index).bytesDone()
+      );
+    }
+  }
+
+  /**
+   * Serializing a file reports the number of bytes written when the
+   * serializer is closed.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSerializeFileProgress(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    final var text = "Hello.\n".repeat(10_000);
+
+    final var events = new ArrayList<ProgressEvent>();
+    final var serializers = new ExampleSerializerFactory();
+    serializers.serializeFileWithContextAndProgress(
+      null, file, text, events::add);
+
+    assertEquals(text, Files.readString(file, StandardCharsets.UTF_8));
+
+    final var last = events.get(events.size() - 1);
+    assertTrue(last.finished());
+    assertEquals(Files.size(file), last.bytesDone());
+    assertEquals(OptionalLong.empty(), last.bytesTotal());
+    assertEquals(OptionalDouble.empty(), last.fraction());
+  }
+
+  /**
+   * Events are throttled; a zero interval publishes an event per check.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testThrottling()
+    throws Exception
+  {
+    final var data = new byte[1024 * 1024];
+
+    final var throttled = new ArrayList<ProgressEvent>();
+    try (var stream = new ProgressInputStream(
+      new ByteArrayInputStream(data),
+      URI_SOURCE,
+      OptionalLong.of(data.length),
+      throttled::add,
+      Long.MAX_VALUE)) {
+      stream.readAllBytes();
+    }
+    assertEquals(1, throttled.size());
+    assertTrue(throttled.get(0).finished());
+    assertEquals(data.length, throttled.get(0).bytesDone());
+
+    final var unthrottled = new ArrayList<ProgressEvent>();
+    try (var stream = new ProgressOutputStream(
+      new ByteArrayOutputStream(),
+      URI_SOURCE,
+      unthrottled::add,
+      0L)) {
+      for (int index = 0; index < 16; ++index) {
+        stream.write(data, 0, 65536);
+      }
+    }
+    assertEquals(17, unthrottled.size());
+    assertTrue(unthrottled.get(16).finished());
+    assertEquals(data.length, unthrottled.get(16).bytesDone());
+  }
+
+  /**
+   * Failing to open a file reports no progress.
+   *
+   * @param directory A temporary directory
+   */
+
+  @Test
+  public void testParseFileMissing(
+    final @TempDir Path directory)
+  {
+    final var events = new ArrayList<ProgressEvent>();
+    final var parsers = new ExampleParserFactory();
+
+    assertThrows(NoSuchFileException.class, () -> {
+      parsers.parseFileWithContextAndProgress(
+        null, directory.resolve("missing.txt"), s -> { }, events::add);
+    });
+    assertEquals(List.of(), events);
+    assertEquals(0, parsers.executions());
+  }
+}
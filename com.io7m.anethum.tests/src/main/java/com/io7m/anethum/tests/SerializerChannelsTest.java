@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.SerializationException;
+import com.io7m.anethum.api.SerializerChannels;
+import com.io7m.anethum.api.SerializerFactoryType;
+import com.io7m.anethum.api.SerializerType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SerializerChannelsTest
+{
+  /**
+   * A serializer factory that writes a header buffer and a body buffer
+   * directly to channels.
+   */
+
+  private static final class BufferSerializers
+    implements SerializerFactoryType<Void, String, SerializerType<String>>
+  {
+    @Override
+    public SerializerType<String> createSerializerWithContext(
+      final Void context,
+      final URI target,
+      final OutputStream stream)
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SerializerType<String> createSerializerForChannelWithContext(
+      final Void context,
+      final URI target,
+      final WritableByteChannel channel)
+    {
+      return new SerializerType<>()
+      {
+        @Override
+        public void execute(
+          final String value)
+          throws SerializationException
+        {
+          try {
+            SerializerChannels.writeFully(
+              channel,
+              ByteBuffer.wrap("HEADER:".getBytes(UTF_8)),
+              ByteBuffer.wrap(value.getBytes(UTF_8))
+            );
+          } catch (final IOException e) {
+            throw new SerializationException(e.getMessage(), e);
+          }
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          channel.close();
+        }
+      };
+    }
+  }
+
+  /**
+   * File serialization goes through the channel method.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFileUsesChannel(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("x.txt");
+    Files.writeString(file, "Existing content that is longer.");
+    new BufferSerializers().serializeFile(file, "Hello");
+    assertEquals("HEADER:Hello", Files.readString(file));
+  }
+
+  /**
+   * The default channel method adapts channels to streams.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDefaultChannelAdapter()
+    throws Exception
+  {
+    final var output = new ByteArrayOutputStream();
+    new ExampleSerializerFactory().serializeChannelWithContext(
+      null,
+      URI.create("urn:x"),
+      Channels.newChannel(output),
+      "Hello"
+    );
+    assertEquals("Hello", output.toString(UTF_8));
+  }
+
+  /**
+   * Regions of files can be transferred.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testTransfer(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var source = directory.resolve("source.txt");
+    final var target = directory.resolve("target.txt");
+    Files.writeString(source, "0123456789");
+
+    try (var input = FileChannel.open(source);
+         var output = FileChannel.open(target, CREATE, WRITE)) {
+      assertEquals(4L, SerializerChannels.transferFully(input, 3L, 4L, output));
+      assertThrows(IOException.class, () -> {
+        SerializerChannels.transferFully(input, 8L, 4L, output);
+      });
+    }
+
+    assertEquals("345689", Files.readString(target));
+  }
+}
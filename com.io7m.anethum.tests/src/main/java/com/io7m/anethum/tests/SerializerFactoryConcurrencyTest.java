@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.SerializationBatchResult;
+import com.io7m.anethum.api.SerializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SerializerFactoryConcurrencyTest
+{
+  private ExecutorService executor;
+  private ExampleSerializerFactory serializers;
+
+  @BeforeEach
+  public void setup()
+  {
+    this.executor = Executors.newFixedThreadPool(4);
+    this.serializers = new ExampleSerializerFactory();
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    this.executor.shutdown();
+  }
+
+  /**
+   * Asynchronous serialization works.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAsync()
+    throws Exception
+  {
+    final var output = new ByteArrayOutputStream();
+    this.serializers.serializeAsync(
+      URI.create("urn:x"), output, "Hello", this.executor
+    ).get();
+    assertEquals("Hello", output.toString(UTF_8));
+  }
+
+  /**
+   * Asynchronous serialization failures are reported.
+   *
+   * @param directory A temporary directory
+   */
+
+  @Test
+  public void testAsyncFailure(
+    final @TempDir Path directory)
+  {
+    final var ex =
+      assertThrows(ExecutionException.class, () -> {
+        this.serializers.serializeFileAsync(
+          directory.resolve("x.txt"), "FAIL", this.executor
+        ).get();
+      });
+    assertInstanceOf(SerializationException.class, ex.getCause());
+  }
+
+  /**
+   * Batch serialization reports failures per file.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testBatch(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var files = new LinkedHashMap<Path, String>();
+    for (int index = 0; index < 100; ++index) {
+      files.put(
+        directory.resolve("file-%d.txt".formatted(index)),
+        index == 50 ? "FAIL" : Integer.toString(index)
+      );
+    }
+
+    final var result =
+      this.serializers.serializeFiles(files, this.executor, 3);
+
+    assertFalse(result.isSuccessful());
+    assertEquals(99, result.succeeded().size());
+    assertEquals(1, result.failed().size());
+
+    final var failedFile = directory.resolve("file-50.txt");
+    assertInstanceOf(
+      SerializationException.class,
+      result.failed().get(failedFile)
+    );
+
+    for (final var file : result.succeeded()) {
+      assertEquals(files.get(file), Files.readString(file));
+    }
+  }
+
+  /**
+   * Batch results built from futures record the underlying failures.
+   */
+
+  @Test
+  public void testResultOfFutures()
+  {
+    final var ok = Path.of("ok");
+    final var bad = Path.of("bad");
+    final var failure = new SerializationException("Failed.");
+
+    final var result =
+      SerializationBatchResult.ofFutures(Map.of(
+        ok,
+        CompletableFuture.completedFuture(null),
+        bad,
+        CompletableFuture.supplyAsync(() -> {
+          throw new CompletionException(failure);
+        }, this.executor)
+      ));
+
+    assertFalse(result.isSuccessful());
+    assertEquals(Set.of(ok), result.succeeded());
+    assertEquals(Map.of(bad, failure), result.failed());
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.SerializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SerializerFanOutTest
+{
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setup()
+  {
+    this.executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    this.executor.shutdown();
+  }
+
+  /**
+   * Values are serialized once and written to every file.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFanOut(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var serializers = new ExampleSerializerFactory();
+    final var missing = directory.resolve("missing").resolve("z.txt");
+    final var files = List.of(
+      directory.resolve("x.txt"),
+      directory.resolve("y.txt"),
+      missing
+    );
+
+    final var result =
+      serializers.serializeFanOut(files, "Hello", this.executor);
+
+    assertEquals(1, serializers.executions());
+    assertEquals(2, result.succeeded().size());
+    assertInstanceOf(IOException.class, result.failed().get(missing));
+    for (final var file : result.succeeded()) {
+      assertEquals("Hello", Files.readString(file));
+    }
+  }
+
+  /**
+   * Values can be serialized to memory.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testBytes()
+    throws Exception
+  {
+    final var buffer =
+      new ExampleSerializerFactory()
+        .serializeBytesWithContext(null, URI.create("urn:x"), "Hello");
+
+    assertTrue(buffer.isReadOnly());
+    assertEquals("Hello", UTF_8.decode(buffer).toString());
+  }
+
+  /**
+   * Serialization failures are raised before anything is written.
+   *
+   * @param directory A temporary directory
+   */
+
+  @Test
+  public void testFailure(
+    final @TempDir Path directory)
+  {
+    final var file = directory.resolve("x.txt");
+    assertThrows(SerializationException.class, () -> {
+      new ExampleSerializerFactory()
+        .serializeFanOut(List.of(file), "FAIL", this.executor);
+    });
+    assertTrue(Files.notExists(file));
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.BufferPool;
+import com.io7m.anethum.api.SerializationException;
+import com.io7m.anethum.api.SerializerFactoryType;
+import com.io7m.anethum.api.SerializerType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public final class SerializerIfChangedTest
+{
+  /**
+   * Files are only written when their content changes.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testIfChanged(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var serializers = new ExampleSerializerFactory();
+    final var file = directory.resolve("x.txt");
+    final var large = "x".repeat(100_000);
+
+    assertTrue(serializers.serializeFileIfChanged(file, large));
+    assertEquals(large, Files.readString(file));
+
+    final var time = FileTime.from(Instant.parse("2000-01-01T00:00:00Z"));
+    Files.setLastModifiedTime(file, time);
+    assertFalse(serializers.serializeFileIfChanged(file, large));
+    assertEquals(time, Files.getLastModifiedTime(file));
+
+    final var changedEnd = large + "y";
+    assertTrue(serializers.serializeFileIfChanged(file, changedEnd));
+    assertEquals(changedEnd, Files.readString(file));
+
+    final var changedMiddle = "x".repeat(50_000) + "z" + "x".repeat(49_999);
+    assertTrue(serializers.serializeFileIfChanged(file, changedMiddle));
+    assertEquals(changedMiddle, Files.readString(file));
+
+    final var shorter = "x".repeat(10);
+    assertTrue(serializers.serializeFileIfChanged(file, shorter));
+    assertEquals(shorter, Files.readString(file));
+
+    assertTrue(serializers.serializeFileIfChanged(file, ""));
+    assertEquals("", Files.readString(file));
+    assertFalse(serializers.serializeFileIfChanged(file, ""));
+  }
+
+  /**
+   * Failed serialization leaves unchanged files alone.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFailure(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var serializers = new ExampleSerializerFactory();
+    final var file = directory.resolve("x.txt");
+    Files.writeString(file, "Hello");
+
+    assertThrows(SerializationException.class, () -> {
+      serializers.serializeFileIfChanged(file, "FAIL");
+    });
+    assertEquals("Hello", Files.readString(file));
+  }
+
+  /**
+   * Serialization that fails after the output has diverged from the file
+   * leaves the file unchanged, and leaves no temporary files behind.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFailureAfterDivergence(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var serializers = new PartialSerializerFactory();
+    final var file = directory.resolve("x.txt");
+    final var original = "x".repeat(100_000);
+    Files.writeString(file, original);
+
+    assertThrows(SerializationException.class, () -> {
+      serializers.serializeFileIfChanged(file, "x".repeat(50_000) + "FAIL");
+    });
+    assertEquals(original, Files.readString(file));
+
+    try (var files = Files.list(directory)) {
+      assertEquals(List.of(file), files.toList());
+    }
+  }
+
+  /**
+   * A failure while completing the write does not release the comparison
+   * buffer to the pool twice.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFinishFailure(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var serializers = new ExampleSerializerFactory();
+    final var file = directory.resolve("x");
+    Files.createDirectories(file);
+    Files.writeString(file.resolve("y"), "y");
+
+    assertThrows(IOException.class, () -> {
+      serializers.serializeFileIfChanged(file, "Hello");
+    });
+
+    final var pool = BufferPool.shared();
+    final var size = BufferPool.MINIMUM_SIZE * 4;
+    final var a = pool.acquire(size);
+    final var b = pool.acquire(size);
+    assertNotSame(a, b);
+    pool.release(a);
+    pool.release(b);
+
+    try (var files = Files.list(directory)) {
+      assertEquals(List.of(file), files.toList());
+    }
+  }
+
+  /**
+   * Writing through a symbolic link replaces the file the link refers to,
+   * and leaves the link in place.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSymbolicLink(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var serializers = new ExampleSerializerFactory();
+    final var real = directory.resolve("real.txt");
+    final var link = directory.resolve("link.txt");
+    Files.writeString(real, "Hello");
+
+    try {
+      Files.createSymbolicLink(link, real.getFileName());
+    } catch (final UnsupportedOperationException | IOException e) {
+      assumeTrue(false, "Symbolic links are not supported.");
+    }
+
+    assertTrue(serializers.serializeFileIfChanged(link, "Goodbye"));
+    assertTrue(Files.isSymbolicLink(link));
+    assertEquals("Goodbye", Files.readString(real));
+    assertEquals("Goodbye", Files.readString(link));
+  }
+
+  /**
+   * Replacing a file preserves its permissions.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testPermissionsPreserved(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    assumeTrue(
+      Files.getFileAttributeView(directory, PosixFileAttributeView.class)
+        != null,
+      "POSIX permissions are not supported."
+    );
+
+    final var serializers = new ExampleSerializerFactory();
+    final var file = directory.resolve("x.txt");
+    final var permissions = PosixFilePermissions.fromString("rwxr-x---");
+    Files.writeString(file, "Hello");
+    Files.setPosixFilePermissions(file, permissions);
+
+    assertTrue(serializers.serializeFileIfChanged(file, "Goodbye"));
+    assertEquals("Goodbye", Files.readString(file));
+    assertEquals(permissions, Files.getPosixFilePermissions(file));
+  }
+
+  /**
+   * Output written a byte at a time is compared correctly.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSingleByteWrites(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final SerializerFactoryType<Void, String, SerializerType<String>> serializers =
+      (context, target, stream) -> new SerializerType<>()
+      {
+        @Override
+        public void execute(
+          final String value)
+          throws SerializationException
+        {
+          try {
+            for (final var b : value.getBytes(UTF_8)) {
+              stream.write(b);
+            }
+          } catch (final IOException e) {
+            throw new SerializationException(e.getMessage(), e);
+          }
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          stream.close();
+        }
+      };
+
+    final var file = directory.resolve("x.txt");
+    final var large = "x".repeat(100_000);
+    final var changed = "x".repeat(50_000) + "z" + "x".repeat(49_999);
+
+    assertTrue(serializers.serializeFileIfChanged(file, large));
+    assertEquals(large, Files.readString(file));
+    assertFalse(serializers.serializeFileIfChanged(file, large));
+    assertTrue(serializers.serializeFileIfChanged(file, changed));
+    assertEquals(changed, Files.readString(file));
+    assertTrue(serializers.serializeFileIfChanged(file, large + "y"));
+    assertEquals(large + "y", Files.readString(file));
+  }
+
+  /**
+   * A serializer that writes its value, and then fails if the value ends
+   * with "FAIL".
+   */
+
+  private static final class PartialSerializerFactory
+    implements SerializerFactoryType<Void, String, SerializerType<String>>
+  {
+    PartialSerializerFactory()
+    {
+
+    }
+
+    @Override
+    public SerializerType<String> createSerializerWithContext(
+      final Void context,
+      final URI target,
+      final OutputStream stream)
+    {
+      return new SerializerType<>()
+      {
+        @Override
+        public void execute(
+          final String value)
+          throws SerializationException
+        {
+          try {
+            stream.write(value.getBytes(UTF_8));
+            stream.flush();
+          } catch (final IOException e) {
+            throw new SerializationException(e.getMessage(), e);
+          }
+          if (value.endsWith("FAIL")) {
+            throw new SerializationException("Failed: " + target);
+          }
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          stream.close();
+        }
+      };
+    }
+  }
+}
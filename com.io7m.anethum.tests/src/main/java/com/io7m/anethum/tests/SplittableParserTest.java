@@ -0,0 +1,308 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParseStatusType;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.api.ParsingException;
+import com.io7m.anethum.api.SplittableParserFactoryType;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static com.io7m.anethum.api.ParseSeverity.PARSE_ERROR;
+import static com.io7m.anethum.api.ParseSeverity.PARSE_WARNING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SplittableParserTest
+{
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  public void setup()
+  {
+    this.pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    this.pool.shutdown();
+  }
+
+  private static String document(
+    final int lines)
+  {
+    final var text = new StringBuilder();
+    for (int index = 0; index < lines; ++index) {
+      if (index % 17 == 0) {
+        text.append("  WARN ");
+      }
+      text.append(index);
+      text.append('\n');
+    }
+    return text.toString();
+  }
+
+  /**
+   * Parsing in chunks produces the same values and statuses as parsing the
+   * whole file.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSplitEquivalent(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, document(10_000), UTF_8);
+
+    final var parsers = new LineParsers();
+
+    final var fullStatuses = new ArrayList<ParseStatus>();
+    final var full = parsers.parseFileWithContext(null, file, fullStatuses::add);
+
+    final var splitStatuses = new ArrayList<ParseStatus>();
+    final var split = parsers.parseFileSplitWithContext(
+      null, file, splitStatuses::add, this.pool, 1000);
+
+    assertEquals(full, split);
+    assertEquals(10_000, split.size());
+    assertEquals(
+      fullStatuses.stream().map(ParseStatus::lexical).toList(),
+      splitStatuses.stream().map(ParseStatus::lexical).toList()
+    );
+  }
+
+  /**
+   * Empty files are parsed as a single empty chunk.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testEmpty(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, "", UTF_8);
+
+    final var parsers = new LineParsers();
+    assertEquals(
+      List.of(),
+      parsers.parseFileSplitWithContext(null, file, s -> { }, this.pool, 10)
+    );
+  }
+
+  /**
+   * Errors in any chunk fail the parse, with positions in file coordinates.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testError(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, document(1000) + "ERROR\n" + document(10), UTF_8);
+
+    final var parsers = new LineParsers();
+    final var ex = assertThrows(ParsingException.class, () -> {
+      parsers.parseFileSplitWithContext(null, file, s -> { }, this.pool, 100);
+    });
+
+    assertEquals(1, ex.statusValues().size());
+    assertEquals(1001, ex.statusValues().get(0).lexical().line());
+    assertInstanceOf(ParsingException.class, ex.getCause());
+  }
+
+  /**
+   * Errors carried only by the exception of a failing chunk are included in
+   * the resulting exception, with positions in file coordinates.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testErrorUndelivered(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("file.txt");
+    Files.writeString(
+      file,
+      document(1000) + "ERROR\n" + document(10) + "FATAL\n",
+      UTF_8
+    );
+
+    final var delivered = new ArrayList<ParseStatus>();
+    final var parsers = new LineParsers();
+    final var ex = assertThrows(ParsingException.class, () -> {
+      parsers.parseFileSplitWithContext(
+        null, file, delivered::add, this.pool, 100);
+    });
+
+    assertEquals(
+      List.of(1001, 1012),
+      ex.statusValues()
+        .stream()
+        .map(st -> Integer.valueOf(st.lexical().line()))
+        .toList()
+    );
+    assertEquals(
+      1L,
+      delivered.stream().filter(st -> st.severity() == PARSE_ERROR).count()
+    );
+  }
+
+  /**
+   * A record-oriented format with one record per line. Lines containing
+   * "WARN" produce warnings at the position of the word, and lines
+   * beginning with "ERROR" produce errors. Lines beginning with "FATAL"
+   * produce errors that are carried by the resulting exception, but that are
+   * not delivered to the status consumer.
+   */
+
+  private static final class LineParsers
+    implements SplittableParserFactoryType<Void, List<String>, ParserType<List<String>>>
+  {
+    LineParsers()
+    {
+
+    }
+
+    @Override
+    public int splitPoint(
+      final ByteBuffer data)
+    {
+      for (int index = 0; index < data.limit(); ++index) {
+        if (data.get(index) == '\n') {
+          return index + 1;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public List<String> merge(
+      final List<List<String>> values)
+    {
+      final var result = new ArrayList<String>();
+      values.forEach(result::addAll);
+      return result;
+    }
+
+    @Override
+    public ParserType<List<String>> createParserWithContext(
+      final Void context,
+      final URI source,
+      final InputStream stream,
+      final Consumer<ParseStatus> statusConsumer)
+    {
+      return new ParserType<>()
+      {
+        @Override
+        public List<String> execute()
+          throws ParsingException
+        {
+          final String text;
+          try {
+            text = new String(stream.readAllBytes(), UTF_8);
+          } catch (final IOException e) {
+            throw new IllegalStateException(e);
+          }
+
+          final var lines = new ArrayList<String>();
+          final var errors = new ArrayList<ParseStatusType>();
+          for (final var line : text.split("\n")) {
+            if (line.isEmpty()) {
+              continue;
+            }
+            lines.add(line);
+
+            final var lexical =
+              LexicalPosition.of(lines.size(), line.indexOf("WARN"),
+                                 Optional.of(source));
+            if (line.contains("WARN")) {
+              statusConsumer.accept(
+                ParseStatus.builder("warn", line)
+                  .withSeverity(PARSE_WARNING)
+                  .withLexical(lexical)
+                  .build()
+              );
+            }
+            if (line.startsWith("ERROR") || line.startsWith("FATAL")) {
+              final var error =
+                ParseStatus.builder("error", line)
+                  .withLexical(LexicalPosition.of(lines.size(), 0,
+                                                  Optional.of(source)))
+                  .build();
+              if (line.startsWith("ERROR")) {
+                statusConsumer.accept(error);
+              }
+              errors.add(error);
+            }
+          }
+
+          if (!errors.isEmpty()) {
+            throw new ParsingException("Parsing failed.", errors);
+          }
+          return lines;
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          stream.close();
+        }
+      };
+    }
+  }
+}
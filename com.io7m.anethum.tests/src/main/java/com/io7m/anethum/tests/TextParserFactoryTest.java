@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParserType;
+import com.io7m.anethum.api.TextParserFactoryType;
+import com.io7m.anethum.api.UTF8Reader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextParserFactoryTest
+{
+  private static final URI SOURCE =
+    URI.create("urn:example");
+
+  private static final String MIXED =
+    "Hello, wörld. Γειά σου. こんにちは. 😀 Done.\n";
+
+  private static String readAll(
+    final Reader reader)
+    throws IOException
+  {
+    final var writer = new StringWriter();
+    reader.transferTo(writer);
+    return writer.toString();
+  }
+
+  /**
+   * Mixed ASCII and non-ASCII text is decoded correctly.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDecodeMixed()
+    throws Exception
+  {
+    final var text = MIXED.repeat(5000);
+    try (var reader =
+           new UTF8Reader(new ByteArrayInputStream(text.getBytes(UTF_8)))) {
+      assertEquals(text, readAll(reader));
+    }
+  }
+
+  /**
+   * Multibyte sequences split across reads are decoded correctly, including
+   * when reading a single char at a time.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDecodeOneByteAtATime()
+    throws Exception
+  {
+    final var stream =
+      new FilterInputStream(new ByteArrayInputStream(MIXED.getBytes(UTF_8)))
+      {
+        @Override
+        public int read(
+          final byte[] data,
+          final int offset,
+          final int length)
+          throws IOException
+        {
+          return super.read(data, offset, Math.min(1, length));
+        }
+      };
+
+    final var builder = new StringBuilder();
+    try (var reader = new UTF8Reader(stream)) {
+      while (true) {
+        final var c = reader.read();
+        if (c == -1) {
+          break;
+        }
+        builder.append((char) c);
+      }
+    }
+    assertEquals(MIXED, builder.toString());
+  }
+
+  /**
+   * Malformed input is replaced in the same way as the JDK decoder.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDecodeMalformed()
+    throws Exception
+  {
+    final var data = new byte[10_000];
+    new Random(0x5678L).nextBytes(data);
+
+    try (var reader = new UTF8Reader(new ByteArrayInputStream(data))) {
+      assertEquals(UTF_8.decode(ByteBuffer.wrap(data)).toString(),
+                   readAll(reader));
+    }
+  }
+
+  /**
+   * Closed readers cannot be read.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testClosed()
+    throws Exception
+  {
+    final var reader = new UTF8Reader(InputStream.nullInputStream());
+    assertEquals(-1, reader.read());
+    reader.close();
+    reader.close();
+    assertThrows(IOException.class, reader::read);
+  }
+
+  /**
+   * Text and byte entry points produce the same values.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParseTextAndFile(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var parsers = new ExampleTextParserFactory();
+    assertEquals(MIXED, parsers.parseText(SOURCE, MIXED, s -> { }));
+
+    final var file = directory.resolve("file.txt");
+    Files.writeString(file, MIXED, UTF_8);
+    assertEquals(MIXED, parsers.parseFile(file));
+  }
+
+  private static final class ExampleTextParserFactory
+    implements TextParserFactoryType<Void, String, ParserType<String>>
+  {
+    ExampleTextParserFactory()
+    {
+
+    }
+
+    @Override
+    public ParserType<String> createParserForReaderWithContext(
+      final Void context,
+      final URI source,
+      final Reader reader,
+      final Consumer<ParseStatus> statusConsumer)
+    {
+      return new ParserType<>()
+      {
+        @Override
+        public String execute()
+        {
+          try {
+            return readAll(reader);
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+
+        @Override
+        public void close()
+          throws IOException
+        {
+          reader.close();
+        }
+      };
+    }
+  }
+}
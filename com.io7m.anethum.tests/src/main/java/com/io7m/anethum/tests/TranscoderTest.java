@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.anethum.tests;
+
+import com.io7m.anethum.api.ParseStatus;
+import com.io7m.anethum.api.ParsingException;
+import com.io7m.anethum.services.Transcoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public final class TranscoderTest
+{
+  private ExecutorService parseExecutor;
+  private ExecutorService writeExecutor;
+
+  @BeforeEach
+  public void setup()
+  {
+    this.parseExecutor = Executors.newFixedThreadPool(3);
+    this.writeExecutor = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    this.parseExecutor.shutdown();
+    this.writeExecutor.shutdown();
+  }
+
+  /**
+   * Files are transcoded, and failures and statuses are reported.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testTranscode(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var transcoder =
+      Transcoder.create(
+        new ExampleParserFactory(),
+        null,
+        new ExampleSerializerFactory(),
+        null
+      );
+
+    final var files = new LinkedHashMap<Path, Path>();
+    for (int index = 0; index < 50; ++index) {
+      final var input = directory.resolve("in-%d.txt".formatted(index));
+      final var output = directory.resolve("out-%d.txt".formatted(index));
+      Files.writeString(
+        input,
+        switch (index % 10) {
+          case 0 -> "WARN\ncontent " + index;
+          case 1 -> "ERROR";
+          default -> "content " + index;
+        }
+      );
+      files.put(input, output);
+    }
+
+    final var statuses = new ArrayList<ParseStatus>();
+    final var result =
+      transcoder.transcodeFiles(
+        files,
+        statuses::add,
+        this.parseExecutor,
+        this.writeExecutor,
+        4
+      );
+
+    assertEquals(45, result.succeeded().size());
+    assertEquals(5, result.failed().size());
+    assertEquals(10, statuses.size());
+
+    for (final var input : result.succeeded()) {
+      assertEquals(
+        Files.readString(input),
+        Files.readString(files.get(input))
+      );
+    }
+    for (final var exception : result.failed().values()) {
+      assertInstanceOf(ParsingException.class, exception);
+    }
+  }
+}
@@ -24,9 +24,15 @@ open module com.io7m.anethum.tests
   requires org.junit.platform.launcher;
 
   requires com.io7m.anethum.api;
+  requires com.io7m.anethum.registry;
   requires com.io7m.anethum.slf4j;
+  requires com.io7m.anethum.services;
+  requires com.io7m.anethum.status;
   requires net.jqwik.api;
   requires org.slf4j;
 
+  provides com.io7m.anethum.registry.ParserFormatFactoryType
+    with com.io7m.anethum.tests.ExampleFormatParserFactory;
+
   exports com.io7m.anethum.tests;
 }